@@ -0,0 +1,67 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.ConcurrencyLimitOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.ConcurrencyLimitOptions} original class using Vert.x codegen.
+ */
+public class ConcurrencyLimitOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ConcurrencyLimitOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "initialLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setInitialLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "minLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setMinLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxQueueSize":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxQueueSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxQueueTime":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxQueueTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "latencyThreshold":
+          if (member.getValue() instanceof Number) {
+            obj.setLatencyThreshold(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "backoffRatio":
+          if (member.getValue() instanceof Number) {
+            obj.setBackoffRatio(((Number)member.getValue()).doubleValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(ConcurrencyLimitOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(ConcurrencyLimitOptions obj, java.util.Map<String, Object> json) {
+    json.put("initialLimit", obj.getInitialLimit());
+    json.put("minLimit", obj.getMinLimit());
+    json.put("maxLimit", obj.getMaxLimit());
+    json.put("maxQueueSize", obj.getMaxQueueSize());
+    json.put("maxQueueTime", obj.getMaxQueueTime());
+    json.put("latencyThreshold", obj.getLatencyThreshold());
+    json.put("backoffRatio", obj.getBackoffRatio());
+  }
+}
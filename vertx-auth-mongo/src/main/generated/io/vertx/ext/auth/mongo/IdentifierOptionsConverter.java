@@ -0,0 +1,41 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.IdentifierOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.IdentifierOptions} original class using Vert.x codegen.
+ */
+public class IdentifierOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, IdentifierOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "field":
+          if (member.getValue() instanceof String) {
+            obj.setField((String)member.getValue());
+          }
+          break;
+        case "pattern":
+          if (member.getValue() instanceof String) {
+            obj.setPattern((String)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(IdentifierOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(IdentifierOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getField() != null) {
+      json.put("field", obj.getField());
+    }
+    if (obj.getPattern() != null) {
+      json.put("pattern", obj.getPattern());
+    }
+  }
+}
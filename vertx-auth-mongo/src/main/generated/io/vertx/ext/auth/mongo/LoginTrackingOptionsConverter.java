@@ -0,0 +1,59 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.LoginTrackingOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.LoginTrackingOptions} original class using Vert.x codegen.
+ */
+public class LoginTrackingOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, LoginTrackingOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "lastLoginField":
+          if (member.getValue() instanceof String) {
+            obj.setLastLoginField((String)member.getValue());
+          }
+          break;
+        case "failedAttemptsField":
+          if (member.getValue() instanceof String) {
+            obj.setFailedAttemptsField((String)member.getValue());
+          }
+          break;
+        case "flushInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setFlushInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxFailedAttempts":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxFailedAttempts(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "lockoutDuration":
+          if (member.getValue() instanceof Number) {
+            obj.setLockoutDuration(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(LoginTrackingOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(LoginTrackingOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getLastLoginField() != null) {
+      json.put("lastLoginField", obj.getLastLoginField());
+    }
+    if (obj.getFailedAttemptsField() != null) {
+      json.put("failedAttemptsField", obj.getFailedAttemptsField());
+    }
+    json.put("flushInterval", obj.getFlushInterval());
+    json.put("maxFailedAttempts", obj.getMaxFailedAttempts());
+    json.put("lockoutDuration", obj.getLockoutDuration());
+  }
+}
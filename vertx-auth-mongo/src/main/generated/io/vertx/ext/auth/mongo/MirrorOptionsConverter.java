@@ -0,0 +1,57 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.MirrorOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.MirrorOptions} original class using Vert.x codegen.
+ */
+public class MirrorOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, MirrorOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "batchSize":
+          if (member.getValue() instanceof Number) {
+            obj.setBatchSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "restartDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setRestartDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "compact":
+          if (member.getValue() instanceof Boolean) {
+            obj.setCompact((Boolean)member.getValue());
+          }
+          break;
+        case "snapshotPath":
+          if (member.getValue() instanceof String) {
+            obj.setSnapshotPath((String)member.getValue());
+          }
+          break;
+        case "snapshotInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setSnapshotInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(MirrorOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(MirrorOptions obj, java.util.Map<String, Object> json) {
+    json.put("batchSize", obj.getBatchSize());
+    json.put("restartDelay", obj.getRestartDelay());
+    json.put("compact", obj.isCompact());
+    if (obj.getSnapshotPath() != null) {
+      json.put("snapshotPath", obj.getSnapshotPath());
+    }
+    json.put("snapshotInterval", obj.getSnapshotInterval());
+  }
+}
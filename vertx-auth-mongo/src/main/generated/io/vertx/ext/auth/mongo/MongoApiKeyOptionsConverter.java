@@ -0,0 +1,65 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.MongoApiKeyOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.MongoApiKeyOptions} original class using Vert.x codegen.
+ */
+public class MongoApiKeyOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, MongoApiKeyOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "collectionName":
+          if (member.getValue() instanceof String) {
+            obj.setCollectionName((String)member.getValue());
+          }
+          break;
+        case "keyIdField":
+          if (member.getValue() instanceof String) {
+            obj.setKeyIdField((String)member.getValue());
+          }
+          break;
+        case "digestField":
+          if (member.getValue() instanceof String) {
+            obj.setDigestField((String)member.getValue());
+          }
+          break;
+        case "usernameField":
+          if (member.getValue() instanceof String) {
+            obj.setUsernameField((String)member.getValue());
+          }
+          break;
+        case "secret":
+          if (member.getValue() instanceof String) {
+            obj.setSecret((String)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(MongoApiKeyOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(MongoApiKeyOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getCollectionName() != null) {
+      json.put("collectionName", obj.getCollectionName());
+    }
+    if (obj.getKeyIdField() != null) {
+      json.put("keyIdField", obj.getKeyIdField());
+    }
+    if (obj.getDigestField() != null) {
+      json.put("digestField", obj.getDigestField());
+    }
+    if (obj.getUsernameField() != null) {
+      json.put("usernameField", obj.getUsernameField());
+    }
+    if (obj.getSecret() != null) {
+      json.put("secret", obj.getSecret());
+    }
+  }
+}
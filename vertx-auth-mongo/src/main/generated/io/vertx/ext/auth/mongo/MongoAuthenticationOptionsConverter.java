@@ -27,6 +27,11 @@ public class MongoAuthenticationOptionsConverter {
             obj.setPasswordField((String)member.getValue());
           }
           break;
+        case "disabledField":
+          if (member.getValue() instanceof String) {
+            obj.setDisabledField((String)member.getValue());
+          }
+          break;
         case "usernameCredentialField":
           if (member.getValue() instanceof String) {
             obj.setUsernameCredentialField((String)member.getValue());
@@ -37,6 +42,126 @@ public class MongoAuthenticationOptionsConverter {
             obj.setPasswordCredentialField((String)member.getValue());
           }
           break;
+        case "readPreference":
+          if (member.getValue() instanceof String) {
+            obj.setReadPreference((String)member.getValue());
+          }
+          break;
+        case "maxStalenessSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxStalenessSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "readConcernLevel":
+          if (member.getValue() instanceof String) {
+            obj.setReadConcernLevel((String)member.getValue());
+          }
+          break;
+        case "readYourWritesWindow":
+          if (member.getValue() instanceof Number) {
+            obj.setReadYourWritesWindow(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxTime":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "hedgeDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setHedgeDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "concurrencyLimit":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setConcurrencyLimit(new io.vertx.ext.auth.mongo.ConcurrencyLimitOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "interactiveLane":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setInteractiveLane(new io.vertx.ext.auth.mongo.PriorityLaneOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "bulkLane":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setBulkLane(new io.vertx.ext.auth.mongo.PriorityLaneOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "virtualThreads":
+          if (member.getValue() instanceof Boolean) {
+            obj.setVirtualThreads((Boolean)member.getValue());
+          }
+          break;
+        case "mirror":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setMirror(new io.vertx.ext.auth.mongo.MirrorOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "cache":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setCache(new io.vertx.ext.auth.mongo.CacheOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "warmUp":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setWarmUp(new io.vertx.ext.auth.mongo.WarmUpOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "principalFields":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.ArrayList<java.lang.String> list =  new java.util.ArrayList<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof String)
+                list.add((String)item);
+            });
+            obj.setPrincipalFields(list);
+          }
+          break;
+        case "removeCredentials":
+          if (member.getValue() instanceof Boolean) {
+            obj.setRemoveCredentials((Boolean)member.getValue());
+          }
+          break;
+        case "loginTracking":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setLoginTracking(new io.vertx.ext.auth.mongo.LoginTrackingOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "throttle":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setThrottle(new io.vertx.ext.auth.mongo.ThrottleOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "identifiers":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.ArrayList<io.vertx.ext.auth.mongo.IdentifierOptions> list =  new java.util.ArrayList<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof JsonObject)
+                list.add(new io.vertx.ext.auth.mongo.IdentifierOptions((io.vertx.core.json.JsonObject)item));
+            });
+            obj.setIdentifiers(list);
+          }
+          break;
+        case "identifierCacheSize":
+          if (member.getValue() instanceof Number) {
+            obj.setIdentifierCacheSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "caseInsensitive":
+          if (member.getValue() instanceof Boolean) {
+            obj.setCaseInsensitive((Boolean)member.getValue());
+          }
+          break;
+        case "collationLocale":
+          if (member.getValue() instanceof String) {
+            obj.setCollationLocale((String)member.getValue());
+          }
+          break;
+        case "shardKey":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setShardKey(new io.vertx.ext.auth.mongo.ShardKeyOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
       }
     }
   }
@@ -55,11 +180,68 @@ public class MongoAuthenticationOptionsConverter {
     if (obj.getPasswordField() != null) {
       json.put("passwordField", obj.getPasswordField());
     }
+    if (obj.getDisabledField() != null) {
+      json.put("disabledField", obj.getDisabledField());
+    }
     if (obj.getUsernameCredentialField() != null) {
       json.put("usernameCredentialField", obj.getUsernameCredentialField());
     }
     if (obj.getPasswordCredentialField() != null) {
       json.put("passwordCredentialField", obj.getPasswordCredentialField());
     }
+    if (obj.getReadPreference() != null) {
+      json.put("readPreference", obj.getReadPreference());
+    }
+    json.put("maxStalenessSeconds", obj.getMaxStalenessSeconds());
+    if (obj.getReadConcernLevel() != null) {
+      json.put("readConcernLevel", obj.getReadConcernLevel());
+    }
+    json.put("readYourWritesWindow", obj.getReadYourWritesWindow());
+    json.put("maxTime", obj.getMaxTime());
+    json.put("hedgeDelay", obj.getHedgeDelay());
+    if (obj.getConcurrencyLimit() != null) {
+      json.put("concurrencyLimit", obj.getConcurrencyLimit().toJson());
+    }
+    if (obj.getInteractiveLane() != null) {
+      json.put("interactiveLane", obj.getInteractiveLane().toJson());
+    }
+    if (obj.getBulkLane() != null) {
+      json.put("bulkLane", obj.getBulkLane().toJson());
+    }
+    json.put("virtualThreads", obj.isVirtualThreads());
+    if (obj.getMirror() != null) {
+      json.put("mirror", obj.getMirror().toJson());
+    }
+    if (obj.getCache() != null) {
+      json.put("cache", obj.getCache().toJson());
+    }
+    if (obj.getWarmUp() != null) {
+      json.put("warmUp", obj.getWarmUp().toJson());
+    }
+    if (obj.getPrincipalFields() != null) {
+      JsonArray array = new JsonArray();
+      obj.getPrincipalFields().forEach(item -> array.add(item));
+      json.put("principalFields", array);
+    }
+    json.put("removeCredentials", obj.isRemoveCredentials());
+    if (obj.getLoginTracking() != null) {
+      json.put("loginTracking", obj.getLoginTracking().toJson());
+    }
+    if (obj.getThrottle() != null) {
+      json.put("throttle", obj.getThrottle().toJson());
+    }
+    if (obj.getIdentifiers() != null) {
+      JsonArray array = new JsonArray();
+      obj.getIdentifiers().forEach(item -> array.add(item.toJson()));
+      json.put("identifiers", array);
+    }
+    json.put("identifierCacheSize", obj.getIdentifierCacheSize());
+    json.put("caseInsensitive", obj.isCaseInsensitive());
+    if (obj.getCollationLocale() != null) {
+      json.put("collationLocale", obj.getCollationLocale());
+    }
+    if (obj.getShardKey() != null) {
+      json.put("shardKey", obj.getShardKey().toJson());
+    }
   }
 }
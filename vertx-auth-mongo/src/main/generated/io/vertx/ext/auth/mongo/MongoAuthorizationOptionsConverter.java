@@ -32,6 +32,106 @@ public class MongoAuthorizationOptionsConverter {
             obj.setPermissionField((String)member.getValue());
           }
           break;
+        case "readPreference":
+          if (member.getValue() instanceof String) {
+            obj.setReadPreference((String)member.getValue());
+          }
+          break;
+        case "maxStalenessSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxStalenessSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "readConcernLevel":
+          if (member.getValue() instanceof String) {
+            obj.setReadConcernLevel((String)member.getValue());
+          }
+          break;
+        case "readYourWritesWindow":
+          if (member.getValue() instanceof Number) {
+            obj.setReadYourWritesWindow(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxTime":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "hedgeDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setHedgeDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "concurrencyLimit":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setConcurrencyLimit(new io.vertx.ext.auth.mongo.ConcurrencyLimitOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "interactiveLane":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setInteractiveLane(new io.vertx.ext.auth.mongo.PriorityLaneOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "virtualThreads":
+          if (member.getValue() instanceof Boolean) {
+            obj.setVirtualThreads((Boolean)member.getValue());
+          }
+          break;
+        case "mirror":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setMirror(new io.vertx.ext.auth.mongo.MirrorOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "cache":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setCache(new io.vertx.ext.auth.mongo.CacheOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "warmUp":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setWarmUp(new io.vertx.ext.auth.mongo.WarmUpOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "roleHierarchy":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setRoleHierarchy(new io.vertx.ext.auth.mongo.RoleHierarchyOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "compactAuthorizations":
+          if (member.getValue() instanceof Boolean) {
+            obj.setCompactAuthorizations((Boolean)member.getValue());
+          }
+          break;
+        case "wildcardPermissions":
+          if (member.getValue() instanceof Boolean) {
+            obj.setWildcardPermissions((Boolean)member.getValue());
+          }
+          break;
+        case "checkCache":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setCheckCache(new io.vertx.ext.auth.mongo.CacheOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
+        case "pageSize":
+          if (member.getValue() instanceof Number) {
+            obj.setPageSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "caseInsensitive":
+          if (member.getValue() instanceof Boolean) {
+            obj.setCaseInsensitive((Boolean)member.getValue());
+          }
+          break;
+        case "collationLocale":
+          if (member.getValue() instanceof String) {
+            obj.setCollationLocale((String)member.getValue());
+          }
+          break;
+        case "shardKey":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setShardKey(new io.vertx.ext.auth.mongo.ShardKeyOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
       }
     }
   }
@@ -53,5 +153,47 @@ public class MongoAuthorizationOptionsConverter {
     if (obj.getPermissionField() != null) {
       json.put("permissionField", obj.getPermissionField());
     }
+    if (obj.getReadPreference() != null) {
+      json.put("readPreference", obj.getReadPreference());
+    }
+    json.put("maxStalenessSeconds", obj.getMaxStalenessSeconds());
+    if (obj.getReadConcernLevel() != null) {
+      json.put("readConcernLevel", obj.getReadConcernLevel());
+    }
+    json.put("readYourWritesWindow", obj.getReadYourWritesWindow());
+    json.put("maxTime", obj.getMaxTime());
+    json.put("hedgeDelay", obj.getHedgeDelay());
+    if (obj.getConcurrencyLimit() != null) {
+      json.put("concurrencyLimit", obj.getConcurrencyLimit().toJson());
+    }
+    if (obj.getInteractiveLane() != null) {
+      json.put("interactiveLane", obj.getInteractiveLane().toJson());
+    }
+    json.put("virtualThreads", obj.isVirtualThreads());
+    if (obj.getMirror() != null) {
+      json.put("mirror", obj.getMirror().toJson());
+    }
+    if (obj.getCache() != null) {
+      json.put("cache", obj.getCache().toJson());
+    }
+    if (obj.getWarmUp() != null) {
+      json.put("warmUp", obj.getWarmUp().toJson());
+    }
+    if (obj.getRoleHierarchy() != null) {
+      json.put("roleHierarchy", obj.getRoleHierarchy().toJson());
+    }
+    json.put("compactAuthorizations", obj.isCompactAuthorizations());
+    json.put("wildcardPermissions", obj.isWildcardPermissions());
+    if (obj.getCheckCache() != null) {
+      json.put("checkCache", obj.getCheckCache().toJson());
+    }
+    json.put("pageSize", obj.getPageSize());
+    json.put("caseInsensitive", obj.isCaseInsensitive());
+    if (obj.getCollationLocale() != null) {
+      json.put("collationLocale", obj.getCollationLocale());
+    }
+    if (obj.getShardKey() != null) {
+      json.put("shardKey", obj.getShardKey().toJson());
+    }
   }
 }
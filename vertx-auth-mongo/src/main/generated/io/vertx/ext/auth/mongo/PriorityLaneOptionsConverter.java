@@ -0,0 +1,37 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.PriorityLaneOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.PriorityLaneOptions} original class using Vert.x codegen.
+ */
+public class PriorityLaneOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, PriorityLaneOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "queryConcurrency":
+          if (member.getValue() instanceof Number) {
+            obj.setQueryConcurrency(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "hashConcurrency":
+          if (member.getValue() instanceof Number) {
+            obj.setHashConcurrency(((Number)member.getValue()).intValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(PriorityLaneOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(PriorityLaneOptions obj, java.util.Map<String, Object> json) {
+    json.put("queryConcurrency", obj.getQueryConcurrency());
+    json.put("hashConcurrency", obj.getHashConcurrency());
+  }
+}
@@ -0,0 +1,57 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.RoleHierarchyOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.RoleHierarchyOptions} original class using Vert.x codegen.
+ */
+public class RoleHierarchyOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, RoleHierarchyOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "collectionName":
+          if (member.getValue() instanceof String) {
+            obj.setCollectionName((String)member.getValue());
+          }
+          break;
+        case "nameField":
+          if (member.getValue() instanceof String) {
+            obj.setNameField((String)member.getValue());
+          }
+          break;
+        case "permissionField":
+          if (member.getValue() instanceof String) {
+            obj.setPermissionField((String)member.getValue());
+          }
+          break;
+        case "parentField":
+          if (member.getValue() instanceof String) {
+            obj.setParentField((String)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(RoleHierarchyOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(RoleHierarchyOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getCollectionName() != null) {
+      json.put("collectionName", obj.getCollectionName());
+    }
+    if (obj.getNameField() != null) {
+      json.put("nameField", obj.getNameField());
+    }
+    if (obj.getPermissionField() != null) {
+      json.put("permissionField", obj.getPermissionField());
+    }
+    if (obj.getParentField() != null) {
+      json.put("parentField", obj.getParentField());
+    }
+  }
+}
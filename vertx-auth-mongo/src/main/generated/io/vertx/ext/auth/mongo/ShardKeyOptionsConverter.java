@@ -0,0 +1,49 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.ShardKeyOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.ShardKeyOptions} original class using Vert.x codegen.
+ */
+public class ShardKeyOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ShardKeyOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "field":
+          if (member.getValue() instanceof String) {
+            obj.setField((String)member.getValue());
+          }
+          break;
+        case "pattern":
+          if (member.getValue() instanceof String) {
+            obj.setPattern((String)member.getValue());
+          }
+          break;
+        case "principalField":
+          if (member.getValue() instanceof String) {
+            obj.setPrincipalField((String)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(ShardKeyOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(ShardKeyOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getField() != null) {
+      json.put("field", obj.getField());
+    }
+    if (obj.getPattern() != null) {
+      json.put("pattern", obj.getPattern());
+    }
+    if (obj.getPrincipalField() != null) {
+      json.put("principalField", obj.getPrincipalField());
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.TenantOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.TenantOptions} original class using Vert.x codegen.
+ */
+public class TenantOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, TenantOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "separator":
+          if (member.getValue() instanceof String) {
+            obj.setSeparator((String)member.getValue());
+          }
+          break;
+        case "collectionName":
+          if (member.getValue() instanceof String) {
+            obj.setCollectionName((String)member.getValue());
+          }
+          break;
+        case "databaseName":
+          if (member.getValue() instanceof String) {
+            obj.setDatabaseName((String)member.getValue());
+          }
+          break;
+        case "maxTenants":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxTenants(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "idleTimeout":
+          if (member.getValue() instanceof Number) {
+            obj.setIdleTimeout(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(TenantOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(TenantOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getSeparator() != null) {
+      json.put("separator", obj.getSeparator());
+    }
+    if (obj.getCollectionName() != null) {
+      json.put("collectionName", obj.getCollectionName());
+    }
+    if (obj.getDatabaseName() != null) {
+      json.put("databaseName", obj.getDatabaseName());
+    }
+    json.put("maxTenants", obj.getMaxTenants());
+    json.put("idleTimeout", obj.getIdleTimeout());
+  }
+}
@@ -0,0 +1,49 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.ThrottleOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.ThrottleOptions} original class using Vert.x codegen.
+ */
+public class ThrottleOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ThrottleOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "window":
+          if (member.getValue() instanceof Number) {
+            obj.setWindow(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxAttemptsPerUsername":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxAttemptsPerUsername(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxAttemptsPerSource":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxAttemptsPerSource(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "capacity":
+          if (member.getValue() instanceof Number) {
+            obj.setCapacity(((Number)member.getValue()).intValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(ThrottleOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(ThrottleOptions obj, java.util.Map<String, Object> json) {
+    json.put("window", obj.getWindow());
+    json.put("maxAttemptsPerUsername", obj.getMaxAttemptsPerUsername());
+    json.put("maxAttemptsPerSource", obj.getMaxAttemptsPerSource());
+    json.put("capacity", obj.getCapacity());
+  }
+}
@@ -0,0 +1,65 @@
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.mongo.WarmUpOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.mongo.WarmUpOptions} original class using Vert.x codegen.
+ */
+public class WarmUpOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, WarmUpOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "size":
+          if (member.getValue() instanceof Number) {
+            obj.setSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "lastLoginField":
+          if (member.getValue() instanceof String) {
+            obj.setLastLoginField((String)member.getValue());
+          }
+          break;
+        case "query":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setQuery(((JsonObject)member.getValue()).copy());
+          }
+          break;
+        case "timeout":
+          if (member.getValue() instanceof Number) {
+            obj.setTimeout(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "batchSize":
+          if (member.getValue() instanceof Number) {
+            obj.setBatchSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "batchDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setBatchDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(WarmUpOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(WarmUpOptions obj, java.util.Map<String, Object> json) {
+    json.put("size", obj.getSize());
+    if (obj.getLastLoginField() != null) {
+      json.put("lastLoginField", obj.getLastLoginField());
+    }
+    if (obj.getQuery() != null) {
+      json.put("query", obj.getQuery());
+    }
+    json.put("timeout", obj.getTimeout());
+    json.put("batchSize", obj.getBatchSize());
+    json.put("batchDelay", obj.getBatchDelay());
+  }
+}
@@ -26,6 +26,7 @@ import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
 import io.vertx.ext.auth.mongo.MongoAuthentication;
 import io.vertx.ext.auth.mongo.MongoAuthenticationOptions;
 import io.vertx.ext.auth.mongo.MongoAuthorization;
+import io.vertx.ext.auth.mongo.ThrottleOptions;
 import io.vertx.ext.mongo.MongoClient;
 
 /**
@@ -69,4 +70,26 @@ public class AuthMongoExamples {
         }
       });
   }
+
+  public void example5(Vertx vertx, MongoClient client, JsonObject mongoClientConfig) {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setReadPreference("secondaryPreferred")
+      .setMaxStalenessSeconds(120)
+      .setReadConcernLevel("local");
+    MongoAuthentication authenticationProvider =
+      MongoAuthentication.create(vertx, client, mongoClientConfig, options);
+  }
+
+  public void example6(MongoClient client, String remoteAddress) {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setThrottle(new ThrottleOptions()
+        .setMaxAttemptsPerUsername(5)
+        .setMaxAttemptsPerSource(50));
+    MongoAuthentication authenticationProvider = MongoAuthentication.create(client, options);
+
+    authenticationProvider
+      .authenticate(new UsernamePasswordCredentials("tim", "sausages"), remoteAddress)
+      .onSuccess(user -> System.out.println("User " + user.principal() + " is now authenticated"))
+      .onFailure(Throwable::printStackTrace);
+  }
 }
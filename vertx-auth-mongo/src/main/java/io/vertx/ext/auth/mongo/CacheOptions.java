@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the cache of user lookups of a provider.
+ * <p>
+ * The cache keeps the documents found for the most recently used usernames. Entries are evicted when the cache is
+ * full or when they expire, and when the user is written through a {@link MongoUserUtil} sharing the
+ * {@link io.vertx.ext.mongo.MongoClient} of the provider.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class CacheOptions {
+
+  /**
+   * The default max size = 10000
+   */
+  public static final int DEFAULT_MAX_SIZE = 10000;
+
+  /**
+   * The default time to live = 60000 ms
+   */
+  public static final long DEFAULT_TIME_TO_LIVE = 60000;
+
+  private int maxSize;
+  private long timeToLive;
+
+  public CacheOptions() {
+    maxSize = DEFAULT_MAX_SIZE;
+    timeToLive = DEFAULT_TIME_TO_LIVE;
+  }
+
+  public CacheOptions(JsonObject json) {
+    this();
+    CacheOptionsConverter.fromJson(json, this);
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * The number of usernames kept in the cache, the least recently used is evicted first.
+   *
+   * @param maxSize the max size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public CacheOptions setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  /**
+   * The time in milliseconds after which an entry expires, bounding how long changes made outside of
+   * {@link MongoUserUtil} go unnoticed.
+   *
+   * @param timeToLive the time to live in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public CacheOptions setTimeToLive(long timeToLive) {
+    this.timeToLive = timeToLive;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    CacheOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the adaptive limit of concurrent queries a provider sends to MongoDB.
+ * <p>
+ * The limit follows an additive increase, multiplicative decrease scheme: it grows by one when a query completes
+ * within the latency threshold while the limit is in use, and is multiplied by the backoff ratio when a query fails or
+ * is slower than the threshold. Queries above the limit wait in a bounded queue and are rejected when it is full or
+ * when they waited longer than the max queue time.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class ConcurrencyLimitOptions {
+
+  /**
+   * The default initial limit = 20
+   */
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+  /**
+   * The default min limit = 1
+   */
+  public static final int DEFAULT_MIN_LIMIT = 1;
+
+  /**
+   * The default max limit = 200
+   */
+  public static final int DEFAULT_MAX_LIMIT = 200;
+
+  /**
+   * The default max queue size = 100
+   */
+  public static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+
+  /**
+   * The default max queue time = 1000 ms
+   */
+  public static final long DEFAULT_MAX_QUEUE_TIME = 1000;
+
+  /**
+   * The default latency threshold = 200 ms
+   */
+  public static final long DEFAULT_LATENCY_THRESHOLD = 200;
+
+  /**
+   * The default backoff ratio = 0.9
+   */
+  public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+  private int initialLimit;
+  private int minLimit;
+  private int maxLimit;
+  private int maxQueueSize;
+  private long maxQueueTime;
+  private long latencyThreshold;
+  private double backoffRatio;
+
+  public ConcurrencyLimitOptions() {
+    initialLimit = DEFAULT_INITIAL_LIMIT;
+    minLimit = DEFAULT_MIN_LIMIT;
+    maxLimit = DEFAULT_MAX_LIMIT;
+    maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+    maxQueueTime = DEFAULT_MAX_QUEUE_TIME;
+    latencyThreshold = DEFAULT_LATENCY_THRESHOLD;
+    backoffRatio = DEFAULT_BACKOFF_RATIO;
+  }
+
+  public ConcurrencyLimitOptions(JsonObject json) {
+    this();
+    ConcurrencyLimitOptionsConverter.fromJson(json, this);
+  }
+
+  public int getInitialLimit() {
+    return initialLimit;
+  }
+
+  /**
+   * The number of concurrent queries allowed before any latency has been observed.
+   *
+   * @param initialLimit the initial limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setInitialLimit(int initialLimit) {
+    this.initialLimit = initialLimit;
+    return this;
+  }
+
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  /**
+   * The limit never drops below this value.
+   *
+   * @param minLimit the min limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setMinLimit(int minLimit) {
+    this.minLimit = minLimit;
+    return this;
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  /**
+   * The limit never grows above this value.
+   *
+   * @param maxLimit the max limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setMaxLimit(int maxLimit) {
+    this.maxLimit = maxLimit;
+    return this;
+  }
+
+  public int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * The number of queries waiting for the limit, further queries are rejected.
+   *
+   * @param maxQueueSize the max queue size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setMaxQueueSize(int maxQueueSize) {
+    this.maxQueueSize = maxQueueSize;
+    return this;
+  }
+
+  public long getMaxQueueTime() {
+    return maxQueueTime;
+  }
+
+  /**
+   * The time in milliseconds a query waits for the limit before being rejected, capped by the deadline of the lookup
+   * when it has one.
+   *
+   * @param maxQueueTime the max queue time in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setMaxQueueTime(long maxQueueTime) {
+    this.maxQueueTime = maxQueueTime;
+    return this;
+  }
+
+  public long getLatencyThreshold() {
+    return latencyThreshold;
+  }
+
+  /**
+   * The latency in milliseconds above which a query is considered as a sign of overload.
+   *
+   * @param latencyThreshold the latency threshold in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setLatencyThreshold(long latencyThreshold) {
+    this.latencyThreshold = latencyThreshold;
+    return this;
+  }
+
+  public double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  /**
+   * The ratio the limit is multiplied by on overload, between {@code 0} and {@code 1}.
+   *
+   * @param backoffRatio the backoff ratio
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setBackoffRatio(double backoffRatio) {
+    this.backoffRatio = backoffRatio;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ConcurrencyLimitOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of an alternate field users can log in with besides the username, e.g. an email address or a phone number,
+ * see {@link MongoAuthenticationOptions#addIdentifier(IdentifierOptions)}.
+ * <p>
+ * The pattern classifies the input: an input matching the pattern of a single identifier is looked up by this field
+ * only, an input matching no pattern is looked up by the username field only. An input matching several patterns, or an
+ * identifier without pattern, is looked up with an {@code $or} of equalities, each of them served by the index of its
+ * field.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class IdentifierOptions {
+
+  /**
+   * A pattern of email addresses = {@code "^[^@\\s]+@[^@\\s]+$"}
+   */
+  public static final String EMAIL_PATTERN = "^[^@\\s]+@[^@\\s]+$";
+
+  /**
+   * A pattern of phone numbers in E.164 format = {@code "^\\+[1-9][0-9]{6,14}$"}
+   */
+  public static final String PHONE_PATTERN = "^\\+[1-9][0-9]{6,14}$";
+
+  private String field;
+  private String pattern;
+
+  public IdentifierOptions() {
+  }
+
+  public IdentifierOptions(String field, String pattern) {
+    this.field = field;
+    this.pattern = pattern;
+  }
+
+  public IdentifierOptions(JsonObject json) {
+    this();
+    IdentifierOptionsConverter.fromJson(json, this);
+  }
+
+  public String getField() {
+    return field;
+  }
+
+  /**
+   * The field of the user document holding the identifier, it should have a unique index.
+   *
+   * @param field the field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public IdentifierOptions setField(String field) {
+    this.field = field;
+    return this;
+  }
+
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * The regular expression matching the inputs that can be this identifier.
+   *
+   * @param pattern the pattern, {@code null} when any input can be this identifier
+   * @return a reference to this, so the API can be used fluently
+   */
+  public IdentifierOptions setPattern(String pattern) {
+    this.pattern = pattern;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    IdentifierOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
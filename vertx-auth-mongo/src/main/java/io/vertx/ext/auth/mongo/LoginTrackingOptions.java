@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the tracking of the last login and of the failed attempts of the users of a provider.
+ * <p>
+ * The logins are aggregated in memory and written periodically to the user documents as a single unordered bulk
+ * write: the last login with {@code $max} and the failed attempts with {@code $inc}, reset by a successful login. A
+ * user failing too many consecutive attempts is locked out, which is decided from the counters in memory.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class LoginTrackingOptions {
+
+  /**
+   * The default last login field = "last_login"
+   */
+  public static final String DEFAULT_LAST_LOGIN_FIELD = "last_login";
+
+  /**
+   * The default failed attempts field = "failed_attempts"
+   */
+  public static final String DEFAULT_FAILED_ATTEMPTS_FIELD = "failed_attempts";
+
+  /**
+   * The default flush interval = 5000 ms
+   */
+  public static final long DEFAULT_FLUSH_INTERVAL = 5000;
+
+  /**
+   * The default max failed attempts = 0, users are not locked out
+   */
+  public static final int DEFAULT_MAX_FAILED_ATTEMPTS = 0;
+
+  /**
+   * The default lockout duration = 900000 ms
+   */
+  public static final long DEFAULT_LOCKOUT_DURATION = 900000;
+
+  private String lastLoginField;
+  private String failedAttemptsField;
+  private long flushInterval;
+  private int maxFailedAttempts;
+  private long lockoutDuration;
+
+  public LoginTrackingOptions() {
+    lastLoginField = DEFAULT_LAST_LOGIN_FIELD;
+    failedAttemptsField = DEFAULT_FAILED_ATTEMPTS_FIELD;
+    flushInterval = DEFAULT_FLUSH_INTERVAL;
+    maxFailedAttempts = DEFAULT_MAX_FAILED_ATTEMPTS;
+    lockoutDuration = DEFAULT_LOCKOUT_DURATION;
+  }
+
+  public LoginTrackingOptions(JsonObject json) {
+    this();
+    LoginTrackingOptionsConverter.fromJson(json, this);
+  }
+
+  public String getLastLoginField() {
+    return lastLoginField;
+  }
+
+  /**
+   * The field of the date of the last successful login.
+   *
+   * @param lastLoginField the last login field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoginTrackingOptions setLastLoginField(String lastLoginField) {
+    this.lastLoginField = lastLoginField;
+    return this;
+  }
+
+  public String getFailedAttemptsField() {
+    return failedAttemptsField;
+  }
+
+  /**
+   * The field of the number of failed attempts since the last successful login.
+   *
+   * @param failedAttemptsField the failed attempts field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoginTrackingOptions setFailedAttemptsField(String failedAttemptsField) {
+    this.failedAttemptsField = failedAttemptsField;
+    return this;
+  }
+
+  public long getFlushInterval() {
+    return flushInterval;
+  }
+
+  /**
+   * The time in milliseconds between two writes of the aggregated logins.
+   *
+   * @param flushInterval the flush interval in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoginTrackingOptions setFlushInterval(long flushInterval) {
+    this.flushInterval = flushInterval;
+    return this;
+  }
+
+  public int getMaxFailedAttempts() {
+    return maxFailedAttempts;
+  }
+
+  /**
+   * The number of consecutive failed attempts after which a user is locked out, the authentications of a locked out
+   * user fail like a wrong password, without querying the database nor hashing the password. The attempts are
+   * counted in memory by each instance of the provider, the counter written to the documents is not read back.
+   *
+   * @param maxFailedAttempts the max failed attempts, {@code 0} to never lock users out
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoginTrackingOptions setMaxFailedAttempts(int maxFailedAttempts) {
+    this.maxFailedAttempts = maxFailedAttempts;
+    return this;
+  }
+
+  public long getLockoutDuration() {
+    return lockoutDuration;
+  }
+
+  /**
+   * The time in milliseconds a user stays locked out after its last failed attempt.
+   *
+   * @param lockoutDuration the lockout duration in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoginTrackingOptions setLockoutDuration(long lockoutDuration) {
+    this.lockoutDuration = lockoutDuration;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    LoginTrackingOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the mirror mode of a provider.
+ * <p>
+ * In mirror mode the provider loads the whole collection in memory when it is created and keeps it current with a
+ * MongoDB change stream, lookups are then answered from memory. Mirroring requires a replica set or a sharded cluster,
+ * since change streams are not available on standalone servers.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class MirrorOptions {
+
+  /**
+   * The default batch size = 1000
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  /**
+   * The default restart delay = 1000 ms
+   */
+  public static final long DEFAULT_RESTART_DELAY = 1000;
+
+  /**
+   * The default snapshot interval = 60000 ms
+   */
+  public static final long DEFAULT_SNAPSHOT_INTERVAL = 60000;
+
+  private int batchSize;
+  private long restartDelay;
+  private boolean compact;
+  private String snapshotPath;
+  private long snapshotInterval;
+
+  public MirrorOptions() {
+    batchSize = DEFAULT_BATCH_SIZE;
+    restartDelay = DEFAULT_RESTART_DELAY;
+    snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
+  }
+
+  public MirrorOptions(JsonObject json) {
+    this();
+    MirrorOptionsConverter.fromJson(json, this);
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * The batch size of the cursors loading the collection and reading the change stream.
+   *
+   * @param batchSize the batch size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MirrorOptions setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  public long getRestartDelay() {
+    return restartDelay;
+  }
+
+  /**
+   * The delay in milliseconds before the mirror is synchronized again after the change stream failed. The previous
+   * content keeps answering lookups until the synchronization completes.
+   *
+   * @param restartDelay the restart delay in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MirrorOptions setRestartDelay(long restartDelay) {
+    this.restartDelay = restartDelay;
+    return this;
+  }
+
+  public boolean isCompact() {
+    return compact;
+  }
+
+  /**
+   * Keeps the mirrored documents in a compact store in direct memory rather than as {@link JsonObject} on the heap.
+   * Only the username, the password hash, the roles and the permissions are retained, roles and permissions being
+   * encoded as ids of a dictionary, and the documents are decoded when looked up. This keeps the garbage collection
+   * cost of very large collections negligible, at the price of a decoding on each lookup.
+   *
+   * @param compact whether to use the compact store
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MirrorOptions setCompact(boolean compact) {
+    this.compact = compact;
+    return this;
+  }
+
+  public String getSnapshotPath() {
+    return snapshotPath;
+  }
+
+  /**
+   * The file the compact store is saved to, together with the position in the change stream. When the file exists
+   * on start, it is mapped in memory and answers lookups right away while the mirror catches up with the changes made
+   * since it was saved. Snapshots require {@link #setCompact(boolean) the compact store}, each mirror must use its own
+   * file.
+   *
+   * @param snapshotPath the path of the snapshot file, {@code null} for no snapshot
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MirrorOptions setSnapshotPath(String snapshotPath) {
+    this.snapshotPath = snapshotPath;
+    return this;
+  }
+
+  public long getSnapshotInterval() {
+    return snapshotInterval;
+  }
+
+  /**
+   * The interval in milliseconds between two snapshots, a snapshot is only written when the mirror changed. A last
+   * snapshot is written when the provider is closed.
+   *
+   * @param snapshotInterval the snapshot interval in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MirrorOptions setSnapshotInterval(long snapshotInterval) {
+    this.snapshotInterval = snapshotInterval;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    MirrorOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
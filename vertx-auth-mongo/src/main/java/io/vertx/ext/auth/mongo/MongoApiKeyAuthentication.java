@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.mongo.impl.MongoApiKeyAuthenticationImpl;
+import io.vertx.ext.mongo.MongoClient;
+
+/**
+ * An authentication provider for machine clients presenting a high entropy API key as
+ * {@link io.vertx.ext.auth.authentication.TokenCredentials}.
+ * <p>
+ * Unlike a password, a random key cannot be guessed, so it is stored as a fast SHA-256 digest rather than with a slow
+ * password hash: the key is looked up by its indexed key id and its digest is compared in constant time, which costs
+ * microseconds instead of the milliseconds of a PBKDF2 hash.
+ */
+@VertxGen
+public interface MongoApiKeyAuthentication extends AuthenticationProvider {
+
+  /**
+   * Creates a provider looking the keys up with the given client.
+   *
+   * @param mongoClient the client
+   * @param options     the options
+   * @return the created instance of {@link MongoApiKeyAuthentication}
+   */
+  static MongoApiKeyAuthentication create(MongoClient mongoClient, MongoApiKeyOptions options) {
+    return new MongoApiKeyAuthenticationImpl(mongoClient, options);
+  }
+
+  /**
+   * Generates a new key and stores its digest for the given user. The key is only returned by this method, it cannot
+   * be recovered from the collection.
+   *
+   * @param username the user authenticated by the key
+   * @return the key, to be handed to the client
+   */
+  Future<String> createKey(String username);
+
+  /**
+   * Revokes a key.
+   *
+   * @param key the key, or its key id
+   * @return a future completed when the key is removed
+   */
+  Future<Void> revokeKey(String key);
+
+  /**
+   * Creates the unique index on the key id field the keys are looked up with.
+   *
+   * @return a future completed when the index exists
+   */
+  Future<Void> createIndex();
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a {@link MongoApiKeyAuthentication}.
+ * <p>
+ * A key is made of a public key id and a random secret, {@code <key id>.<secret>}. The document of a key holds the key
+ * id, which is indexed, the digest of the whole key and the username the key authenticates.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class MongoApiKeyOptions {
+
+  /**
+   * The default collection name = "api_key"
+   */
+  public static final String DEFAULT_COLLECTION_NAME = "api_key";
+
+  /**
+   * The default key id field = "key_id"
+   */
+  public static final String DEFAULT_KEY_ID_FIELD = "key_id";
+
+  /**
+   * The default digest field = "key_digest"
+   */
+  public static final String DEFAULT_DIGEST_FIELD = "key_digest";
+
+  /**
+   * The default username field = "username"
+   */
+  public static final String DEFAULT_USERNAME_FIELD = MongoAuthentication.DEFAULT_USERNAME_FIELD;
+
+  private String collectionName;
+  private String keyIdField;
+  private String digestField;
+  private String usernameField;
+  private String secret;
+
+  public MongoApiKeyOptions() {
+    collectionName = DEFAULT_COLLECTION_NAME;
+    keyIdField = DEFAULT_KEY_ID_FIELD;
+    digestField = DEFAULT_DIGEST_FIELD;
+    usernameField = DEFAULT_USERNAME_FIELD;
+  }
+
+  public MongoApiKeyOptions(JsonObject json) {
+    this();
+    MongoApiKeyOptionsConverter.fromJson(json, this);
+  }
+
+  public String getCollectionName() {
+    return collectionName;
+  }
+
+  /**
+   * The name of the collection of the keys.
+   *
+   * @param collectionName the collection name
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoApiKeyOptions setCollectionName(String collectionName) {
+    this.collectionName = collectionName;
+    return this;
+  }
+
+  public String getKeyIdField() {
+    return keyIdField;
+  }
+
+  /**
+   * The field holding the key id, the keys are looked up by this field so it should have a unique index, see
+   * {@link MongoApiKeyAuthentication#createIndex()}.
+   *
+   * @param keyIdField the key id field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoApiKeyOptions setKeyIdField(String keyIdField) {
+    this.keyIdField = keyIdField;
+    return this;
+  }
+
+  public String getDigestField() {
+    return digestField;
+  }
+
+  /**
+   * The field holding the digest of the key.
+   *
+   * @param digestField the digest field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoApiKeyOptions setDigestField(String digestField) {
+    this.digestField = digestField;
+    return this;
+  }
+
+  public String getUsernameField() {
+    return usernameField;
+  }
+
+  /**
+   * The field holding the username authenticated by the key.
+   *
+   * @param usernameField the username field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoApiKeyOptions setUsernameField(String usernameField) {
+    this.usernameField = usernameField;
+    return this;
+  }
+
+  public String getSecret() {
+    return secret;
+  }
+
+  /**
+   * The server side secret the digests are computed with, as a HMAC-SHA256 of the key. Without a secret the digest is
+   * a plain SHA-256 of the key. The keys are random, so a slow password hash would not make them harder to guess, but
+   * with a secret a leaked collection is not enough to check guesses offline.
+   * <p>
+   * Changing the secret invalidates the stored digests.
+   *
+   * @param secret the secret, {@code null} for a plain SHA-256
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoApiKeyOptions setSecret(String secret) {
+    this.secret = secret;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    MongoApiKeyOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
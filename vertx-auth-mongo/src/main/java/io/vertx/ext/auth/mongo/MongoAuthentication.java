@@ -17,8 +17,14 @@
 package io.vertx.ext.auth.mongo;
 
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.mongo.impl.MongoAuthenticationImpl;
+import io.vertx.ext.auth.mongo.impl.RecentWrites;
 import io.vertx.ext.mongo.MongoClient;
 
 import java.util.Map;
@@ -58,6 +64,22 @@ public interface MongoAuthentication extends AuthenticationProvider {
    */
   String DEFAULT_CREDENTIAL_PASSWORD_FIELD = DEFAULT_PASSWORD_FIELD;
 
+  /**
+   * The default name of the property flagging a disabled user, like it is stored in mongodb
+   */
+  String DEFAULT_DISABLED_FIELD = "disabled";
+
+  /**
+   * The default time window in milliseconds during which lookups of users written through {@link MongoUserUtil} go to
+   * the primary
+   */
+  long DEFAULT_READ_YOUR_WRITES_WINDOW = 5000;
+
+  /**
+   * The default locale of the collation matching the usernames case insensitively
+   */
+  String DEFAULT_COLLATION_LOCALE = "en";
+
   /**
    * Creates an instance of MongoAuth by using the given {@link MongoClient} and configuration object.
    *
@@ -71,6 +93,59 @@ public interface MongoAuthentication extends AuthenticationProvider {
     return new MongoAuthenticationImpl(mongoClient, options);
   }
 
+  /**
+   * Creates an instance of MongoAuth by using the given {@link MongoClient} and configuration object. When the options
+   * define a read preference or read concern, user lookups are performed by a shared client derived from
+   * {@code mongoClientConfig} with these settings applied.
+   *
+   * @param vertx
+   *          the vertx instance
+   * @param mongoClient
+   *          an instance of {@link MongoClient} to be used for data storage and retrival
+   * @param mongoClientConfig
+   *          the configuration {@code mongoClient} was created with
+   * @param options
+   *          the configuration object for the current instance.
+   * @return the created instance of {@link MongoAuthentication}
+   */
+  static MongoAuthentication create(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options) {
+    return new MongoAuthenticationImpl(vertx, mongoClient, mongoClientConfig, options);
+  }
+
+  /**
+   * Like {@link #create(Vertx, MongoClient, JsonObject, MongoAuthenticationOptions)}, the users written through the
+   * {@link MongoUserUtil} created with {@code writes} being evicted from the caches and, during the read-your-writes
+   * window, looked up with {@code mongoClient}.
+   *
+   * @param vertx
+   *          the vertx instance
+   * @param mongoClient
+   *          an instance of {@link MongoClient} to be used for data storage and retrival
+   * @param mongoClientConfig
+   *          the configuration {@code mongoClient} was created with
+   * @param options
+   *          the configuration object for the current instance.
+   * @param writes
+   *          the writes shared with a {@link MongoUserUtil}
+   * @return the created instance of {@link MongoAuthentication}
+   */
+  static MongoAuthentication create(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options,
+                                    MongoUserWrites writes) {
+    return new MongoAuthenticationImpl(vertx, mongoClient, mongoClientConfig, options, RecentWrites.of(writes));
+  }
+
+  /**
+   * Authenticates a user like {@link #authenticate(Credentials)}, counting the failed attempts against the source of the
+   * request too when the logins are throttled, see {@link MongoAuthenticationOptions#setThrottle(ThrottleOptions)}.
+   *
+   * @param credentials the credentials
+   * @param source      the source of the request, e.g. the remote address of the client, {@code null} when unknown
+   * @return the authenticated user
+   */
+  default Future<User> authenticate(Credentials credentials, String source) {
+    return authenticate(credentials);
+  }
+
   /**
    * Hashes a password to be stored.
    *
@@ -86,4 +161,35 @@ public interface MongoAuthentication extends AuthenticationProvider {
   default String hash(String id, String salt, String password) {
     return hash(id, null, salt, password);
   }
+
+  /**
+   * Returns a snapshot of the concurrency limiter configured with {@link MongoAuthenticationOptions#setConcurrencyLimit}: the
+   * current {@code limit}, the queries {@code inFlight}, the {@code queued} queries and the number of {@code rejected}
+   * queries.
+   *
+   * @return the metrics, empty when no concurrency limit is configured
+   */
+  default JsonObject concurrencyMetrics() {
+    return new JsonObject();
+  }
+
+  /**
+   * Signals when the provider is ready to answer lookups from memory, i.e. when the collection has been loaded in mirror
+   * mode, see {@link MongoAuthenticationOptions#setMirror(MirrorOptions)}, and the cache has been warmed up, see
+   * {@link MongoAuthenticationOptions#setWarmUp(WarmUpOptions)}. Lookups made before go to the database.
+   *
+   * @return a future completed when the provider is ready
+   */
+  default Future<Void> ready() {
+    return Future.succeededFuture();
+  }
+
+  /**
+   * Releases the resources held by this provider, such as a client created for secondary reads.
+   *
+   * @return a future completed when the provider is closed
+   */
+  default Future<Void> close() {
+    return Future.succeededFuture();
+  }
 }
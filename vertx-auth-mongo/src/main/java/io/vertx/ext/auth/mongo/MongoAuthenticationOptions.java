@@ -19,6 +19,9 @@ import io.vertx.codegen.annotations.DataObject;
 import io.vertx.codegen.json.annotations.JsonGen;
 import io.vertx.core.json.JsonObject;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Options configuring Mongo authentication.
  *
@@ -32,15 +35,41 @@ public class MongoAuthenticationOptions {
   private String collectionName;
   private String usernameField;
   private String passwordField;
+  private String disabledField;
   private String usernameCredentialField;
   private String passwordCredentialField;
+  private String readPreference;
+  private long maxStalenessSeconds;
+  private String readConcernLevel;
+  private long readYourWritesWindow;
+  private long maxTime;
+  private long hedgeDelay;
+  private ConcurrencyLimitOptions concurrencyLimit;
+  private PriorityLaneOptions interactiveLane;
+  private PriorityLaneOptions bulkLane;
+  private boolean virtualThreads;
+  private MirrorOptions mirror;
+  private CacheOptions cache;
+  private WarmUpOptions warmUp;
+  private List<String> principalFields;
+  private boolean removeCredentials;
+  private LoginTrackingOptions loginTracking;
+  private ThrottleOptions throttle;
+  private List<IdentifierOptions> identifiers;
+  private int identifierCacheSize;
+  private boolean caseInsensitive;
+  private String collationLocale;
+  private ShardKeyOptions shardKey;
 
   public MongoAuthenticationOptions() {
     collectionName = MongoAuthentication.DEFAULT_COLLECTION_NAME;
     usernameField = MongoAuthentication.DEFAULT_USERNAME_FIELD;
     passwordField = MongoAuthentication.DEFAULT_PASSWORD_FIELD;
+    disabledField = MongoAuthentication.DEFAULT_DISABLED_FIELD;
     usernameCredentialField = MongoAuthentication.DEFAULT_CREDENTIAL_USERNAME_FIELD;
     passwordCredentialField = MongoAuthentication.DEFAULT_CREDENTIAL_PASSWORD_FIELD;
+    readYourWritesWindow = MongoAuthentication.DEFAULT_READ_YOUR_WRITES_WINDOW;
+    collationLocale = MongoAuthentication.DEFAULT_COLLATION_LOCALE;
   }
 
   public MongoAuthenticationOptions(JsonObject json) {
@@ -93,6 +122,22 @@ public class MongoAuthenticationOptions {
     return this;
   }
 
+  public String getDisabledField() {
+    return disabledField;
+  }
+
+  /**
+   * The property name to be used to set the name of the field flagging a disabled user, the users whose field is
+   * {@code true} cannot authenticate.
+   *
+   * @param disabledField the disabled field, {@code null} to not check it
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setDisabledField(String disabledField) {
+    this.disabledField = disabledField;
+    return this;
+  }
+
   public String getUsernameCredentialField() {
     return usernameCredentialField;
   }
@@ -116,4 +161,403 @@ public class MongoAuthenticationOptions {
     this.passwordCredentialField = passwordCredentialField;
     return this;
   }
+
+  public String getReadPreference() {
+    return readPreference;
+  }
+
+  /**
+   * The read preference used for user lookups, e.g. {@code secondaryPreferred} or {@code nearest}. When not set the
+   * lookups use the {@link io.vertx.ext.mongo.MongoClient} given to the provider, which reads from the primary by
+   * default.
+   *
+   * @param readPreference the read preference mode
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setReadPreference(String readPreference) {
+    this.readPreference = readPreference;
+    return this;
+  }
+
+  public long getMaxStalenessSeconds() {
+    return maxStalenessSeconds;
+  }
+
+  /**
+   * The maximum replication lag, in seconds, a secondary may have to be eligible for user lookups. MongoDB requires
+   * at least 90 seconds, {@code 0} means no limit.
+   *
+   * @param maxStalenessSeconds the max staleness in seconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setMaxStalenessSeconds(long maxStalenessSeconds) {
+    this.maxStalenessSeconds = maxStalenessSeconds;
+    return this;
+  }
+
+  public String getReadConcernLevel() {
+    return readConcernLevel;
+  }
+
+  /**
+   * The read concern level used for user lookups, e.g. {@code local} or {@code majority}.
+   *
+   * @param readConcernLevel the read concern level
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setReadConcernLevel(String readConcernLevel) {
+    this.readConcernLevel = readConcernLevel;
+    return this;
+  }
+
+  public long getReadYourWritesWindow() {
+    return readYourWritesWindow;
+  }
+
+  /**
+   * The time window, in milliseconds, during which lookups for a user written through a {@link MongoUserUtil} sharing
+   * the {@link MongoUserWrites} of the provider are sent to the primary instead of following the configured read
+   * preference.
+   *
+   * @param readYourWritesWindow the window in milliseconds, {@code 0} disables the fallback
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setReadYourWritesWindow(long readYourWritesWindow) {
+    this.readYourWritesWindow = readYourWritesWindow;
+    return this;
+  }
+
+  public long getMaxTime() {
+    return maxTime;
+  }
+
+  /**
+   * The deadline of a user lookup in milliseconds. It is propagated to the server as {@code maxTimeMS} so a slow
+   * query is aborted there as well, {@code 0} means no deadline.
+   *
+   * @param maxTime the deadline in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setMaxTime(long maxTime) {
+    this.maxTime = maxTime;
+    return this;
+  }
+
+  public long getHedgeDelay() {
+    return hedgeDelay;
+  }
+
+  /**
+   * The delay in milliseconds after which a user lookup still waiting for its reply is sent a second time, to the
+   * primary when the first attempt went to a secondary. The first successful reply wins. Choose a value around the
+   * high percentiles of the lookup latency so only a small fraction of lookups is hedged, {@code 0} disables hedging.
+   * Hedging requires a {@link #setReadPreference(String) read preference} and the provider to be created with a
+   * {@link io.vertx.core.Vertx} instance or on a Vert.x thread, lookups already sent to the primary are not hedged.
+   *
+   * @param hedgeDelay the hedge delay in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setHedgeDelay(long hedgeDelay) {
+    this.hedgeDelay = hedgeDelay;
+    return this;
+  }
+
+  public ConcurrencyLimitOptions getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  /**
+   * Adapts the number of concurrent queries sent to MongoDB to the observed latency, so that the provider sheds load
+   * early when the database degrades instead of queueing ever more queries on the client pool.
+   *
+   * @param concurrencyLimit the concurrency limit options, {@code null} for no limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setConcurrencyLimit(ConcurrencyLimitOptions concurrencyLimit) {
+    this.concurrencyLimit = concurrencyLimit;
+    return this;
+  }
+
+  public PriorityLaneOptions getInteractiveLane() {
+    return interactiveLane;
+  }
+
+  /**
+   * The budget of the interactive lane, in which the lookups of the provider are scheduled. The hash concurrency sets the number of worker threads verifying passwords.
+   *
+   * @param interactiveLane the interactive lane options, {@code null} to not schedule the lookups in a lane
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setInteractiveLane(PriorityLaneOptions interactiveLane) {
+    this.interactiveLane = interactiveLane;
+    return this;
+  }
+
+  public PriorityLaneOptions getBulkLane() {
+    return bulkLane;
+  }
+
+  /**
+   * The budget of the bulk lane, in which the queries and password hashes of {@link MongoUserUtil} are scheduled, so
+   * that bulk imports and background jobs never take the capacity needed by interactive logins.
+   *
+   * @param bulkLane the bulk lane options, {@code null} to not schedule the operations in a lane
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setBulkLane(PriorityLaneOptions bulkLane) {
+    this.bulkLane = bulkLane;
+    return this;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Runs the lookups and password verifications of callers that are not on a virtual thread as straight-line code on virtual threads,
+   * instead of chaining callbacks on the caller context. Callers running on a virtual thread always use the
+   * straight-line code. This is ignored when virtual threads are not available or the provider has no vertx instance.
+   *
+   * @param virtualThreads whether to run on virtual threads
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+    return this;
+  }
+
+  public MirrorOptions getMirror() {
+    return mirror;
+  }
+
+  /**
+   * Enables the mirror mode: the collection is loaded in memory when the provider is created and kept current with a
+   * change stream, lookups are answered from memory once loaded, see {@link MongoAuthentication#ready()}. Lookups of
+   * users written through a {@link MongoUserUtil} sharing the {@link MongoUserWrites} of the provider within the read
+   * your writes window still go to the database. The provider must be created with a {@link io.vertx.core.Vertx}
+   * instance or on a Vert.x thread.
+   *
+   * @param mirror the mirror options, {@code null} to look up users in the database
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setMirror(MirrorOptions mirror) {
+    this.mirror = mirror;
+    return this;
+  }
+
+  public CacheOptions getCache() {
+    return cache;
+  }
+
+  /**
+   * Caches the documents found by the lookups of the provider. Users written through a {@link MongoUserUtil} sharing
+   * the {@link MongoUserWrites} of the provider are evicted from the cache.
+   *
+   * @param cache the cache options, {@code null} for no cache
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setCache(CacheOptions cache) {
+    this.cache = cache;
+    return this;
+  }
+
+  public WarmUpOptions getWarmUp() {
+    return warmUp;
+  }
+
+  /**
+   * Loads the most recently active users in the cache when the provider is created, the provider is ready once they
+   * are loaded. When no cache is configured, a cache with the default options is enabled, i.e. the lookups of the
+   * provider are then cached: {@link CacheOptions#DEFAULT_MAX_SIZE} users for {@link CacheOptions#DEFAULT_TIME_TO_LIVE}
+   * milliseconds. At most the max size of the cache users are loaded. The provider must be created with a
+   * {@link io.vertx.core.Vertx} instance or on a Vert.x thread.
+   *
+   * @param warmUp the warm-up options, {@code null} for no warm-up
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setWarmUp(WarmUpOptions warmUp) {
+    this.warmUp = warmUp;
+    return this;
+  }
+
+  public List<String> getPrincipalFields() {
+    return principalFields;
+  }
+
+  /**
+   * The fields of the user document copied to the principal of the authenticated user, the username field is always
+   * copied. Only these fields and the password are fetched from the database, so large profile fields neither travel
+   * with the lookups nor with the sessions holding the user.
+   *
+   * @param principalFields the allowed fields, {@code null} to copy the whole document
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setPrincipalFields(List<String> principalFields) {
+    this.principalFields = principalFields;
+    return this;
+  }
+
+  /**
+   * Adds a field copied to the principal, see {@link #setPrincipalFields(List)}.
+   *
+   * @param principalField the allowed field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions addPrincipalField(String principalField) {
+    if (principalFields == null) {
+      principalFields = new ArrayList<>();
+    }
+    principalFields.add(principalField);
+    return this;
+  }
+
+  public boolean isRemoveCredentials() {
+    return removeCredentials;
+  }
+
+  /**
+   * Removes the password hash from the principal of the authenticated user, so it is neither kept in the sessions nor
+   * replicated with them.
+   *
+   * @param removeCredentials whether the password is removed from the principal
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setRemoveCredentials(boolean removeCredentials) {
+    this.removeCredentials = removeCredentials;
+    return this;
+  }
+
+  public LoginTrackingOptions getLoginTracking() {
+    return loginTracking;
+  }
+
+  /**
+   * Tracks the last login and the failed attempts of the users, and locks out the users failing too many attempts. The
+   * provider must be created with a {@link io.vertx.core.Vertx} instance or on a Vert.x thread.
+   *
+   * @param loginTracking the login tracking options, {@code null} to not track logins
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setLoginTracking(LoginTrackingOptions loginTracking) {
+    this.loginTracking = loginTracking;
+    return this;
+  }
+
+  public ThrottleOptions getThrottle() {
+    return throttle;
+  }
+
+  /**
+   * Throttles the failed logins per username and per source over a sliding window, the throttled attempts fail without
+   * querying the database nor hashing the password.
+   *
+   * @param throttle the throttle options, {@code null} to not throttle logins
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setThrottle(ThrottleOptions throttle) {
+    this.throttle = throttle;
+    return this;
+  }
+
+  public List<IdentifierOptions> getIdentifiers() {
+    return identifiers;
+  }
+
+  /**
+   * The alternate fields users can log in with besides the username, e.g. an email address or a phone number. The input
+   * is classified by the patterns of the identifiers so the lookup targets a single indexed field when possible.
+   *
+   * @param identifiers the identifiers, {@code null} to log in with the username only
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setIdentifiers(List<IdentifierOptions> identifiers) {
+    this.identifiers = identifiers;
+    return this;
+  }
+
+  /**
+   * Adds an alternate field users can log in with, see {@link #setIdentifiers(List)}.
+   *
+   * @param identifier the identifier
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions addIdentifier(IdentifierOptions identifier) {
+    if (identifiers == null) {
+      identifiers = new ArrayList<>();
+    }
+    identifiers.add(identifier);
+    return this;
+  }
+
+  public int getIdentifierCacheSize() {
+    return identifierCacheSize;
+  }
+
+  /**
+   * The number of alternate identifiers whose username is remembered, so the next lookups of these identifiers go by
+   * username and are served by the cache or the mirror. A remembered username is checked against the identifier of the
+   * document found, so changing an email address does not leave a stale mapping. The usernames are not remembered with
+   * a compact mirror, which does not retain the identifiers.
+   *
+   * @param identifierCacheSize the number of remembered identifiers, {@code 0} to not remember them
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setIdentifierCacheSize(int identifierCacheSize) {
+    this.identifierCacheSize = identifierCacheSize;
+    return this;
+  }
+
+  public boolean isCaseInsensitive() {
+    return caseInsensitive;
+  }
+
+  /**
+   * Matches the usernames case insensitively. The lookups are issued with a collation of strength 2 instead of a regular
+   * expression, so they are served by an index of the username field with the same collation, see
+   * {@link MongoUserUtil#createIndexes()}. Neither the mirror nor the shard key support case insensitive usernames.
+   *
+   * @param caseInsensitive whether the usernames are matched case insensitively
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setCaseInsensitive(boolean caseInsensitive) {
+    this.caseInsensitive = caseInsensitive;
+    return this;
+  }
+
+  public String getCollationLocale() {
+    return collationLocale;
+  }
+
+  /**
+   * The locale of the collation matching the usernames case insensitively, see {@link #setCaseInsensitive(boolean)}.
+   *
+   * @param collationLocale the locale
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setCollationLocale(String collationLocale) {
+    this.collationLocale = collationLocale;
+    return this;
+  }
+
+  public ShardKeyOptions getShardKey() {
+    return shardKey;
+  }
+
+  /**
+   * The shard key of a sharded collection, included in the lookups so they are routed to the shard of the user. It
+   * does not support case insensitive usernames.
+   *
+   * @param shardKey the shard key options, {@code null} when the collection is not sharded
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setShardKey(ShardKeyOptions shardKey) {
+    this.shardKey = shardKey;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    MongoAuthenticationOptionsConverter.toJson(this, json);
+    return json;
+  }
 }
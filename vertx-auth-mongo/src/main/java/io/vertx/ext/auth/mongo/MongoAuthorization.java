@@ -17,8 +17,14 @@
 package io.vertx.ext.auth.mongo;
 
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
 import io.vertx.ext.auth.authorization.AuthorizationProvider;
 import io.vertx.ext.auth.mongo.impl.MongoAuthorizationImpl;
+import io.vertx.ext.auth.mongo.impl.RecentWrites;
 import io.vertx.ext.mongo.MongoClient;
 
 /**
@@ -51,6 +57,17 @@ public interface MongoAuthorization extends AuthorizationProvider {
    */
   String DEFAULT_PERMISSION_FIELD = "permissions";
 
+  /**
+   * The default time window in milliseconds during which lookups of users written through {@link MongoUserUtil} go to
+   * the primary
+   */
+  long DEFAULT_READ_YOUR_WRITES_WINDOW = 5000;
+
+  /**
+   * The default locale of the collation matching the usernames case insensitively
+   */
+  String DEFAULT_COLLATION_LOCALE = "en";
+
   /**
    * Creates an instance of MongoAuthorization by using the given {@link MongoClient} and configuration object.
    *
@@ -66,4 +83,98 @@ public interface MongoAuthorization extends AuthorizationProvider {
     return new MongoAuthorizationImpl(providerId, mongoClient, options);
   }
 
+  /**
+   * Creates an instance of MongoAuthorization by using the given {@link MongoClient} and configuration object. When the
+   * options define a read preference or read concern, lookups are performed by a shared client derived from
+   * {@code mongoClientConfig} with these settings applied.
+   *
+   * @param vertx
+   *          the vertx instance
+   * @param providerId
+   *          the provider ID to differentiate from others
+   * @param mongoClient
+   *          an instance of {@link MongoClient} to be used for data storage and retrival
+   * @param mongoClientConfig
+   *          the configuration {@code mongoClient} was created with
+   * @param options
+   *          the configuration object for the current instance.
+   * @return the created instance of {@link MongoAuthorization}
+   */
+  static MongoAuthorization create(Vertx vertx, String providerId, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthorizationOptions options) {
+    return new MongoAuthorizationImpl(vertx, providerId, mongoClient, mongoClientConfig, options);
+  }
+
+  /**
+   * Like {@link #create(Vertx, String, MongoClient, JsonObject, MongoAuthorizationOptions)}, the users written through the
+   * {@link MongoUserUtil} created with {@code writes} being evicted from the caches and, during the read-your-writes
+   * window, looked up with {@code mongoClient}.
+   *
+   * @param vertx
+   *          the vertx instance
+   * @param providerId
+   *          the provider ID to differentiate from others
+   * @param mongoClient
+   *          an instance of {@link MongoClient} to be used for data storage and retrival
+   * @param mongoClientConfig
+   *          the configuration {@code mongoClient} was created with
+   * @param options
+   *          the configuration object for the current instance.
+   * @param writes
+   *          the writes shared with a {@link MongoUserUtil}
+   * @return the created instance of {@link MongoAuthorization}
+   */
+  static MongoAuthorization create(Vertx vertx, String providerId, MongoClient mongoClient, JsonObject mongoClientConfig,
+                                   MongoAuthorizationOptions options, MongoUserWrites writes) {
+    return new MongoAuthorizationImpl(vertx, providerId, mongoClient, mongoClientConfig, options, RecentWrites.of(writes));
+  }
+
+  /**
+   * Checks whether the user is granted an authorization without loading all its authorizations, e.g. for users holding
+   * huge lists of permissions. A {@link io.vertx.ext.auth.authorization.RoleBasedAuthorization} or
+   * {@link io.vertx.ext.auth.authorization.PermissionBasedAuthorization} is checked by MongoDB, which only returns the id
+   * of the user document when it holds the role or permission, and the combinations of them are checked one by one.
+   * The results are cached when {@link MongoAuthorizationOptions#setCheckCache(CacheOptions)} is set. Other
+   * authorizations are matched against the authorizations of the user, loaded as by {@link #getAuthorizations(User)}
+   * but without being added to the user.
+   *
+   * @param user the user
+   * @param authorization the authorization to check
+   * @return a future completed with whether the user is granted the authorization
+   */
+  default Future<Boolean> check(User user, Authorization authorization) {
+    User copy = User.create(user.principal());
+    return getAuthorizations(copy).map(v -> authorization.match(copy));
+  }
+
+  /**
+   * Returns a snapshot of the concurrency limiter configured with {@link MongoAuthorizationOptions#setConcurrencyLimit}: the
+   * current {@code limit}, the queries {@code inFlight}, the {@code queued} queries and the number of {@code rejected}
+   * queries.
+   *
+   * @return the metrics, empty when no concurrency limit is configured
+   */
+  default JsonObject concurrencyMetrics() {
+    return new JsonObject();
+  }
+
+  /**
+   * Signals when the provider is ready to answer lookups from memory, i.e. when the collection has been loaded in mirror
+   * mode, see {@link MongoAuthorizationOptions#setMirror(MirrorOptions)}, and the cache has been warmed up, see
+   * {@link MongoAuthorizationOptions#setWarmUp(WarmUpOptions)}. Lookups made before go to the database.
+   *
+   * @return a future completed when the provider is ready
+   */
+  default Future<Void> ready() {
+    return Future.succeededFuture();
+  }
+
+  /**
+   * Releases the resources held by this provider, such as a client created for secondary reads.
+   *
+   * @return a future completed when the provider is closed
+   */
+  default Future<Void> close() {
+    return Future.succeededFuture();
+  }
+
 }
@@ -33,12 +33,34 @@ public class MongoAuthorizationOptions {
   private String usernameField;
   private String roleField;
   private String permissionField;
+  private String readPreference;
+  private long maxStalenessSeconds;
+  private String readConcernLevel;
+  private long readYourWritesWindow;
+  private long maxTime;
+  private long hedgeDelay;
+  private ConcurrencyLimitOptions concurrencyLimit;
+  private PriorityLaneOptions interactiveLane;
+  private boolean virtualThreads;
+  private MirrorOptions mirror;
+  private CacheOptions cache;
+  private WarmUpOptions warmUp;
+  private RoleHierarchyOptions roleHierarchy;
+  private boolean compactAuthorizations;
+  private boolean wildcardPermissions;
+  private CacheOptions checkCache;
+  private int pageSize;
+  private boolean caseInsensitive;
+  private String collationLocale;
+  private ShardKeyOptions shardKey;
 
   public MongoAuthorizationOptions() {
     collectionName = MongoAuthorization.DEFAULT_COLLECTION_NAME;
     usernameField = MongoAuthorization.DEFAULT_USERNAME_FIELD;
     roleField = MongoAuthorization.DEFAULT_ROLE_FIELD;
     permissionField = MongoAuthorization.DEFAULT_PERMISSION_FIELD;
+    readYourWritesWindow = MongoAuthorization.DEFAULT_READ_YOUR_WRITES_WINDOW;
+    collationLocale = MongoAuthorization.DEFAULT_COLLATION_LOCALE;
   }
 
   public MongoAuthorizationOptions(JsonObject json) {
@@ -105,4 +127,346 @@ public class MongoAuthorizationOptions {
     this.permissionField = permissionField;
     return this;
   }
+
+  public String getReadPreference() {
+    return readPreference;
+  }
+
+  /**
+   * The read preference used for authorization lookups, e.g. {@code secondaryPreferred} or {@code nearest}. When not
+   * set the lookups use the {@link io.vertx.ext.mongo.MongoClient} given to the provider, which reads from the primary
+   * by default.
+   *
+   * @param readPreference the read preference mode
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setReadPreference(String readPreference) {
+    this.readPreference = readPreference;
+    return this;
+  }
+
+  public long getMaxStalenessSeconds() {
+    return maxStalenessSeconds;
+  }
+
+  /**
+   * The maximum replication lag, in seconds, a secondary may have to be eligible for authorization lookups. MongoDB
+   * requires at least 90 seconds, {@code 0} means no limit.
+   *
+   * @param maxStalenessSeconds the max staleness in seconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setMaxStalenessSeconds(long maxStalenessSeconds) {
+    this.maxStalenessSeconds = maxStalenessSeconds;
+    return this;
+  }
+
+  public String getReadConcernLevel() {
+    return readConcernLevel;
+  }
+
+  /**
+   * The read concern level used for authorization lookups, e.g. {@code local} or {@code majority}.
+   *
+   * @param readConcernLevel the read concern level
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setReadConcernLevel(String readConcernLevel) {
+    this.readConcernLevel = readConcernLevel;
+    return this;
+  }
+
+  public long getReadYourWritesWindow() {
+    return readYourWritesWindow;
+  }
+
+  /**
+   * The time window, in milliseconds, during which lookups for a user whose roles or permissions were written through a
+   * {@link MongoUserUtil} sharing the {@link MongoUserWrites} of the provider are sent to the primary instead of
+   * following the configured read preference.
+   *
+   * @param readYourWritesWindow the window in milliseconds, {@code 0} disables the fallback
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setReadYourWritesWindow(long readYourWritesWindow) {
+    this.readYourWritesWindow = readYourWritesWindow;
+    return this;
+  }
+
+  public long getMaxTime() {
+    return maxTime;
+  }
+
+  /**
+   * The deadline of a authorization lookup in milliseconds. It is propagated to the server as {@code maxTimeMS} so a slow
+   * query is aborted there as well, {@code 0} means no deadline.
+   *
+   * @param maxTime the deadline in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setMaxTime(long maxTime) {
+    this.maxTime = maxTime;
+    return this;
+  }
+
+  public long getHedgeDelay() {
+    return hedgeDelay;
+  }
+
+  /**
+   * The delay in milliseconds after which a authorization lookup still waiting for its reply is sent a second time, to the
+   * primary when the first attempt went to a secondary. The first successful reply wins. Choose a value around the
+   * high percentiles of the lookup latency so only a small fraction of lookups is hedged, {@code 0} disables hedging.
+   * Hedging requires a {@link #setReadPreference(String) read preference} and the provider to be created with a
+   * {@link io.vertx.core.Vertx} instance or on a Vert.x thread, lookups already sent to the primary are not hedged.
+   *
+   * @param hedgeDelay the hedge delay in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setHedgeDelay(long hedgeDelay) {
+    this.hedgeDelay = hedgeDelay;
+    return this;
+  }
+
+  public ConcurrencyLimitOptions getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  /**
+   * Adapts the number of concurrent queries sent to MongoDB to the observed latency, so that the provider sheds load
+   * early when the database degrades instead of queueing ever more queries on the client pool.
+   *
+   * @param concurrencyLimit the concurrency limit options, {@code null} for no limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setConcurrencyLimit(ConcurrencyLimitOptions concurrencyLimit) {
+    this.concurrencyLimit = concurrencyLimit;
+    return this;
+  }
+
+  public PriorityLaneOptions getInteractiveLane() {
+    return interactiveLane;
+  }
+
+  /**
+   * The budget of the interactive lane, in which the lookups of the provider are scheduled. The hash concurrency is not used by authorization lookups.
+   *
+   * @param interactiveLane the interactive lane options, {@code null} to not schedule the lookups in a lane
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setInteractiveLane(PriorityLaneOptions interactiveLane) {
+    this.interactiveLane = interactiveLane;
+    return this;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Runs the lookups of callers that are not on a virtual thread as straight-line code on virtual threads,
+   * instead of chaining callbacks on the caller context. Callers running on a virtual thread always use the
+   * straight-line code. This is ignored when virtual threads are not available or the provider has no vertx instance.
+   *
+   * @param virtualThreads whether to run on virtual threads
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+    return this;
+  }
+
+  public MirrorOptions getMirror() {
+    return mirror;
+  }
+
+  /**
+   * Enables the mirror mode: the collection is loaded in memory when the provider is created and kept current with a
+   * change stream, lookups are answered from memory once loaded, see {@link MongoAuthorization#ready()}. Lookups of
+   * users written through a {@link MongoUserUtil} sharing the {@link MongoUserWrites} of the provider within the read
+   * your writes window still go to the database. The provider must be created with a {@link io.vertx.core.Vertx}
+   * instance or on a Vert.x thread.
+   *
+   * @param mirror the mirror options, {@code null} to look up users in the database
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setMirror(MirrorOptions mirror) {
+    this.mirror = mirror;
+    return this;
+  }
+
+  public CacheOptions getCache() {
+    return cache;
+  }
+
+  /**
+   * Caches the documents found by the lookups of the provider. Users written through a {@link MongoUserUtil} sharing
+   * the {@link MongoUserWrites} of the provider are evicted from the cache.
+   *
+   * @param cache the cache options, {@code null} for no cache
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setCache(CacheOptions cache) {
+    this.cache = cache;
+    return this;
+  }
+
+  public WarmUpOptions getWarmUp() {
+    return warmUp;
+  }
+
+  /**
+   * Loads the most recently active users in the cache when the provider is created, the provider is ready once they
+   * are loaded. When no cache is configured, a cache with the default options is enabled, i.e. the lookups of the
+   * provider are then cached: {@link CacheOptions#DEFAULT_MAX_SIZE} users for {@link CacheOptions#DEFAULT_TIME_TO_LIVE}
+   * milliseconds. At most the max size of the cache users are loaded. The provider must be created with a
+   * {@link io.vertx.core.Vertx} instance or on a Vert.x thread.
+   *
+   * @param warmUp the warm-up options, {@code null} for no warm-up
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setWarmUp(WarmUpOptions warmUp) {
+    this.warmUp = warmUp;
+    return this;
+  }
+
+  public RoleHierarchyOptions getRoleHierarchy() {
+    return roleHierarchy;
+  }
+
+  /**
+   * Expands the roles of the users with the role definitions of a collection: a user holding a role is granted its
+   * ancestors and all their permissions, so the permissions need not be repeated in each user document. The
+   * definitions are kept in memory, and authorizations are loaded once the definitions are. The provider must be
+   * created with a {@link io.vertx.core.Vertx} instance or on a Vert.x thread.
+   *
+   * @param roleHierarchy the role hierarchy options, {@code null} to only use the roles of the user documents
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setRoleHierarchy(RoleHierarchyOptions roleHierarchy) {
+    this.roleHierarchy = roleHierarchy;
+    return this;
+  }
+
+  public boolean isCompactAuthorizations() {
+    return compactAuthorizations;
+  }
+
+  /**
+   * Stores the roles and permissions of a user as bitsets of ids assigned by the provider, instead of a set of
+   * {@link io.vertx.ext.auth.authorization.RoleBasedAuthorization} and
+   * {@link io.vertx.ext.auth.authorization.PermissionBasedAuthorization}. Verifying a role or permission without
+   * resource is then a constant time operation, whatever the number of authorizations of the user. The user gets a single
+   * {@link io.vertx.ext.auth.authorization.AndAuthorization} of the granted roles and permissions for the provider.
+   *
+   * @param compactAuthorizations whether to store the authorizations as bitsets
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setCompactAuthorizations(boolean compactAuthorizations) {
+    this.compactAuthorizations = compactAuthorizations;
+    return this;
+  }
+
+  public boolean isWildcardPermissions() {
+    return wildcardPermissions;
+  }
+
+  /**
+   * Grants the permissions of the users as wildcard permissions, e.g. {@code orders:*} implies {@code orders:eu:write},
+   * see {@link io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization}. The permissions of a user are
+   * indexed in a prefix trie, shared by the users with the same permissions, so a check walks the parts of the requested
+   * permission instead of comparing it with each grant.
+   *
+   * @param wildcardPermissions whether the permissions are wildcard permissions
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setWildcardPermissions(boolean wildcardPermissions) {
+    this.wildcardPermissions = wildcardPermissions;
+    return this;
+  }
+
+  public CacheOptions getCheckCache() {
+    return checkCache;
+  }
+
+  /**
+   * Caches the results of the checks answered by MongoDB, see {@link MongoAuthorization#check}. The max size is the
+   * number of users whose results are kept. Users written through a {@link MongoUserUtil} sharing the
+   * {@link MongoUserWrites} of the provider are evicted from the cache, and the whole cache is cleared when the role
+   * hierarchy changes.
+   *
+   * @param checkCache the cache options, {@code null} to not cache the results
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setCheckCache(CacheOptions checkCache) {
+    this.checkCache = checkCache;
+    return this;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Loads the role and permission arrays of the users in slices of the given size, so users holding huge arrays get
+   * their authorizations quickly and only the needed part is kept in memory. {@link MongoAuthorization#getAuthorizations}
+   * loads the first slice and the authorizations of the user only verify the loaded slices.
+   * {@link MongoAuthorization#check} asks MongoDB about a role or permission not loaded yet, and loads the following
+   * slices up to the one holding it when it is granted.
+   *
+   * @param pageSize the number of roles and permissions of a slice, {@code 0} to load the arrays at once
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setPageSize(int pageSize) {
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  public boolean isCaseInsensitive() {
+    return caseInsensitive;
+  }
+
+  /**
+   * Matches the usernames case insensitively. The lookups are issued with a collation of strength 2 instead of a regular
+   * expression, so they are served by an index of the username field with the same collation, see
+   * {@link MongoUserUtil#createIndexes()}. Neither the mirror nor the shard key support case insensitive usernames.
+   *
+   * @param caseInsensitive whether the usernames are matched case insensitively
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setCaseInsensitive(boolean caseInsensitive) {
+    this.caseInsensitive = caseInsensitive;
+    return this;
+  }
+
+  public String getCollationLocale() {
+    return collationLocale;
+  }
+
+  /**
+   * The locale of the collation matching the usernames case insensitively, see {@link #setCaseInsensitive(boolean)}.
+   *
+   * @param collationLocale the locale
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setCollationLocale(String collationLocale) {
+    this.collationLocale = collationLocale;
+    return this;
+  }
+
+  public ShardKeyOptions getShardKey() {
+    return shardKey;
+  }
+
+  /**
+   * The shard key of a sharded collection, included in the lookups so they are routed to the shard of the user. It
+   * does not support case insensitive usernames.
+   *
+   * @param shardKey the shard key options, {@code null} when the collection is not sharded
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthorizationOptions setShardKey(ShardKeyOptions shardKey) {
+    this.shardKey = shardKey;
+    return this;
+  }
 }
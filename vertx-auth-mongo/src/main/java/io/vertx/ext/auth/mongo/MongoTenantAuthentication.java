@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.mongo.impl.MongoTenantAuthenticationImpl;
+import io.vertx.ext.auth.mongo.impl.RecentWrites;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.util.function.Function;
+
+/**
+ * An authentication provider routing the users of many tenants to the collection, or the database, of their tenant.
+ * A {@link MongoAuthentication} is created for a tenant when it authenticates for the first time, with the
+ * {@link MongoAuthenticationOptions} of this provider and the collection of the tenant, so the memory and the startup
+ * cost grow with the active tenants only. The authenticated user has a {@code tenant} attribute.
+ */
+@VertxGen
+public interface MongoTenantAuthentication extends AuthenticationProvider {
+
+  /**
+   * Creates a provider resolving the tenant from the username of the credentials, see {@link TenantOptions}.
+   *
+   * @param vertx             the vertx instance
+   * @param mongoClient       the client used when the tenants share the database of the client
+   * @param mongoClientConfig the configuration {@code mongoClient} was created with
+   * @param options           the options of the provider of each tenant, the collection name is ignored
+   * @param tenantOptions     the tenant routing options
+   * @return the created instance of {@link MongoTenantAuthentication}
+   */
+  static MongoTenantAuthentication create(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options, TenantOptions tenantOptions) {
+    return new MongoTenantAuthenticationImpl(vertx, mongoClient, mongoClientConfig, options, tenantOptions, null);
+  }
+
+  /**
+   * Like {@link #create(Vertx, MongoClient, JsonObject, MongoAuthenticationOptions, TenantOptions)}, the users written
+   * through a {@link MongoUserUtil} created with {@code writes} being evicted from the caches of the tenant providers
+   * and, during the read-your-writes window, looked up with the primary.
+   *
+   * @param vertx             the vertx instance
+   * @param mongoClient       the client used when the tenants share the database of the client
+   * @param mongoClientConfig the configuration {@code mongoClient} was created with
+   * @param options           the options of the provider of each tenant, the collection name is ignored
+   * @param tenantOptions     the tenant routing options
+   * @param writes            the writes shared with the {@link MongoUserUtil} of the tenants
+   * @return the created instance of {@link MongoTenantAuthentication}
+   */
+  static MongoTenantAuthentication create(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options, TenantOptions tenantOptions,
+                                          MongoUserWrites writes) {
+    return new MongoTenantAuthenticationImpl(vertx, mongoClient, mongoClientConfig, options, tenantOptions, null, RecentWrites.of(writes));
+  }
+
+  /**
+   * Creates a provider resolving the tenant of the credentials with the given function, the username is looked up as
+   * is in the collection of the tenant.
+   *
+   * @param vertx             the vertx instance
+   * @param mongoClient       the client used when the tenants share the database of the client
+   * @param mongoClientConfig the configuration {@code mongoClient} was created with
+   * @param options           the options of the provider of each tenant, the collection name is ignored
+   * @param tenantOptions     the tenant routing options, the separator is ignored
+   * @param tenantResolver    returns the tenant of the credentials, or {@code null} when unknown
+   * @return the created instance of {@link MongoTenantAuthentication}
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  static MongoTenantAuthentication create(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options, TenantOptions tenantOptions, Function<Credentials, String> tenantResolver) {
+    return new MongoTenantAuthenticationImpl(vertx, mongoClient, mongoClientConfig, options, tenantOptions, tenantResolver);
+  }
+
+  /**
+   * Like {@link #create(Vertx, MongoClient, JsonObject, MongoAuthenticationOptions, TenantOptions, Function)}, the users
+   * written through a {@link MongoUserUtil} created with {@code writes} being evicted from the caches of the tenant
+   * providers and, during the read-your-writes window, looked up with the primary.
+   *
+   * @param vertx             the vertx instance
+   * @param mongoClient       the client used when the tenants share the database of the client
+   * @param mongoClientConfig the configuration {@code mongoClient} was created with
+   * @param options           the options of the provider of each tenant, the collection name is ignored
+   * @param tenantOptions     the tenant routing options, the separator is ignored
+   * @param tenantResolver    returns the tenant of the credentials, or {@code null} when unknown
+   * @param writes            the writes shared with the {@link MongoUserUtil} of the tenants
+   * @return the created instance of {@link MongoTenantAuthentication}
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  static MongoTenantAuthentication create(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options, TenantOptions tenantOptions,
+                                          Function<Credentials, String> tenantResolver, MongoUserWrites writes) {
+    return new MongoTenantAuthenticationImpl(vertx, mongoClient, mongoClientConfig, options, tenantOptions, tenantResolver, RecentWrites.of(writes));
+  }
+
+  /**
+   * @return the number of tenants whose provider is currently kept
+   */
+  int tenants();
+
+  /**
+   * Releases the providers of all tenants and the clients created for them.
+   *
+   * @return a future completed when the provider is closed
+   */
+  Future<Void> close();
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.mongo.impl.UserEncoding;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact binary codec of the users authenticated and authorized by the Mongo providers, to replicate them across a
+ * cluster, e.g. by a clustered session store.
+ * <p>
+ * The roles and permissions are written once each, in a table referenced by the authorizations, instead of as a JSON
+ * object per authorization. Combined with a lean principal, see
+ * {@link MongoAuthenticationOptions#setPrincipalFields(java.util.List)}, a user takes a fraction of its JSON form and
+ * is decoded without parsing the authorizations as JSON. The codec can be registered on the event bus:
+ *
+ * <pre>
+ * vertx.eventBus().registerDefaultCodec(User.class, new MongoUserCodec());
+ * </pre>
+ */
+public class MongoUserCodec implements MessageCodec<User, User> {
+
+  /**
+   * The name of the codec = "vertx-auth-mongo-user"
+   */
+  public static final String NAME = "vertx-auth-mongo-user";
+
+  /**
+   * Encodes a user.
+   *
+   * @param user the user
+   * @return the encoded user
+   * @throws IllegalArgumentException when the user holds an authorization that is not a role, a permission, a wildcard
+   *                                  permission or a combination of these
+   */
+  public static Buffer encode(User user) {
+    return UserEncoding.encode(user);
+  }
+
+  /**
+   * Decodes a user encoded by {@link #encode(User)}.
+   *
+   * @param buffer the encoded user
+   * @return the user
+   */
+  public static User decode(Buffer buffer) {
+    return UserEncoding.decode(buffer);
+  }
+
+  @Override
+  public void encodeToWire(Buffer buffer, User user) {
+    Buffer encoded = encode(user);
+    buffer.appendInt(encoded.length());
+    buffer.appendBuffer(encoded);
+  }
+
+  @Override
+  public User decodeFromWire(int pos, Buffer buffer) {
+    int length = buffer.getInt(pos);
+    pos += 4;
+    return decode(buffer.getBuffer(pos, pos + length));
+  }
+
+  @Override
+  public User transform(User user) {
+    // the receiver gets its own copy, like with the json codecs
+    User copy = User.create(user.principal().copy(), user.attributes().copy());
+    Map<String, Set<Authorization>> authorizations = new HashMap<>();
+    user.authorizations().forEach((providerId, authorization) ->
+      authorizations.computeIfAbsent(providerId, k -> new HashSet<>()).add(authorization));
+    copy.authorizations().putAll(authorizations);
+    return copy;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
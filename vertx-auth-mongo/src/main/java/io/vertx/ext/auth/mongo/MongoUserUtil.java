@@ -17,7 +17,9 @@ package io.vertx.ext.auth.mongo;
 
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.ext.auth.mongo.impl.MongoUserUtilImpl;
+import io.vertx.ext.auth.mongo.impl.RecentWrites;
 import io.vertx.ext.mongo.MongoClient;
 
 import java.util.List;
@@ -49,6 +51,34 @@ public interface MongoUserUtil {
     return new MongoUserUtilImpl(client, authenticationOptions, authorizationOptions);
   }
 
+  /**
+   * Create an instance of the user helper with custom queries. The queries and password hashes are scheduled in the
+   * bulk lane configured with {@link MongoAuthenticationOptions#setBulkLane(PriorityLaneOptions)}, hashes being computed
+   * on worker threads of {@code vertx}.
+   *
+   * @param vertx the vertx instance
+   * @param client the client with write rights to the database.
+   * @return the instance
+   */
+  static MongoUserUtil create(Vertx vertx, MongoClient client, MongoAuthenticationOptions authenticationOptions, MongoAuthorizationOptions authorizationOptions) {
+    return new MongoUserUtilImpl(vertx, client, authenticationOptions, authorizationOptions);
+  }
+
+  /**
+   * Like {@link #create(Vertx, MongoClient, MongoAuthenticationOptions, MongoAuthorizationOptions)}, recording the users
+   * written in {@code writes}, so the providers created with it evict them from their caches and read them from the
+   * primary.
+   *
+   * @param vertx the vertx instance
+   * @param client the client with write rights to the database.
+   * @param writes the writes shared with the providers
+   * @return the instance
+   */
+  static MongoUserUtil create(Vertx vertx, MongoClient client, MongoAuthenticationOptions authenticationOptions, MongoAuthorizationOptions authorizationOptions,
+                              MongoUserWrites writes) {
+    return new MongoUserUtilImpl(vertx, client, authenticationOptions, authorizationOptions, RecentWrites.of(writes));
+  }
+
   /**
    * Insert a user into a database.
    *
@@ -83,4 +113,123 @@ public interface MongoUserUtil {
    * @return a future provided with the result of the operation and the created user document identifier
    */
   Future<String> createUserRolesAndPermissions(String user, List<String> roles, List<String> permissions);
+
+  /**
+   * Replaces the password of a user, the new hash is computed on a worker thread when this helper has a Vert.x
+   * instance. The user is evicted from the caches of the providers sharing the {@link MongoUserWrites} of this helper.
+   *
+   * @param username the username
+   * @param password the new password in clear text
+   * @return a future completed when the password is replaced, failed when the user does not exist
+   */
+  Future<Void> updatePassword(String username, String password);
+
+  /**
+   * Disables a user, a disabled user cannot authenticate until it is enabled again, see
+   * {@link MongoAuthenticationOptions#setDisabledField(String)}. The user is evicted from the caches of the providers
+   * sharing the {@link MongoUserWrites} of this helper.
+   *
+   * @param username the username
+   * @return a future completed when the user is disabled, failed when the user does not exist
+   */
+  Future<Void> disableUser(String username);
+
+  /**
+   * Enables a user disabled with {@link #disableUser(String)}.
+   *
+   * @param username the username
+   * @return a future completed when the user is enabled, failed when the user does not exist
+   */
+  Future<Void> enableUser(String username);
+
+  /**
+   * Deletes a user and its roles and permissions. The user is evicted from the caches of the providers sharing the
+   * client of this helper.
+   *
+   * @param username the username
+   * @return a future completed when the user is deleted
+   */
+  Future<Void> deleteUser(String username);
+
+  /**
+   * Grants a role to a user with a single atomic update, creating the roles and permissions document of the user when
+   * it does not exist. The user is evicted from the caches of the providers sharing the {@link MongoUserWrites} of this
+   * helper.
+   *
+   * @param username the username
+   * @param role     the role to grant
+   * @return a future completed when the role is granted
+   */
+  Future<Void> grantRole(String username, String role);
+
+  /**
+   * Revokes a role of a user with a single atomic update. The user is evicted from the caches of the providers sharing
+   * the {@link MongoUserWrites} of this helper.
+   *
+   * @param username the username
+   * @param role     the role to revoke
+   * @return a future completed when the role is revoked
+   */
+  Future<Void> revokeRole(String username, String role);
+
+  /**
+   * Grants a permission to a user with a single atomic update, creating the roles and permissions document of the user
+   * when it does not exist. The user is evicted from the caches of the providers sharing the {@link MongoUserWrites} of
+   * this helper.
+   *
+   * @param username   the username
+   * @param permission the permission to grant
+   * @return a future completed when the permission is granted
+   */
+  Future<Void> grantPermission(String username, String permission);
+
+  /**
+   * Revokes a permission of a user with a single atomic update. The user is evicted from the caches of the providers
+   * sharing the {@link MongoUserWrites} of this helper.
+   *
+   * @param username   the username
+   * @param permission the permission to revoke
+   * @return a future completed when the permission is revoked
+   */
+  Future<Void> revokePermission(String username, String permission);
+
+  /**
+   * Grants a role to many users with a single update of their existing roles and permissions documents. The users are
+   * evicted from the caches of the providers sharing the {@link MongoUserWrites} of this helper.
+   *
+   * @param usernames the usernames
+   * @param role      the role to grant
+   * @return a future provided with the number of documents updated
+   */
+  Future<Long> grantRoleToUsers(List<String> usernames, String role);
+
+  /**
+   * Revokes a role of many users with a single update. The users are evicted from the caches of the providers sharing
+   * the {@link MongoUserWrites} of this helper.
+   *
+   * @param usernames the usernames
+   * @param role      the role to revoke
+   * @return a future provided with the number of documents updated
+   */
+  Future<Long> revokeRoleFromUsers(List<String> usernames, String role);
+
+  /**
+   * Creates the indexes serving the lookups of the providers configured like this helper: an index of the username
+   * field of the users and of their roles and permissions, and a unique sparse index of each alternate identifier, see
+   * {@link MongoAuthenticationOptions#addIdentifier(IdentifierOptions)}. When the usernames are matched case
+   * insensitively, the indexes have the same collation as the lookups, so these stay indexed point lookups, and are
+   * unique: the creation fails when two users differ only by case.
+   *
+   * @return a future completed when the indexes are created
+   */
+  Future<Void> createIndexes();
+
+  /**
+   * Releases the resources held by this helper, such as the worker threads computing password hashes.
+   *
+   * @return a future completed when the helper is closed
+   */
+  default Future<Void> close() {
+    return Future.succeededFuture();
+  }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.ext.auth.mongo.impl.RecentWrites;
+
+/**
+ * Tracks the users written through a {@link MongoUserUtil}, for the providers created with the same instance: they
+ * evict these users from their caches, and look them up with the primary client during their read-your-writes window
+ * instead of the client following their read preference or their mirror.
+ * <p>
+ * Providers and helpers created without an instance do not see the writes of each other.
+ * <p>
+ * An instance is an opaque handle obtained with {@link #create()}, the factories reject other implementations of this
+ * interface.
+ */
+@VertxGen
+public interface MongoUserWrites {
+
+  /**
+   * Creates a tracker to share between a {@link MongoUserUtil} and the providers reading the users it writes.
+   *
+   * @return the tracker
+   */
+  static MongoUserWrites create() {
+    return new RecentWrites();
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the budget of a priority lane.
+ * <p>
+ * Operations sharing a {@link io.vertx.ext.mongo.MongoClient} are classified in two lanes: the interactive lane used
+ * by the authentication and authorization providers, and the bulk lane used by {@link MongoUserUtil}. Each lane has
+ * its own budget of concurrent queries and password hash computations, and waiting interactive queries are always
+ * dispatched before bulk ones.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class PriorityLaneOptions {
+
+  /**
+   * The default query concurrency = 0 (unbounded)
+   */
+  public static final int DEFAULT_QUERY_CONCURRENCY = 0;
+
+  /**
+   * The default hash concurrency = 0 (hashes computed on the calling thread)
+   */
+  public static final int DEFAULT_HASH_CONCURRENCY = 0;
+
+  private int queryConcurrency;
+  private int hashConcurrency;
+
+  public PriorityLaneOptions() {
+    queryConcurrency = DEFAULT_QUERY_CONCURRENCY;
+    hashConcurrency = DEFAULT_HASH_CONCURRENCY;
+  }
+
+  public PriorityLaneOptions(JsonObject json) {
+    this();
+    PriorityLaneOptionsConverter.fromJson(json, this);
+  }
+
+  public int getQueryConcurrency() {
+    return queryConcurrency;
+  }
+
+  /**
+   * The maximum number of concurrent queries of the lane, {@code 0} means unbounded. When the components sharing a
+   * client configure different budgets for the same lane, the largest one applies.
+   *
+   * @param queryConcurrency the query concurrency
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PriorityLaneOptions setQueryConcurrency(int queryConcurrency) {
+    this.queryConcurrency = queryConcurrency;
+    return this;
+  }
+
+  public int getHashConcurrency() {
+    return hashConcurrency;
+  }
+
+  /**
+   * The number of worker threads computing the password hashes of the lane, {@code 0} means the hashes are computed
+   * on the calling thread.
+   *
+   * @param hashConcurrency the hash concurrency
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PriorityLaneOptions setHashConcurrency(int hashConcurrency) {
+    this.hashConcurrency = hashConcurrency;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    PriorityLaneOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
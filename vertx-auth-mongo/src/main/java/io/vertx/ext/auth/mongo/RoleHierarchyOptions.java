@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a collection of role definitions.
+ * <p>
+ * Each document of the collection defines a role by its name, the permissions it grants and the parent roles it
+ * inherits from. A user holding a role is granted the role, its ancestors and all their permissions. The transitive
+ * closure of the roles is computed in memory when the provider is created and updated through a change stream when
+ * roles change.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class RoleHierarchyOptions {
+
+  /**
+   * The default collection name = "roles"
+   */
+  public static final String DEFAULT_COLLECTION_NAME = "roles";
+
+  /**
+   * The default name field = "name"
+   */
+  public static final String DEFAULT_NAME_FIELD = "name";
+
+  /**
+   * The default permission field = "permissions"
+   */
+  public static final String DEFAULT_PERMISSION_FIELD = "permissions";
+
+  /**
+   * The default parent field = "parents"
+   */
+  public static final String DEFAULT_PARENT_FIELD = "parents";
+
+  private String collectionName;
+  private String nameField;
+  private String permissionField;
+  private String parentField;
+
+  public RoleHierarchyOptions() {
+    collectionName = DEFAULT_COLLECTION_NAME;
+    nameField = DEFAULT_NAME_FIELD;
+    permissionField = DEFAULT_PERMISSION_FIELD;
+    parentField = DEFAULT_PARENT_FIELD;
+  }
+
+  public RoleHierarchyOptions(JsonObject json) {
+    this();
+    RoleHierarchyOptionsConverter.fromJson(json, this);
+  }
+
+  public String getCollectionName() {
+    return collectionName;
+  }
+
+  /**
+   * The name of the collection defining the roles.
+   *
+   * @param collectionName the collection name
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RoleHierarchyOptions setCollectionName(String collectionName) {
+    this.collectionName = collectionName;
+    return this;
+  }
+
+  public String getNameField() {
+    return nameField;
+  }
+
+  /**
+   * The field holding the name of a role.
+   *
+   * @param nameField the name field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RoleHierarchyOptions setNameField(String nameField) {
+    this.nameField = nameField;
+    return this;
+  }
+
+  public String getPermissionField() {
+    return permissionField;
+  }
+
+  /**
+   * The field holding the array of permissions granted by a role.
+   *
+   * @param permissionField the permission field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RoleHierarchyOptions setPermissionField(String permissionField) {
+    this.permissionField = permissionField;
+    return this;
+  }
+
+  public String getParentField() {
+    return parentField;
+  }
+
+  /**
+   * The field holding the array of roles a role inherits from.
+   *
+   * @param parentField the parent field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RoleHierarchyOptions setParentField(String parentField) {
+    this.parentField = parentField;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    RoleHierarchyOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
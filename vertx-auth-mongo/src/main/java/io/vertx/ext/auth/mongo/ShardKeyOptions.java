@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options describing the shard key of a sharded collection of users and how its value is derived, so the lookups of
+ * the providers include it and are routed to a single shard instead of being broadcast to every shard.
+ * <p>
+ * The value is extracted from the username with a pattern, e.g. the tenant of {@code tim@acme} with
+ * {@code "@(.+)$"}, or read from a field of the principal of an authenticated user. A lookup whose value cannot be
+ * derived still succeeds, but is broadcast.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class ShardKeyOptions {
+
+  private String field;
+  private String pattern;
+  private String principalField;
+
+  public ShardKeyOptions() {
+  }
+
+  public ShardKeyOptions(String field) {
+    this.field = field;
+  }
+
+  public ShardKeyOptions(JsonObject json) {
+    this();
+    ShardKeyOptionsConverter.fromJson(json, this);
+  }
+
+  public String getField() {
+    return field;
+  }
+
+  /**
+   * The field of the documents the collection is sharded on, e.g. a hashed tenant or user id. Users created with
+   * {@link MongoUserUtil} get this field.
+   *
+   * @param field the shard key field
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ShardKeyOptions setField(String field) {
+    this.field = field;
+    return this;
+  }
+
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * The regular expression extracting the value of the shard key from the username: the first group when it has one,
+   * the whole match otherwise. The pattern is searched in the username, it does not need to match it entirely.
+   *
+   * @param pattern the pattern, {@code null} when the value is the username itself
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ShardKeyOptions setPattern(String pattern) {
+    this.pattern = pattern;
+    return this;
+  }
+
+  public String getPrincipalField() {
+    return principalField;
+  }
+
+  /**
+   * The field of the principal of an authenticated user holding the value of the shard key, read by the authorization
+   * lookups before deriving it from the username.
+   *
+   * @param principalField the principal field, {@code null} to derive the value from the username only
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ShardKeyOptions setPrincipalField(String principalField) {
+    this.principalField = principalField;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ShardKeyOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
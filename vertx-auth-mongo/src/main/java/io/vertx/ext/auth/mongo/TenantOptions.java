@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the routing of the users of a {@link MongoTenantAuthentication} to the collection of their
+ * tenant.
+ * <p>
+ * By default the tenant is the part of the username following the last separator, e.g. {@code acme} for
+ * {@code alice@acme}, and the user {@code alice} is looked up in the collection {@code user_acme}. The providers of the
+ * tenants are created when a tenant authenticates for the first time, and the least recently used tenants are evicted
+ * when there are too many of them or when they are idle.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class TenantOptions {
+
+  /**
+   * The placeholder replaced by the tenant in the collection and database names = "{tenant}"
+   */
+  public static final String TENANT_PLACEHOLDER = "{tenant}";
+
+  /**
+   * The default separator = "@"
+   */
+  public static final String DEFAULT_SEPARATOR = "@";
+
+  /**
+   * The default collection name = "user_{tenant}"
+   */
+  public static final String DEFAULT_COLLECTION_NAME = MongoAuthentication.DEFAULT_COLLECTION_NAME + "_" + TENANT_PLACEHOLDER;
+
+  /**
+   * The default max tenants = 1000
+   */
+  public static final int DEFAULT_MAX_TENANTS = 1000;
+
+  /**
+   * The default idle timeout = 0 ms, tenants are not evicted when idle
+   */
+  public static final long DEFAULT_IDLE_TIMEOUT = 0;
+
+  private String separator;
+  private String collectionName;
+  private String databaseName;
+  private int maxTenants;
+  private long idleTimeout;
+
+  public TenantOptions() {
+    separator = DEFAULT_SEPARATOR;
+    collectionName = DEFAULT_COLLECTION_NAME;
+    maxTenants = DEFAULT_MAX_TENANTS;
+    idleTimeout = DEFAULT_IDLE_TIMEOUT;
+  }
+
+  public TenantOptions(JsonObject json) {
+    this();
+    TenantOptionsConverter.fromJson(json, this);
+  }
+
+  public String getSeparator() {
+    return separator;
+  }
+
+  /**
+   * The separator between the user and the tenant in the username of the credentials. The tenant follows the last
+   * separator and is removed from the username looked up.
+   *
+   * @param separator the separator
+   * @return a reference to this, so the API can be used fluently
+   */
+  public TenantOptions setSeparator(String separator) {
+    this.separator = separator;
+    return this;
+  }
+
+  public String getCollectionName() {
+    return collectionName;
+  }
+
+  /**
+   * The name of the collection of the users of a tenant, {@link #TENANT_PLACEHOLDER} is replaced by the tenant.
+   *
+   * @param collectionName the collection name template
+   * @return a reference to this, so the API can be used fluently
+   */
+  public TenantOptions setCollectionName(String collectionName) {
+    this.collectionName = collectionName;
+    return this;
+  }
+
+  public String getDatabaseName() {
+    return databaseName;
+  }
+
+  /**
+   * The name of the database of a tenant, {@link #TENANT_PLACEHOLDER} is replaced by the tenant. A client is then
+   * created for each tenant from the configuration of the client given to the provider, and closed when the tenant is
+   * evicted.
+   *
+   * @param databaseName the database name template, {@code null} to use the database of the client
+   * @return a reference to this, so the API can be used fluently
+   */
+  public TenantOptions setDatabaseName(String databaseName) {
+    this.databaseName = databaseName;
+    return this;
+  }
+
+  public int getMaxTenants() {
+    return maxTenants;
+  }
+
+  /**
+   * The number of tenants whose provider is kept, the least recently used tenant is evicted first.
+   *
+   * @param maxTenants the max number of tenants
+   * @return a reference to this, so the API can be used fluently
+   */
+  public TenantOptions setMaxTenants(int maxTenants) {
+    this.maxTenants = maxTenants;
+    return this;
+  }
+
+  public long getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  /**
+   * The time in milliseconds after which the provider of a tenant that did not authenticate is evicted.
+   *
+   * @param idleTimeout the idle timeout in milliseconds, {@code 0} to only evict tenants when there are too many
+   * @return a reference to this, so the API can be used fluently
+   */
+  public TenantOptions setIdleTimeout(long idleTimeout) {
+    this.idleTimeout = idleTimeout;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    TenantOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
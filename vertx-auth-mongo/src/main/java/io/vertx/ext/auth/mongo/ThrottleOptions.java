@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the throttling of the failed logins of a provider.
+ * <p>
+ * The failed attempts are counted per username, and per source when the caller supplies one with
+ * {@link MongoAuthentication#authenticate(io.vertx.ext.auth.authentication.Credentials, String)}, over a sliding window.
+ * Once a username or a source exceeds its limit, its attempts are rejected before querying the database or hashing the
+ * password, until the window slides past its failures.
+ * <p>
+ * The counters are a fixed size table of hashed keys, so the memory does not grow with the number of usernames or
+ * sources: colliding keys share counters and may be throttled a bit early, a larger capacity makes it less likely.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class ThrottleOptions {
+
+  /**
+   * The default window = 60000 ms
+   */
+  public static final long DEFAULT_WINDOW = 60000;
+
+  /**
+   * The default max attempts per username = 10
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS_PER_USERNAME = 10;
+
+  /**
+   * The default max attempts per source = 100
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS_PER_SOURCE = 100;
+
+  /**
+   * The default capacity = 65536 counters
+   */
+  public static final int DEFAULT_CAPACITY = 65536;
+
+  private long window;
+  private int maxAttemptsPerUsername;
+  private int maxAttemptsPerSource;
+  private int capacity;
+
+  public ThrottleOptions() {
+    window = DEFAULT_WINDOW;
+    maxAttemptsPerUsername = DEFAULT_MAX_ATTEMPTS_PER_USERNAME;
+    maxAttemptsPerSource = DEFAULT_MAX_ATTEMPTS_PER_SOURCE;
+    capacity = DEFAULT_CAPACITY;
+  }
+
+  public ThrottleOptions(JsonObject json) {
+    this();
+    ThrottleOptionsConverter.fromJson(json, this);
+  }
+
+  public long getWindow() {
+    return window;
+  }
+
+  /**
+   * The duration in milliseconds of the sliding window the failed attempts are counted over.
+   *
+   * @param window the window in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ThrottleOptions setWindow(long window) {
+    this.window = window;
+    return this;
+  }
+
+  public int getMaxAttemptsPerUsername() {
+    return maxAttemptsPerUsername;
+  }
+
+  /**
+   * The number of failed attempts of a username within the window after which its attempts are rejected.
+   *
+   * @param maxAttemptsPerUsername the max attempts per username, {@code 0} to not throttle usernames
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ThrottleOptions setMaxAttemptsPerUsername(int maxAttemptsPerUsername) {
+    this.maxAttemptsPerUsername = maxAttemptsPerUsername;
+    return this;
+  }
+
+  public int getMaxAttemptsPerSource() {
+    return maxAttemptsPerSource;
+  }
+
+  /**
+   * The number of failed attempts of a source within the window after which its attempts are rejected.
+   *
+   * @param maxAttemptsPerSource the max attempts per source, {@code 0} to not throttle sources
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ThrottleOptions setMaxAttemptsPerSource(int maxAttemptsPerSource) {
+    this.maxAttemptsPerSource = maxAttemptsPerSource;
+    return this;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * The number of counters, rounded up to a power of two. Each counter takes 8 bytes.
+   *
+   * @param capacity the capacity
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ThrottleOptions setCapacity(int capacity) {
+    this.capacity = capacity;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ThrottleOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
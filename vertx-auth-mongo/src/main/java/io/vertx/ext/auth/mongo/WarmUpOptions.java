@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the warm-up of the lookup cache of a provider.
+ * <p>
+ * When the provider is created, the most recently active users are streamed from the collection and put in the cache,
+ * the provider is ready once they are loaded or the warm-up timed out. The users are selected by a query, sorted by
+ * descending last login. Documents are read in batches separated by a delay, so the warm-up does not load the database
+ * like a burst of lookups would.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class WarmUpOptions {
+
+  /**
+   * The default number of users = 1000
+   */
+  public static final int DEFAULT_SIZE = 1000;
+
+  /**
+   * The default last login field = "lastLogin"
+   */
+  public static final String DEFAULT_LAST_LOGIN_FIELD = "lastLogin";
+
+  /**
+   * The default timeout = 10000 ms
+   */
+  public static final long DEFAULT_TIMEOUT = 10000;
+
+  /**
+   * The default batch size = 100
+   */
+  public static final int DEFAULT_BATCH_SIZE = 100;
+
+  /**
+   * The default batch delay = 10 ms
+   */
+  public static final long DEFAULT_BATCH_DELAY = 10;
+
+  private int size;
+  private String lastLoginField;
+  private JsonObject query;
+  private long timeout;
+  private int batchSize;
+  private long batchDelay;
+
+  public WarmUpOptions() {
+    size = DEFAULT_SIZE;
+    lastLoginField = DEFAULT_LAST_LOGIN_FIELD;
+    timeout = DEFAULT_TIMEOUT;
+    batchSize = DEFAULT_BATCH_SIZE;
+    batchDelay = DEFAULT_BATCH_DELAY;
+  }
+
+  public WarmUpOptions(JsonObject json) {
+    this();
+    WarmUpOptionsConverter.fromJson(json, this);
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * The number of users loaded in the cache, it should not exceed the size of the cache.
+   *
+   * @param size the number of users
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WarmUpOptions setSize(int size) {
+    this.size = size;
+    return this;
+  }
+
+  public String getLastLoginField() {
+    return lastLoginField;
+  }
+
+  /**
+   * The field holding the last login of a user, users are loaded by descending last login. An index on this field
+   * avoids sorting the collection.
+   *
+   * @param lastLoginField the last login field, {@code null} to load users in natural order
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WarmUpOptions setLastLoginField(String lastLoginField) {
+    this.lastLoginField = lastLoginField;
+    return this;
+  }
+
+  public JsonObject getQuery() {
+    return query;
+  }
+
+  /**
+   * The query selecting the users to load.
+   *
+   * @param query the query, {@code null} to select every user
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WarmUpOptions setQuery(JsonObject query) {
+    this.query = query;
+    return this;
+  }
+
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * The time in milliseconds after which the warm-up stops, the provider is then ready with the users loaded so far.
+   *
+   * @param timeout the timeout in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WarmUpOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * The number of documents read between two delays.
+   *
+   * @param batchSize the batch size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WarmUpOptions setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  public long getBatchDelay() {
+    return batchDelay;
+  }
+
+  /**
+   * The delay in milliseconds between two batches, {@code 0} to read without pausing.
+   *
+   * @param batchDelay the batch delay in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WarmUpOptions setBatchDelay(long batchDelay) {
+    this.batchDelay = batchDelay;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    WarmUpOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
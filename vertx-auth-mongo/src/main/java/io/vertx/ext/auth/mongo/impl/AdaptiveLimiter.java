@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.mongo.ConcurrencyLimitOptions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * An additive increase, multiplicative decrease limit of concurrent queries, see {@link ConcurrencyLimitOptions}.
+ */
+class AdaptiveLimiter {
+
+  private final Vertx vertx;
+  private final int minLimit;
+  private final int maxLimit;
+  private final int maxQueueSize;
+  private final long maxQueueTime;
+  private final long latencyThreshold;
+  private final double backoffRatio;
+
+  private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+  private double limit;
+  private int inFlight;
+  private long rejected;
+
+  /**
+   * @param vertx the vertx instance failing the queued queries at their deadline, when {@code null} they are only
+   *              rejected once the queue moves
+   */
+  AdaptiveLimiter(Vertx vertx, ConcurrencyLimitOptions options) {
+    this.vertx = vertx;
+    this.minLimit = Math.max(1, options.getMinLimit());
+    this.maxLimit = Math.max(minLimit, options.getMaxLimit());
+    this.maxQueueSize = options.getMaxQueueSize();
+    this.maxQueueTime = TimeUnit.MILLISECONDS.toNanos(options.getMaxQueueTime());
+    this.latencyThreshold = TimeUnit.MILLISECONDS.toNanos(options.getLatencyThreshold());
+    this.backoffRatio = options.getBackoffRatio();
+    this.limit = Math.min(maxLimit, Math.max(minLimit, options.getInitialLimit()));
+  }
+
+  /**
+   * @param maxWait the deadline of the query in milliseconds, the time it waits for the limit is capped by it, {@code 0}
+   *                for none
+   */
+  <T> Future<T> execute(Supplier<Future<T>> query, long maxWait) {
+    Promise<T> promise = Promise.promise();
+    List<Waiter> expired;
+    boolean run = false;
+    synchronized (this) {
+      long now = System.nanoTime();
+      expired = expire(now);
+      if (inFlight < (int) limit) {
+        inFlight++;
+        run = true;
+      } else if (queue.size() < maxQueueSize) {
+        long wait = maxWait > 0L ? Math.min(TimeUnit.MILLISECONDS.toNanos(maxWait), maxQueueTime) : maxQueueTime;
+        Waiter waiter = new Waiter(() -> run(query, promise), promise, now + wait);
+        if (vertx != null) {
+          waiter.timerId = vertx.setTimer(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(wait)), id -> expire(waiter));
+        }
+        queue.add(waiter);
+      } else {
+        rejected++;
+        promise.fail("Too many concurrent MongoDB queries (limit " + (int) limit + ")");
+      }
+    }
+    reject(expired);
+    if (run) {
+      run(query, promise);
+    }
+    return promise.future();
+  }
+
+  synchronized JsonObject metrics() {
+    return new JsonObject()
+      .put("limit", (int) limit)
+      .put("inFlight", inFlight)
+      .put("queued", queue.size())
+      .put("rejected", rejected);
+  }
+
+  private <T> void run(Supplier<Future<T>> query, Promise<T> promise) {
+    long start = System.nanoTime();
+    Future<T> fut;
+    try {
+      fut = query.get();
+    } catch (RuntimeException e) {
+      fut = Future.failedFuture(e);
+    }
+    fut.onComplete(ar -> {
+      release(ar.succeeded() && System.nanoTime() - start <= latencyThreshold);
+      promise.handle(ar);
+    });
+  }
+
+  private void release(boolean healthy) {
+    Waiter next;
+    List<Waiter> expired;
+    synchronized (this) {
+      if (healthy) {
+        // only grow when the limit is actually used, otherwise it would drift up while idle
+        if (inFlight * 2 >= limit) {
+          limit = Math.min(maxLimit, limit + 1);
+        }
+      } else {
+        limit = Math.max(minLimit, limit * backoffRatio);
+      }
+      inFlight--;
+      expired = expire(System.nanoTime());
+      if (inFlight < (int) limit && (next = queue.poll()) != null) {
+        inFlight++;
+      } else {
+        next = null;
+      }
+    }
+    reject(expired);
+    if (next != null) {
+      if (next.timerId != -1L) {
+        vertx.cancelTimer(next.timerId);
+      }
+      next.task.run();
+    }
+  }
+
+  /**
+   * Fails a waiter whose deadline passed, unless it left the queue already.
+   */
+  private void expire(Waiter waiter) {
+    synchronized (this) {
+      if (!queue.remove(waiter)) {
+        return;
+      }
+      rejected++;
+    }
+    reject(Collections.singletonList(waiter));
+  }
+
+  /**
+   * Removes the waiters at the head of the queue whose deadline passed, the queue being ordered by deadline since the
+   * lookups of a provider share the same deadline.
+   *
+   * @return the waiters to reject, {@code null} when none
+   */
+  private List<Waiter> expire(long now) {
+    List<Waiter> expired = null;
+    Waiter head;
+    while ((head = queue.peek()) != null && now - head.deadline >= 0L) {
+      queue.poll();
+      if (expired == null) {
+        expired = new ArrayList<>();
+      }
+      expired.add(head);
+      rejected++;
+    }
+    return expired;
+  }
+
+  private void reject(List<Waiter> expired) {
+    if (expired != null) {
+      for (Waiter waiter : expired) {
+        if (waiter.timerId != -1L) {
+          vertx.cancelTimer(waiter.timerId);
+        }
+        waiter.promise.tryFail("Timed out waiting for the MongoDB concurrency limit (limit " + (int) limit + ")");
+      }
+    }
+  }
+
+  private static class Waiter {
+
+    final Runnable task;
+    final Promise<?> promise;
+    final long deadline;
+    long timerId = -1L;
+
+    Waiter(Runnable task, Promise<?> promise, long deadline) {
+      this.task = task;
+      this.promise = promise;
+      this.deadline = deadline;
+    }
+  }
+}
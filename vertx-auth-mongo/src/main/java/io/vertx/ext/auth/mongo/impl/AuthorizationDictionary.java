@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense ids to the roles and permissions granted by a provider, so the grants of a user can be stored as
+ * bitsets, see {@link BitsetAuthorization}. Ids are never released, the dictionary grows with the number of distinct
+ * roles and permissions, not with the number of users.
+ */
+class AuthorizationDictionary {
+
+  private final Names roles = new Names();
+  private final Names permissions = new Names();
+
+  /**
+   * @return the authorization granting the given roles and permissions
+   */
+  BitsetAuthorization authorization(Collection<String> roleNames, Collection<String> permissionNames) {
+    return new BitsetAuthorization(this, roles.bits(roleNames), permissions.bits(permissionNames));
+  }
+
+  /**
+   * @return the id of the role, or {@code -1} when no user was granted the role
+   */
+  int roleId(String role) {
+    return roles.id(role);
+  }
+
+  /**
+   * @return the id of the permission, or {@code -1} when no user was granted the permission
+   */
+  int permissionId(String permission) {
+    return permissions.id(permission);
+  }
+
+  String role(int id) {
+    return roles.name(id);
+  }
+
+  String permission(int id) {
+    return permissions.name(id);
+  }
+
+  private static class Names {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // guarded by this
+    private final List<String> names = new ArrayList<>();
+
+    int id(String name) {
+      Integer id = name != null ? ids.get(name) : null;
+      return id != null ? id : -1;
+    }
+
+    synchronized String name(int id) {
+      return names.get(id);
+    }
+
+    BitSet bits(Collection<String> grants) {
+      BitSet bits = new BitSet();
+      for (String name : grants) {
+        Integer id = ids.get(name);
+        if (id == null) {
+          id = assign(name);
+        }
+        bits.set(id);
+      }
+      return bits;
+    }
+
+    private synchronized int assign(String name) {
+      Integer id = ids.get(name);
+      if (id == null) {
+        id = names.size();
+        names.add(name);
+        ids.put(name, id);
+      }
+      return id;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.ext.auth.authorization.AndAuthorization;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.AuthorizationContext;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The roles and permissions granted to a user, stored as bitsets indexed by the ids of an
+ * {@link AuthorizationDictionary}. A role or permission without resource is verified with a single bit test instead
+ * of comparing it with each granted authorization.
+ * <p>
+ * It is the and of the granted roles and permissions, which {@link #getAuthorizations()} materializes on demand, so it
+ * can be serialized with the user and verifies any other authorization like a set of these roles and permissions does.
+ */
+class BitsetAuthorization implements AndAuthorization {
+
+  private final AuthorizationDictionary dictionary;
+  private final BitSet roles;
+  private final BitSet permissions;
+  private final List<Authorization> added = new ArrayList<>();
+  private List<Authorization> authorizations;
+
+  BitsetAuthorization(AuthorizationDictionary dictionary, BitSet roles, BitSet permissions) {
+    this.dictionary = dictionary;
+    this.roles = roles;
+    this.permissions = permissions;
+  }
+
+  @Override
+  public List<Authorization> getAuthorizations() {
+    List<Authorization> list = authorizations;
+    if (list == null) {
+      list = new ArrayList<>(roles.cardinality() + permissions.cardinality() + added.size());
+      for (int id = roles.nextSetBit(0); id >= 0; id = roles.nextSetBit(id + 1)) {
+        list.add(RoleBasedAuthorization.create(dictionary.role(id)));
+      }
+      for (int id = permissions.nextSetBit(0); id >= 0; id = permissions.nextSetBit(id + 1)) {
+        list.add(PermissionBasedAuthorization.create(dictionary.permission(id)));
+      }
+      list.addAll(added);
+      authorizations = list = Collections.unmodifiableList(list);
+    }
+    return list;
+  }
+
+  @Override
+  public AndAuthorization addAuthorization(Authorization authorization) {
+    Objects.requireNonNull(authorization);
+    // not shared through the dictionary, it is only granted to this user
+    added.add(authorization);
+    authorizations = null;
+    return this;
+  }
+
+  @Override
+  public boolean match(AuthorizationContext context) {
+    Objects.requireNonNull(context);
+    for (Authorization authorization : getAuthorizations()) {
+      if (!authorization.match(context)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean verify(Authorization authorization) {
+    Objects.requireNonNull(authorization);
+    if (authorization instanceof RoleBasedAuthorization) {
+      RoleBasedAuthorization role = (RoleBasedAuthorization) authorization;
+      if (role.getResource() == null && test(roles, dictionary.roleId(role.getRole()))) {
+        return true;
+      }
+    } else if (authorization instanceof PermissionBasedAuthorization) {
+      PermissionBasedAuthorization permission = (PermissionBasedAuthorization) authorization;
+      if (permission.getResource() == null && test(permissions, dictionary.permissionId(permission.getPermission()))) {
+        return true;
+      }
+    } else if (authorization instanceof WildcardPermissionBasedAuthorization) {
+      // a granted permission verifies a wildcard permission with the same string
+      WildcardPermissionBasedAuthorization permission = (WildcardPermissionBasedAuthorization) authorization;
+      if (permission.getResource() == null && test(permissions, dictionary.permissionId(permission.getPermission()))) {
+        return true;
+      }
+    } else if (authorization instanceof BitsetAuthorization && equals(authorization)) {
+      return true;
+    }
+    if (added.isEmpty()) {
+      // a role or permission scoped to a resource is not verified by the unscoped grants
+      return !plain(authorization) && verifyEach(authorization);
+    }
+    return verifyEach(authorization);
+  }
+
+  private boolean verifyEach(Authorization authorization) {
+    for (Authorization granted : getAuthorizations()) {
+      if (granted.verify(authorization)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean plain(Authorization authorization) {
+    return authorization instanceof RoleBasedAuthorization
+      || authorization instanceof PermissionBasedAuthorization
+      || authorization instanceof WildcardPermissionBasedAuthorization;
+  }
+
+  private static boolean test(BitSet bits, int id) {
+    return id >= 0 && bits.get(id);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof BitsetAuthorization)) {
+      return false;
+    }
+    BitsetAuthorization other = (BitsetAuthorization) obj;
+    return dictionary == other.dictionary && roles.equals(other.roles) && permissions.equals(other.permissions)
+      && added.equals(other.added);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(roles, permissions, added);
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.ext.auth.mongo.CacheOptions;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded cache of the results of the checks answered by the database, grouped by username and evicting the least
+ * recently used username.
+ * <p>
+ * Like {@link LookupCache}, a check started before the invalidation of its user, or before the cache is cleared, does
+ * not put its result in the cache.
+ */
+class CheckCache implements RecentWrites.Cache {
+
+  // bounds the checks of a user, e.g. of a permission per resource
+  private static final int MAX_CHECKS_PER_USER = 1024;
+  private static final int STRIPES = 64;
+
+  private final String collectionName;
+  private final int maxSize;
+  private final long timeToLive;
+  private final Locale locale;
+  private final Map<String, Map<String, Result>> users;
+  // the generation of the last invalidation of the usernames of each stripe
+  private final long[] invalidated = new long[STRIPES];
+  private long cleared;
+  private long generation;
+
+  /**
+   * Creates the cache of a provider, evicting the users written through a {@link MongoUserUtilImpl} sharing the tracker.
+   *
+   * @param locale the locale of the case insensitive usernames, {@code null} when they are case sensitive
+   * @return the cache, or {@code null} when the provider does not cache checks
+   */
+  static CheckCache create(RecentWrites recentWrites, String collectionName, CacheOptions options, String locale) {
+    if (options == null) {
+      return null;
+    }
+    CheckCache cache = new CheckCache(collectionName, options, locale);
+    recentWrites.invalidates(cache);
+    return cache;
+  }
+
+  CheckCache(String collectionName, CacheOptions options, String locale) {
+    this.collectionName = collectionName;
+    this.maxSize = Math.max(1, options.getMaxSize());
+    this.timeToLive = TimeUnit.MILLISECONDS.toNanos(options.getTimeToLive());
+    this.locale = locale != null ? Locale.forLanguageTag(locale) : null;
+    this.users = new LinkedHashMap<String, Map<String, Result>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Map<String, Result>> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @return the cached result of the check, or {@code null} when not cached
+   */
+  synchronized Boolean get(String username, String check) {
+    Map<String, Result> checks = users.get(key(username));
+    if (checks == null) {
+      return null;
+    }
+    Result result = checks.get(check);
+    if (result == null) {
+      return null;
+    }
+    if (System.nanoTime() - result.time > timeToLive) {
+      checks.remove(check);
+      return null;
+    }
+    return result.granted;
+  }
+
+  /**
+   * @return the current generation, to read before checking the database
+   */
+  synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * Caches the result of a check, unless the user was invalidated or the cache cleared since the given generation.
+   */
+  synchronized void put(String username, String check, boolean granted, long generation) {
+    String key = key(username);
+    if (cleared > generation || invalidated[stripe(key)] > generation) {
+      return;
+    }
+    Map<String, Result> checks = users.computeIfAbsent(key, k -> new HashMap<>());
+    if (checks.size() >= MAX_CHECKS_PER_USER) {
+      checks.clear();
+    }
+    checks.put(check, new Result(granted, System.nanoTime()));
+  }
+
+  @Override
+  public void invalidate(String collection, String username) {
+    if (collectionName.equals(collection)) {
+      String key = key(username);
+      synchronized (this) {
+        users.remove(key);
+        invalidated[stripe(key)] = ++generation;
+      }
+    }
+  }
+
+  /**
+   * Forgets every result, e.g. when the definitions of the roles the checks were expanded with change.
+   */
+  synchronized void clear() {
+    users.clear();
+    cleared = ++generation;
+  }
+
+  private String key(String username) {
+    return locale != null ? username.toLowerCase(locale) : username;
+  }
+
+  private static int stripe(String key) {
+    return key.hashCode() & (STRIPES - 1);
+  }
+
+  private static final class Result {
+    final boolean granted;
+    final long time;
+
+    Result(boolean granted, long time) {
+      this.granted = granted;
+      this.time = time;
+    }
+  }
+}
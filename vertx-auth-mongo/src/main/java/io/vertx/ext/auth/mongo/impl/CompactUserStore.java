@@ -0,0 +1,654 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link UserStore} keeping only the fields needed by a provider, encoded in direct memory.
+ * <p>
+ * Each document is encoded as a record appended to chunks of direct memory: the id, the username, the password hash and
+ * the role and permission arrays, whose strings are replaced by ids of a shared dictionary. Records are found with
+ * open addressing indexes of primitive arrays keyed by the hashes of usernames and ids, and decoded to a
+ * {@link JsonObject} only when looked up. Replaced and removed records are reclaimed by compacting the chunks once
+ * they hold more garbage than live records.
+ */
+class CompactUserStore implements UserStore {
+
+  private static final int CHUNK_SIZE = 1 << 20;
+  private static final int SEGMENT_SIZE = 1 << 28;
+  private static final int ABSENT = -1;
+  private static final int SNAPSHOT_MAGIC = 0x56414d53;
+  private static final int SNAPSHOT_VERSION = 1;
+
+  private final String usernameField;
+  private final String passwordField;
+  private final String roleField;
+  private final String permissionField;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<String, Integer> dictionary = new HashMap<>();
+  private String[] strings = new String[64];
+
+  private List<ByteBuffer> chunks = new ArrayList<>();
+  private Index byUsername = new Index();
+  private Index byId = new Index();
+  private long live;
+  private long garbage;
+  private int count;
+
+  /**
+   * @param usernameField   the field of the username
+   * @param passwordField   the field of the password hash, {@code null} when not retained
+   * @param roleField       the field of the roles, {@code null} when not retained
+   * @param permissionField the field of the permissions, {@code null} when not retained
+   */
+  CompactUserStore(String usernameField, String passwordField, String roleField, String permissionField) {
+    this.usernameField = usernameField;
+    this.passwordField = passwordField;
+    this.roleField = roleField;
+    this.permissionField = permissionField;
+  }
+
+  @Override
+  public void put(String id, String username, JsonObject document) {
+    byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+    byte[] usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+    String hash = passwordField != null ? document.getString(passwordField) : null;
+    byte[] hashBytes = hash != null ? hash.getBytes(StandardCharsets.UTF_8) : null;
+    lock.writeLock().lock();
+    try {
+      int[] roles = roleField != null ? encode(document.getJsonArray(roleField)) : null;
+      int[] permissions = permissionField != null ? encode(document.getJsonArray(permissionField)) : null;
+      int size = 4 + (4 + idBytes.length) + (4 + usernameBytes.length) + (4 + (hashBytes != null ? hashBytes.length : 0))
+        + (4 + (roles != null ? roles.length * 4 : 0)) + (4 + (permissions != null ? permissions.length * 4 : 0));
+      remove(idBytes);
+      compactIfNeeded();
+      long address = allocate(size);
+      ByteBuffer chunk = chunks.get(chunk(address));
+      int pos = offset(address);
+      chunk.putInt(pos, size);
+      pos = putBytes(chunk, pos + 4, idBytes);
+      pos = putBytes(chunk, pos, usernameBytes);
+      pos = putBytes(chunk, pos, hashBytes);
+      pos = putInts(chunk, pos, roles);
+      putInts(chunk, pos, permissions);
+      byId.add(hash(idBytes), address);
+      byUsername.add(hash(usernameBytes), address);
+      live += size;
+      count++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void remove(String id) {
+    lock.writeLock().lock();
+    try {
+      remove(id.getBytes(StandardCharsets.UTF_8));
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<JsonObject> find(String username) {
+    if (username == null) {
+      return Collections.emptyList();
+    }
+    byte[] usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+    lock.readLock().lock();
+    try {
+      List<JsonObject> list = null;
+      Index index = byUsername;
+      long hash = hash(usernameBytes);
+      for (int slot = index.first(hash); slot != -1; slot = index.next(slot, hash)) {
+        long address = index.addresses[slot];
+        ByteBuffer chunk = chunks.get(chunk(address));
+        int pos = skipBytes(chunk, offset(address) + 4);
+        if (equalBytes(chunk, pos, usernameBytes)) {
+          if (list == null) {
+            list = new ArrayList<>(1);
+          }
+          list.add(decode(chunk, pos, username));
+        }
+      }
+      return list != null ? list : Collections.emptyList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return count;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    lock.writeLock().lock();
+    try {
+      // direct buffers are released once unreachable
+      chunks = new ArrayList<>();
+      byUsername = new Index();
+      byId = new Index();
+      dictionary.clear();
+      strings = new String[64];
+      live = garbage = count = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Writes the live records to a snapshot file, replaced atomically. The records are immutable once appended, so the
+   * lock is only held to capture them and the store keeps being updated while the file is written.
+   * <p>
+   * The file holds a header with the resume token, the dictionary and the length of each segment of records, followed
+   * by the segments.
+   *
+   * @param path        the snapshot file
+   * @param resumeToken the resume token of the change stream, {@code null} when unknown
+   */
+  void save(Path path, String resumeToken) throws IOException {
+    List<ByteBuffer> chunks;
+    long[] addresses;
+    String[] strings;
+    int stringCount;
+    lock.readLock().lock();
+    try {
+      chunks = new ArrayList<>(this.chunks);
+      addresses = byId.live();
+      strings = this.strings;
+      stringCount = dictionary.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+    List<Integer> segments = new ArrayList<>();
+    int segment = 0;
+    for (long address : addresses) {
+      int size = chunks.get(chunk(address)).getInt(offset(address));
+      if (segment > 0 && segment + size > SEGMENT_SIZE) {
+        segments.add(segment);
+        segment = 0;
+      }
+      segment += size;
+    }
+    if (segment > 0) {
+      segments.add(segment);
+    }
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(header)) {
+      out.writeInt(SNAPSHOT_MAGIC);
+      out.writeInt(SNAPSHOT_VERSION);
+      writeString(out, resumeToken);
+      out.writeInt(stringCount);
+      for (int i = 0; i < stringCount; i++) {
+        writeString(out, strings[i]);
+      }
+      out.writeInt(segments.size());
+      for (int length : segments) {
+        out.writeInt(length);
+      }
+    }
+    Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+      buffer.putInt(header.size());
+      write(channel, buffer, ByteBuffer.wrap(header.toByteArray()));
+      for (long address : addresses) {
+        ByteBuffer record = chunks.get(chunk(address)).duplicate();
+        int pos = offset(address);
+        record.limit(pos + record.getInt(pos)).position(pos);
+        write(channel, buffer, record);
+      }
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    }
+    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Loads a snapshot written by {@link #save} in this empty store. The segments of records are mapped read-only and
+   * used in place, only the indexes are rebuilt.
+   *
+   * @return the resume token of the snapshot, {@code null} when unknown
+   */
+  String load(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer length = ByteBuffer.allocate(4);
+      read(channel, length, 0L);
+      int headerLength = length.getInt(0);
+      ByteBuffer headerBuffer = ByteBuffer.allocate(headerLength);
+      read(channel, headerBuffer, 4L);
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(headerBuffer.array()));
+      if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+        throw new IOException("Not a mirror snapshot: " + path);
+      }
+      String resumeToken = readString(in);
+      lock.writeLock().lock();
+      try {
+        int stringCount = in.readInt();
+        strings = new String[Math.max(64, Integer.highestOneBit(Math.max(1, stringCount)) * 2)];
+        for (int i = 0; i < stringCount; i++) {
+          strings[i] = readString(in);
+          dictionary.put(strings[i], i);
+        }
+        long position = 4L + headerLength;
+        int segmentCount = in.readInt();
+        for (int i = 0; i < segmentCount; i++) {
+          int segmentLength = in.readInt();
+          ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, segmentLength);
+          position += segmentLength;
+          chunks.add(chunk);
+          long base = (long) (chunks.size() - 1) << 32;
+          for (int pos = 0; pos < segmentLength; ) {
+            int size = chunk.getInt(pos);
+            byId.add(hash(chunk, pos + 4), base | pos);
+            byUsername.add(hash(chunk, skipBytes(chunk, pos + 4)), base | pos);
+            live += size;
+            count++;
+            pos += size;
+          }
+          // mapped segments are read-only, new records go to direct chunks
+          chunk.position(chunk.limit());
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+      return resumeToken;
+    }
+  }
+
+  private static void read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException();
+      }
+    }
+  }
+
+  private static void write(FileChannel channel, ByteBuffer buffer, ByteBuffer data) throws IOException {
+    while (data.hasRemaining()) {
+      if (!buffer.hasRemaining()) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        buffer.clear();
+      }
+      int n = Math.min(buffer.remaining(), data.remaining());
+      ByteBuffer slice = data.duplicate();
+      slice.limit(slice.position() + n);
+      buffer.put(slice);
+      data.position(data.position() + n);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(ABSENT);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == ABSENT) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private JsonObject decode(ByteBuffer chunk, int usernamePos, String username) {
+    JsonObject json = new JsonObject().put(usernameField, username);
+    int pos = skipBytes(chunk, usernamePos);
+    int length = chunk.getInt(pos);
+    if (passwordField != null && length != ABSENT) {
+      json.put(passwordField, getString(chunk, pos + 4, length));
+    }
+    pos += 4 + Math.max(0, length);
+    pos = decodeStrings(chunk, pos, roleField, json);
+    decodeStrings(chunk, pos, permissionField, json);
+    return json;
+  }
+
+  private int decodeStrings(ByteBuffer chunk, int pos, String field, JsonObject json) {
+    int length = chunk.getInt(pos);
+    pos += 4;
+    if (length == ABSENT) {
+      return pos;
+    }
+    String[] strings = this.strings;
+    JsonArray array = new JsonArray(new ArrayList<>(length));
+    for (int i = 0; i < length; i++, pos += 4) {
+      array.add(strings[chunk.getInt(pos)]);
+    }
+    if (field != null) {
+      json.put(field, array);
+    }
+    return pos;
+  }
+
+  private int[] encode(JsonArray array) {
+    if (array == null) {
+      return null;
+    }
+    int[] ids = new int[array.size()];
+    for (int i = 0; i < ids.length; i++) {
+      String value = String.valueOf(array.getValue(i));
+      Integer id = dictionary.get(value);
+      if (id == null) {
+        id = dictionary.size();
+        if (id == strings.length) {
+          strings = Arrays.copyOf(strings, strings.length * 2);
+        }
+        strings[id] = value;
+        dictionary.put(value, id);
+      }
+      ids[i] = id;
+    }
+    return ids;
+  }
+
+  private void remove(byte[] idBytes) {
+    long hash = hash(idBytes);
+    for (int slot = byId.first(hash); slot != -1; slot = byId.next(slot, hash)) {
+      long address = byId.addresses[slot];
+      ByteBuffer chunk = chunks.get(chunk(address));
+      int pos = offset(address);
+      if (equalBytes(chunk, pos + 4, idBytes)) {
+        int size = chunk.getInt(pos);
+        int usernamePos = skipBytes(chunk, pos + 4);
+        byId.remove(slot);
+        byUsername.remove(byUsername.slot(hash(chunk, usernamePos), address));
+        live -= size;
+        garbage += size;
+        count--;
+        return;
+      }
+    }
+  }
+
+  private long allocate(int size) {
+    ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+    if (chunk == null || chunk.remaining() < size) {
+      chunk = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, size));
+      chunks.add(chunk);
+    }
+    int offset = chunk.position();
+    chunk.position(offset + size);
+    return ((long) (chunks.size() - 1) << 32) | offset;
+  }
+
+  private void compactIfNeeded() {
+    if (garbage > live && garbage > CHUNK_SIZE) {
+      compact();
+    }
+  }
+
+  /**
+   * Copies the live records to new chunks and rebuilds the indexes.
+   */
+  private void compact() {
+    List<ByteBuffer> previous = chunks;
+    long[] addresses = byId.live();
+    chunks = new ArrayList<>();
+    byUsername = new Index();
+    byId = new Index();
+    for (long address : addresses) {
+      ByteBuffer chunk = previous.get(chunk(address));
+      int pos = offset(address);
+      int size = chunk.getInt(pos);
+      long copy = allocate(size);
+      ByteBuffer target = chunks.get(chunk(copy));
+      for (int i = 0; i < size; i++) {
+        target.put(offset(copy) + i, chunk.get(pos + i));
+      }
+      byId.add(hash(chunk, pos + 4), copy);
+      byUsername.add(hash(chunk, skipBytes(chunk, pos + 4)), copy);
+    }
+    garbage = 0;
+  }
+
+  private static int chunk(long address) {
+    return (int) (address >>> 32);
+  }
+
+  private static int offset(long address) {
+    return (int) address;
+  }
+
+  private static int putBytes(ByteBuffer chunk, int pos, byte[] bytes) {
+    if (bytes == null) {
+      chunk.putInt(pos, ABSENT);
+      return pos + 4;
+    }
+    chunk.putInt(pos, bytes.length);
+    pos += 4;
+    for (byte b : bytes) {
+      chunk.put(pos++, b);
+    }
+    return pos;
+  }
+
+  private static int putInts(ByteBuffer chunk, int pos, int[] ints) {
+    if (ints == null) {
+      chunk.putInt(pos, ABSENT);
+      return pos + 4;
+    }
+    chunk.putInt(pos, ints.length);
+    pos += 4;
+    for (int i : ints) {
+      chunk.putInt(pos, i);
+      pos += 4;
+    }
+    return pos;
+  }
+
+  private static int skipBytes(ByteBuffer chunk, int pos) {
+    return pos + 4 + Math.max(0, chunk.getInt(pos));
+  }
+
+  private static boolean equalBytes(ByteBuffer chunk, int pos, byte[] bytes) {
+    if (chunk.getInt(pos) != bytes.length) {
+      return false;
+    }
+    pos += 4;
+    for (int i = 0; i < bytes.length; i++) {
+      if (chunk.get(pos + i) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String getString(ByteBuffer chunk, int pos, int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = chunk.get(pos + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static long hash(byte[] bytes) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : bytes) {
+      hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static long hash(ByteBuffer chunk, int pos) {
+    int length = chunk.getInt(pos);
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < length; i++) {
+      hash = (hash ^ (chunk.get(pos + 4 + i) & 0xff)) * 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * An open addressing multimap of 64 bit hashes to record addresses, with linear probing.
+   */
+  private static final class Index {
+
+    private static final long EMPTY = -1L;
+    private static final long DELETED = -2L;
+
+    private long[] hashes = new long[16];
+    private long[] addresses = filled(16);
+    private int used;
+
+    void add(long hash, long address) {
+      if ((used + 1) * 4 > addresses.length * 3) {
+        resize();
+      }
+      int mask = addresses.length - 1;
+      int slot = (int) mix(hash) & mask;
+      while (addresses[slot] >= 0) {
+        slot = (slot + 1) & mask;
+      }
+      if (addresses[slot] == EMPTY) {
+        used++;
+      }
+      hashes[slot] = hash;
+      addresses[slot] = address;
+    }
+
+    /**
+     * @return the first slot holding the given hash, or {@code -1}
+     */
+    int first(long hash) {
+      return scan((int) mix(hash) & (addresses.length - 1), hash);
+    }
+
+    /**
+     * @return the next slot holding the given hash, or {@code -1}
+     */
+    int next(int slot, long hash) {
+      return scan((slot + 1) & (addresses.length - 1), hash);
+    }
+
+    int slot(long hash, long address) {
+      for (int slot = first(hash); slot != -1; slot = next(slot, hash)) {
+        if (addresses[slot] == address) {
+          return slot;
+        }
+      }
+      return -1;
+    }
+
+    void remove(int slot) {
+      if (slot != -1) {
+        addresses[slot] = DELETED;
+      }
+    }
+
+    long[] live() {
+      long[] live = new long[addresses.length];
+      int size = 0;
+      for (long address : addresses) {
+        if (address >= 0) {
+          live[size++] = address;
+        }
+      }
+      return Arrays.copyOf(live, size);
+    }
+
+    private int scan(int slot, long hash) {
+      int mask = addresses.length - 1;
+      while (addresses[slot] != EMPTY) {
+        if (addresses[slot] >= 0 && hashes[slot] == hash) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    private void resize() {
+      long[] previousHashes = hashes;
+      long[] previousAddresses = addresses;
+      int live = 0;
+      for (long address : previousAddresses) {
+        if (address >= 0) {
+          live++;
+        }
+      }
+      // grow only when the table is filled with live entries rather than deleted ones
+      int capacity = live * 2 > previousAddresses.length ? previousAddresses.length * 2 : previousAddresses.length;
+      hashes = new long[capacity];
+      addresses = filled(capacity);
+      used = 0;
+      for (int i = 0; i < previousAddresses.length; i++) {
+        if (previousAddresses[i] >= 0) {
+          add(previousHashes[i], previousAddresses[i]);
+        }
+      }
+    }
+
+    private static long[] filled(int capacity) {
+      long[] array = new long[capacity];
+      Arrays.fill(array, EMPTY);
+      return array;
+    }
+
+    private static long mix(long hash) {
+      hash ^= hash >>> 33;
+      hash *= 0xff51afd7ed558ccdL;
+      return hash ^ (hash >>> 33);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link UserStore} keeping the documents on the heap.
+ */
+class HeapUserStore implements UserStore {
+
+  // only accessed by the writer
+  private final Map<String, String> usernames = new HashMap<>();
+  // documents of a user by id, replaced on each write so readers never see a partial update
+  private final Map<String, Map<String, JsonObject>> users = new ConcurrentHashMap<>();
+
+  @Override
+  public void put(String id, String username, JsonObject document) {
+    String previous = usernames.put(id, username);
+    if (previous != null && !previous.equals(username)) {
+      remove(previous, id);
+    }
+    users.compute(username, (key, documents) -> {
+      Map<String, JsonObject> copy = documents == null ? new LinkedHashMap<>() : new LinkedHashMap<>(documents);
+      copy.put(id, document);
+      return copy;
+    });
+  }
+
+  @Override
+  public void remove(String id) {
+    String username = usernames.remove(id);
+    if (username != null) {
+      remove(username, id);
+    }
+  }
+
+  private void remove(String username, String id) {
+    users.computeIfPresent(username, (key, documents) -> {
+      if (documents.size() == 1 && documents.containsKey(id)) {
+        return null;
+      }
+      Map<String, JsonObject> copy = new LinkedHashMap<>(documents);
+      copy.remove(id);
+      return copy;
+    });
+  }
+
+  @Override
+  public List<JsonObject> find(String username) {
+    Map<String, JsonObject> documents = username != null ? users.get(username) : null;
+    if (documents == null) {
+      return Collections.emptyList();
+    }
+    List<JsonObject> list = new ArrayList<>(documents.size());
+    for (JsonObject document : documents.values()) {
+      list.add(document.copy());
+    }
+    return list;
+  }
+
+  @Override
+  public int size() {
+    return usernames.size();
+  }
+
+  @Override
+  public void close() {
+    usernames.clear();
+    users.clear();
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.mongo.IdentifierOptions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Classifies the inputs of the logins to the fields of the user documents they can identify, see
+ * {@link IdentifierOptions}, and remembers the usernames of the identifiers found.
+ */
+class Identifiers {
+
+  private final String usernameField;
+  private final String[] fields;
+  private final Pattern[] patterns;
+  private final int maxSize;
+  private final Locale locale;
+  private final Map<String, String> usernames;
+
+  /**
+   * @param locale the locale of the identifiers matched case insensitively, {@code null} when they are case sensitive
+   */
+  Identifiers(String usernameField, List<IdentifierOptions> identifiers, int maxSize, String locale) {
+    this.usernameField = usernameField;
+    this.fields = new String[identifiers.size()];
+    this.patterns = new Pattern[identifiers.size()];
+    for (int i = 0; i < fields.length; i++) {
+      IdentifierOptions identifier = identifiers.get(i);
+      fields[i] = identifier.getField();
+      patterns[i] = identifier.getPattern() != null ? Pattern.compile(identifier.getPattern()) : null;
+    }
+    this.maxSize = maxSize;
+    this.locale = locale != null ? Locale.forLanguageTag(locale) : null;
+    this.usernames = maxSize > 0 ? new LinkedHashMap<String, String>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+        return size() > Identifiers.this.maxSize;
+      }
+    } : null;
+  }
+
+  /**
+   * @return the fields the input can identify a user by, the username field when it matches no identifier
+   */
+  List<String> fields(String input) {
+    List<String> matching = new ArrayList<>(1);
+    boolean wildcard = false;
+    for (int i = 0; i < fields.length; i++) {
+      if (patterns[i] == null) {
+        wildcard = true;
+        matching.add(fields[i]);
+      } else if (patterns[i].matcher(input).matches()) {
+        matching.add(fields[i]);
+      }
+    }
+    if (wildcard || matching.size() == 0) {
+      // the input may be a username too
+      matching.add(0, usernameField);
+    }
+    return matching;
+  }
+
+  /**
+   * @return the criteria matching the user identified by the input, an equality on a single field when the input is not
+   * ambiguous
+   */
+  JsonObject criteria(List<String> fields, String input) {
+    if (fields.size() == 1) {
+      return new JsonObject().put(fields.get(0), input);
+    }
+    // each clause is planned on the index of its field
+    JsonArray clauses = new JsonArray();
+    for (String field : fields) {
+      clauses.add(new JsonObject().put(field, input));
+    }
+    return new JsonObject().put("$or", clauses);
+  }
+
+  /**
+   * @return whether one of the documents is identified by the input, i.e. a remembered username is still valid
+   */
+  boolean identifies(List<JsonObject> documents, String input) {
+    for (JsonObject document : documents) {
+      for (String field : fields) {
+        Object value = document.getValue(field);
+        if (input.equals(value) || locale != null && value instanceof String && key(input).equals(key((String) value))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the remembered username of the identifier, {@code null} when unknown
+   */
+  String username(String input) {
+    if (usernames == null) {
+      return null;
+    }
+    synchronized (this) {
+      return usernames.get(key(input));
+    }
+  }
+
+  void remember(String input, String username) {
+    if (usernames != null && username != null && !input.equals(username)) {
+      synchronized (this) {
+        usernames.put(key(input), username);
+      }
+    }
+  }
+
+  void forget(String input) {
+    if (usernames != null) {
+      synchronized (this) {
+        usernames.remove(key(input));
+      }
+    }
+  }
+
+  private String key(String input) {
+    return locale != null ? input.toLowerCase(locale) : input;
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.ext.auth.mongo.ThrottleOptions;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window counters of the failed logins per username and per source, see {@link ThrottleOptions}.
+ * <p>
+ * Each counter is a single long updated with compare-and-set: the index of the window it counts (32 bits), the count of
+ * that window and the count of the previous window (16 bits each). The count over the sliding window is the count of
+ * the current window plus the count of the previous window weighted by the part of it still in the sliding window.
+ * <p>
+ * A key is counted by two counters chosen by seeded hashes, and its count is the smallest of them, so a key is only
+ * over-counted when both of its counters collide with other keys. The seed is random, usernames cannot be chosen to
+ * collide with the counters of a victim.
+ */
+class LoginThrottle {
+
+  private static final long MAX_COUNT = 0xFFFF;
+
+  private final AtomicLongArray counters;
+  private final int mask;
+  private final long window;
+  private final int maxPerUsername;
+  private final int maxPerSource;
+  private final Locale locale;
+  private final long seed = new SecureRandom().nextLong();
+  private final long start = System.nanoTime();
+
+  /**
+   * @param locale the locale of the case insensitive usernames, {@code null} when they are case sensitive
+   */
+  LoginThrottle(ThrottleOptions options, String locale) {
+    int capacity = Math.max(16, options.getCapacity());
+    capacity = Integer.highestOneBit(capacity - 1) << 1;
+    this.counters = new AtomicLongArray(capacity);
+    this.mask = capacity - 1;
+    this.window = Math.max(1L, TimeUnit.MILLISECONDS.toNanos(options.getWindow()));
+    this.maxPerUsername = options.getMaxAttemptsPerUsername();
+    this.maxPerSource = options.getMaxAttemptsPerSource();
+    this.locale = locale != null ? Locale.forLanguageTag(locale) : null;
+  }
+
+  /**
+   * @param source the source of the attempt, {@code null} when unknown
+   * @return whether the attempt is within the limits
+   */
+  boolean allowed(String username, String source) {
+    long now = System.nanoTime() - start;
+    if (maxPerUsername > 0 && count('u', key(username), now) >= maxPerUsername) {
+      return false;
+    }
+    return source == null || maxPerSource <= 0 || count('s', source, now) < maxPerSource;
+  }
+
+  /**
+   * Counts a failed attempt.
+   */
+  void failed(String username, String source) {
+    long now = System.nanoTime() - start;
+    if (maxPerUsername > 0) {
+      increment('u', key(username), now);
+    }
+    if (source != null && maxPerSource > 0) {
+      increment('s', source, now);
+    }
+  }
+
+  /**
+   * @return the key of the username, the case insensitive usernames share the counters of their lowercase
+   */
+  private String key(String username) {
+    return locale != null ? username.toLowerCase(locale) : username;
+  }
+
+  private double count(char type, String key, long now) {
+    long hash = hash(type, key);
+    return Math.min(count((int) hash & mask, now), count((int) (hash >>> 32) & mask, now));
+  }
+
+  private double count(int index, long now) {
+    long epoch = now / window;
+    long value = counters.get(index);
+    long current;
+    long previous;
+    long slot = value >>> 32;
+    if (slot == (epoch & 0xFFFFFFFFL)) {
+      current = (value >>> 16) & MAX_COUNT;
+      previous = value & MAX_COUNT;
+    } else if (slot == ((epoch - 1) & 0xFFFFFFFFL)) {
+      current = 0;
+      previous = (value >>> 16) & MAX_COUNT;
+    } else {
+      return 0;
+    }
+    double elapsed = (double) (now - epoch * window) / window;
+    return current + previous * (1.0 - elapsed);
+  }
+
+  private void increment(char type, String key, long now) {
+    long hash = hash(type, key);
+    int first = (int) hash & mask;
+    int second = (int) (hash >>> 32) & mask;
+    increment(first, now);
+    if (second != first) {
+      increment(second, now);
+    }
+  }
+
+  private void increment(int index, long now) {
+    long epoch = (now / window) & 0xFFFFFFFFL;
+    while (true) {
+      long value = counters.get(index);
+      long slot = value >>> 32;
+      long current;
+      long previous;
+      if (slot == epoch) {
+        current = (value >>> 16) & MAX_COUNT;
+        previous = value & MAX_COUNT;
+      } else if (slot == ((epoch - 1) & 0xFFFFFFFFL)) {
+        // the window moved on, the current count becomes the previous one
+        current = 0;
+        previous = (value >>> 16) & MAX_COUNT;
+      } else {
+        current = 0;
+        previous = 0;
+      }
+      current = Math.min(MAX_COUNT, current + 1);
+      long update = (epoch << 32) | (current << 16) | previous;
+      if (counters.compareAndSet(index, value, update)) {
+        return;
+      }
+    }
+  }
+
+  private long hash(char type, String key) {
+    long hash = seed ^ type;
+    for (int i = 0; i < key.length(); i++) {
+      hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+    }
+    // murmur3 finalizer, spreads the bits of both halves
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb3f64f6d7a5bL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.mongo.LoginTrackingOptions;
+import io.vertx.ext.mongo.BulkOperation;
+import io.vertx.ext.mongo.BulkWriteOptions;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates the logins of the users of a provider in memory and writes them periodically as a single unordered bulk
+ * write, see {@link LoginTrackingOptions}.
+ * <p>
+ * Only the logins of existing users are tracked, so the memory is bounded by the users logging in during a flush
+ * interval and by the users locked out.
+ * <p>
+ * The lockout is decided from the counters in memory, the failed attempts written to the documents are not read back:
+ * each instance of the provider locks users out on its own.
+ */
+class LoginTracker {
+
+  private static final Logger log = LoggerFactory.getLogger(LoginTracker.class);
+
+  private final MongoClient client;
+  private final String collectionName;
+  private final String usernameField;
+  private final String passwordField;
+  private final ShardKey shardKey;
+  private final LoginTrackingOptions options;
+  private final Vertx vertx;
+  private final long timerId;
+  private final long lockoutDuration;
+  // guarded by this
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  LoginTracker(Vertx vertx, MongoClient client, String collectionName, String usernameField, String passwordField,
+               ShardKey shardKey, LoginTrackingOptions options) {
+    if (vertx == null) {
+      throw new IllegalStateException("The login tracking requires a Vert.x instance");
+    }
+    this.vertx = vertx;
+    this.client = client;
+    this.collectionName = collectionName;
+    this.usernameField = usernameField;
+    this.passwordField = passwordField;
+    this.shardKey = shardKey;
+    this.options = options;
+    this.lockoutDuration = TimeUnit.MILLISECONDS.toNanos(options.getLockoutDuration());
+    this.timerId = vertx.setPeriodic(Math.max(1L, options.getFlushInterval()), id -> flush());
+  }
+
+  /**
+   * @return whether the user failed too many consecutive attempts recently
+   */
+  boolean locked(String username) {
+    int max = options.getMaxFailedAttempts();
+    if (max <= 0) {
+      return false;
+    }
+    synchronized (this) {
+      Entry entry = entries.get(username);
+      if (entry == null || entry.failures < max) {
+        return false;
+      }
+      if (System.nanoTime() - entry.lastFailure < lockoutDuration) {
+        return true;
+      }
+      // the lockout expired, the user gets another series of attempts
+      entry.failures = 0;
+      return false;
+    }
+  }
+
+  /**
+   * Reserves an attempt of the user before its password is verified, so the concurrent attempts count toward the
+   * lockout before any of them failed. The attempt is then {@link #succeeded}, {@link #failed} or {@link #released}.
+   *
+   * @return whether the user may attempt, {@code false} when it is locked out or its attempts in flight may lock it out
+   */
+  synchronized boolean reserve(String username) {
+    Entry entry = entries.computeIfAbsent(username, k -> new Entry());
+    int max = options.getMaxFailedAttempts();
+    if (max > 0) {
+      if (entry.failures >= max && System.nanoTime() - entry.lastFailure >= lockoutDuration) {
+        // the lockout expired, the user gets another series of attempts
+        entry.failures = 0;
+      }
+      if (entry.failures + entry.attempts >= max) {
+        return false;
+      }
+    }
+    entry.attempts++;
+    return true;
+  }
+
+  synchronized void released(String username) {
+    Entry entry = entries.get(username);
+    if (entry != null && entry.attempts > 0) {
+      entry.attempts--;
+    }
+  }
+
+  synchronized void succeeded(String username) {
+    Entry entry = entries.computeIfAbsent(username, k -> new Entry());
+    if (entry.attempts > 0) {
+      entry.attempts--;
+    }
+    entry.lastLogin = System.currentTimeMillis();
+    entry.failures = 0;
+    entry.pendingFailures = 0;
+    entry.reset = true;
+  }
+
+  synchronized void failed(String username) {
+    Entry entry = entries.computeIfAbsent(username, k -> new Entry());
+    if (entry.attempts > 0) {
+      entry.attempts--;
+    }
+    entry.failures++;
+    entry.pendingFailures++;
+    entry.lastFailure = System.nanoTime();
+  }
+
+  /**
+   * Writes the logins aggregated since the previous flush. A failed write is logged and not retried, the tracking is
+   * best effort.
+   */
+  Future<Void> flush() {
+    List<BulkOperation> operations = new ArrayList<>();
+    synchronized (this) {
+      long now = System.nanoTime();
+      Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+      while (it.hasNext()) {
+        Map.Entry<String, Entry> e = it.next();
+        Entry entry = e.getValue();
+        JsonObject update = entry.update();
+        if (update != null) {
+          JsonObject filter = new JsonObject()
+            .put(usernameField, e.getKey())
+            .put(passwordField, new JsonObject().put("$exists", true));
+          if (shardKey != null) {
+            shardKey.target(filter, shardKey.value(e.getKey()));
+          }
+          operations.add(BulkOperation.createUpdate(filter, update));
+        }
+        if (entry.attempts == 0 && (entry.failures == 0 || now - entry.lastFailure >= lockoutDuration)) {
+          it.remove();
+        }
+      }
+    }
+    if (operations.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    return client
+      .bulkWriteWithOptions(collectionName, operations, new BulkWriteOptions().setOrdered(false))
+      .<Void>mapEmpty()
+      .recover(err -> {
+        log.warn("Could not write the logins of " + operations.size() + " users", err);
+        return Future.succeededFuture();
+      });
+  }
+
+  Future<Void> close() {
+    vertx.cancelTimer(timerId);
+    return flush();
+  }
+
+  private final class Entry {
+    long lastLogin;
+    boolean reset;
+    int pendingFailures;
+    int failures;
+    long lastFailure;
+    // the reserved attempts whose password is being verified
+    int attempts;
+
+    /**
+     * @return the update of the pending logins, {@code null} when there are none
+     */
+    JsonObject update() {
+      if (lastLogin == 0L && !reset && pendingFailures == 0) {
+        return null;
+      }
+      JsonObject update = new JsonObject();
+      if (lastLogin != 0L) {
+        // concurrent flushes of several instances keep the latest login
+        update.put("$max", new JsonObject().put(options.getLastLoginField(),
+          new JsonObject().put("$date", Instant.ofEpochMilli(lastLogin).toString())));
+      }
+      if (reset) {
+        update.put("$set", new JsonObject().put(options.getFailedAttemptsField(), pendingFailures));
+      } else if (pendingFailures > 0) {
+        update.put("$inc", new JsonObject().put(options.getFailedAttemptsField(), pendingFailures));
+      }
+      lastLogin = 0L;
+      reset = false;
+      pendingFailures = 0;
+      return update;
+    }
+  }
+}
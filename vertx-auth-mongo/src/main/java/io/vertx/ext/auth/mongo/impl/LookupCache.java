@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.mongo.CacheOptions;
+import io.vertx.ext.auth.mongo.WarmUpOptions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded cache of the documents found by the lookups of a provider, evicting the least recently used username. The
+ * usernames of a provider matching them case insensitively are lower-cased, so the inputs differing by case share the
+ * same entry.
+ * <p>
+ * Each invalidation advances the generation of the cache, a lookup started before the invalidation of its user cannot
+ * put the documents it read back in the cache.
+ */
+class LookupCache implements RecentWrites.Cache {
+
+  private static final int STRIPES = 64;
+
+  private final String collectionName;
+  private final int maxSize;
+  private final long timeToLive;
+  private final Locale locale;
+  private final Map<String, Entry> entries;
+  // the generation of the last invalidation of the usernames of each stripe
+  private final long[] invalidated = new long[STRIPES];
+  private long generation;
+
+  /**
+   * Creates the cache of a provider, evicting the users written through a {@link MongoUserUtilImpl} sharing the tracker.
+   *
+   * @param locale the locale of the case insensitive usernames, {@code null} when they are case sensitive
+   * @return the cache, or {@code null} when the provider has no cache nor warm-up
+   */
+  static LookupCache create(RecentWrites recentWrites, String collectionName, CacheOptions options, WarmUpOptions warmUp, String locale) {
+    if (options == null && warmUp == null) {
+      return null;
+    }
+    LookupCache cache = new LookupCache(collectionName, options != null ? options : new CacheOptions(), locale);
+    recentWrites.invalidates(cache);
+    return cache;
+  }
+
+  LookupCache(String collectionName, CacheOptions options, String locale) {
+    this.collectionName = collectionName;
+    this.maxSize = Math.max(1, options.getMaxSize());
+    this.timeToLive = TimeUnit.MILLISECONDS.toNanos(options.getTimeToLive());
+    this.locale = locale != null ? Locale.forLanguageTag(locale) : null;
+    this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @return copies of the cached documents of the user, or {@code null} when not cached
+   */
+  List<JsonObject> get(String username) {
+    username = key(username);
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(username);
+      if (entry == null) {
+        return null;
+      }
+      if (System.nanoTime() - entry.time > timeToLive) {
+        entries.remove(username);
+        return null;
+      }
+    }
+    return copy(entry.documents);
+  }
+
+  /**
+   * @return the current generation, to read before looking up documents to put in the cache
+   */
+  synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * Caches the documents of a user, unless the user was invalidated since the given generation.
+   */
+  void put(String username, List<JsonObject> documents, long generation) {
+    String key = key(username);
+    Entry entry = new Entry(copy(documents), System.nanoTime());
+    synchronized (this) {
+      if (invalidated[stripe(key)] > generation) {
+        // the documents may have been read before the write
+        return;
+      }
+      entries.put(key, entry);
+    }
+  }
+
+  @Override
+  public void invalidate(String collection, String username) {
+    if (collectionName.equals(collection)) {
+      String key = key(username);
+      synchronized (this) {
+        entries.remove(key);
+        invalidated[stripe(key)] = ++generation;
+      }
+    }
+  }
+
+  private String key(String username) {
+    return locale != null ? username.toLowerCase(locale) : username;
+  }
+
+  /**
+   * @return the number of users the cache holds
+   */
+  int maxSize() {
+    return maxSize;
+  }
+
+  private static int stripe(String key) {
+    return key.hashCode() & (STRIPES - 1);
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private static List<JsonObject> copy(List<JsonObject> documents) {
+    List<JsonObject> copy = new ArrayList<>(documents.size());
+    for (JsonObject document : documents) {
+      copy.add(document.copy());
+    }
+    return copy;
+  }
+
+  private static final class Entry {
+    final List<JsonObject> documents;
+    final long time;
+
+    Entry(List<JsonObject> documents, long time) {
+      this.documents = documents;
+      this.time = time;
+    }
+  }
+}
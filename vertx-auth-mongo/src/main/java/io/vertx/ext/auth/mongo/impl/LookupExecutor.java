@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import com.mongodb.client.model.CollationStrength;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.mongo.ConcurrencyLimitOptions;
+import io.vertx.ext.mongo.AggregateOptions;
+import io.vertx.ext.mongo.CollationOptions;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Performs the user lookups of a provider, bounding them with a deadline and hedging the slow ones.
+ */
+class LookupExecutor {
+
+  private static final Logger log = LoggerFactory.getLogger(LookupExecutor.class);
+
+  private final Vertx vertx;
+  private final ReadRouting routing;
+  private final String collectionName;
+  private final long maxTime;
+  private final long hedgeDelay;
+  private final AdaptiveLimiter limiter;
+  private final PriorityLanes.Lane lane;
+  private final UserMirror mirror;
+  private final LookupCache cache;
+  private final Future<Void> warmUp;
+  private final JsonArray projection;
+  private final CollationOptions collation;
+
+  /**
+   * @param vertx          the vertx instance used for hedging timers, required when hedging
+   * @param routing        the routing of lookups to clients
+   * @param collectionName the collection to look up
+   * @param maxTime        the deadline of a lookup in milliseconds, {@code 0} for none
+   * @param hedgeDelay     the delay in milliseconds after which a lookup is hedged, {@code 0} to disable hedging
+   * @param limit          the concurrency limit options, {@code null} for no limit
+   * @param lane           the priority lane of the lookups, {@code null} when not scheduled in a lane
+   * @param mirror         the mirror answering the lookups once loaded, {@code null} when not mirrored
+   * @param cache          the cache of the lookups, {@code null} for no cache
+   * @param warmUp         the future of the warm-up of the cache, {@code null} when there is none
+   * @param projection     the fields of the documents returned by {@link #find}, {@code null} for every field
+   * @param collation      the collation of the lookups, {@code null} for the collation of the collection
+   */
+  LookupExecutor(Vertx vertx, ReadRouting routing, String collectionName, long maxTime, long hedgeDelay, ConcurrencyLimitOptions limit,
+                 PriorityLanes.Lane lane, UserMirror mirror, LookupCache cache, Future<Void> warmUp, JsonObject projection,
+                 CollationOptions collation) {
+    if (hedgeDelay > 0L) {
+      if (vertx == null) {
+        throw new IllegalArgumentException("Hedging requires the provider to be created with a Vert.x instance or on a Vert.x thread");
+      }
+      if (!routing.hedges()) {
+        // a second attempt would be sent to the same servers
+        log.warn("Lookups of " + collectionName + " are not hedged, hedging requires a read preference");
+        hedgeDelay = 0L;
+      }
+    }
+    this.vertx = vertx;
+    this.routing = routing;
+    this.collectionName = collectionName;
+    this.maxTime = maxTime;
+    this.hedgeDelay = hedgeDelay;
+    this.limiter = limit != null ? new AdaptiveLimiter(vertx, limit) : null;
+    this.lane = lane;
+    this.mirror = mirror;
+    this.cache = cache;
+    this.warmUp = warmUp;
+    this.projection = projection != null ? new JsonArray().add(new JsonObject().put("$project", projection)) : null;
+    this.collation = collation;
+  }
+
+  /**
+   * @param locale the locale of the usernames
+   * @return the collation matching the usernames case insensitively, the index of the username field must have the same
+   * collation to serve the lookups
+   */
+  static CollationOptions caseInsensitive(String locale) {
+    return new CollationOptions().setLocale(locale).setStrength(CollationStrength.SECONDARY);
+  }
+
+  Future<List<JsonObject>> find(String username, JsonObject query) {
+    if (mirror != null && mirror.serves(username)) {
+      return Future.succeededFuture(mirror.find(username));
+    }
+    if (cache != null) {
+      List<JsonObject> cached = cache.get(username);
+      if (cached != null) {
+        return Future.succeededFuture(cached);
+      }
+    }
+    long generation = cache != null ? cache.generation() : 0L;
+    Future<List<JsonObject>> fut = aggregate(username, query, projection);
+    if (cache != null) {
+      fut = fut.andThen(ar -> {
+        if (ar.succeeded()) {
+          cache.put(username, ar.result(), generation);
+        }
+      });
+    }
+    return fut;
+  }
+
+  /**
+   * Looks up the documents matching a query that is not by username, e.g. by email, in the database. The mirror and the
+   * cache are keyed by username, so they are bypassed and the result is not cached.
+   */
+  Future<List<JsonObject>> search(String key, JsonObject query) {
+    return aggregate(key, query, projection);
+  }
+
+  /**
+   * @return the documents of the user held in memory by the mirror or the cache, or {@code null} when the user must be
+   * looked up in the database
+   */
+  List<JsonObject> local(String username) {
+    if (mirror != null && mirror.serves(username)) {
+      return mirror.find(username);
+    }
+    return cache != null ? cache.get(username) : null;
+  }
+
+  /**
+   * Asks the database whether a document matches the query, only the id of a single document is returned.
+   */
+  Future<Boolean> exists(String username, JsonObject query) {
+    JsonArray stages = new JsonArray()
+      .add(new JsonObject().put("$limit", 1))
+      .add(new JsonObject().put("$project", new JsonObject().put("_id", 1)));
+    return aggregate(username, query, stages).map(found -> !found.isEmpty());
+  }
+
+  /**
+   * Looks up the documents matching the query in the database, transformed by the given aggregation stages when not
+   * {@code null}. The result is not cached.
+   */
+  Future<List<JsonObject>> aggregate(String username, JsonObject query, JsonArray stages) {
+    MongoClient client = routing.client(username);
+    MongoClient hedge = hedgeDelay > 0L ? routing.hedge(client) : null;
+    Future<List<JsonObject>> fut;
+    if (hedge == null) {
+      fut = find(client, query, stages);
+    } else {
+      fut = hedged(client, hedge, query, stages);
+    }
+    if (maxTime > 0L) {
+      fut = fut.timeout(maxTime, TimeUnit.MILLISECONDS);
+    }
+    return fut;
+  }
+
+  Future<Void> ready() {
+    Future<Void> mirrored = mirror != null ? mirror.ready() : Future.succeededFuture();
+    return warmUp != null ? Future.all(mirrored, warmUp).mapEmpty() : mirrored;
+  }
+
+  Future<Void> close() {
+    if (mirror != null) {
+      return mirror.close().transform(ar -> routing.close());
+    }
+    return routing.close();
+  }
+
+  JsonObject metrics() {
+    return limiter != null ? limiter.metrics() : new JsonObject();
+  }
+
+  private Future<List<JsonObject>> find(MongoClient client, JsonObject query, JsonArray stages) {
+    if (limiter != null) {
+      return limiter.execute(() -> doFind(client, query, stages), maxTime);
+    }
+    return doFind(client, query, stages);
+  }
+
+  private Future<List<JsonObject>> doFind(MongoClient client, JsonObject query, JsonArray stages) {
+    if (lane != null) {
+      return lane.execute(() -> query(client, query, stages));
+    }
+    return query(client, query, stages);
+  }
+
+  /**
+   * @param stages the aggregation stages transforming the matching documents, {@code null} for the documents
+   */
+  private Future<List<JsonObject>> query(MongoClient client, JsonObject query, JsonArray stages) {
+    if (maxTime > 0L || stages != null || collation != null) {
+      // find options have no max time, the equivalent aggregation lets the server abort the query
+      JsonArray pipeline = new JsonArray().add(new JsonObject().put("$match", query));
+      if (stages != null) {
+        pipeline.addAll(stages);
+      }
+      AggregateOptions options = new AggregateOptions().setMaxTime(maxTime);
+      if (collation != null) {
+        options.setCollation(collation);
+      }
+      return client
+        .aggregateWithOptions(collectionName, pipeline, options)
+        .collect(Collectors.toList());
+    }
+    return client.find(collectionName, query);
+  }
+
+  /**
+   * Sends the query a second time, to the primary, if the first attempt did not reply within the hedge delay. The first
+   * successful reply wins, the lookup fails only once every attempt failed.
+   */
+  private Future<List<JsonObject>> hedged(MongoClient client, MongoClient hedge, JsonObject query, JsonArray stages) {
+    Promise<List<JsonObject>> promise = Promise.promise();
+    AtomicInteger outstanding = new AtomicInteger(1);
+    Handler<AsyncResult<List<JsonObject>>> handler = ar -> {
+      if (ar.succeeded()) {
+        promise.tryComplete(ar.result());
+      } else if (outstanding.decrementAndGet() == 0) {
+        promise.tryFail(ar.cause());
+      }
+    };
+    long timerId = vertx.setTimer(hedgeDelay, id -> {
+      if (!promise.future().isComplete() && outstanding.incrementAndGet() > 1) {
+        find(hedge, query, stages).onComplete(handler);
+      }
+    });
+    promise.future().onComplete(ar -> vertx.cancelTimer(timerId));
+    find(client, query, stages).onComplete(handler);
+    return promise.future();
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.mongo.MongoApiKeyAuthentication;
+import io.vertx.ext.auth.mongo.MongoApiKeyOptions;
+import io.vertx.ext.mongo.IndexOptions;
+import io.vertx.ext.mongo.MongoClient;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+
+/**
+ * An implementation of {@link MongoApiKeyAuthentication}
+ */
+public class MongoApiKeyAuthenticationImpl implements MongoApiKeyAuthentication {
+
+  private static final char SEPARATOR = '.';
+  private static final int KEY_ID_BYTES = 9;
+  private static final int SECRET_BYTES = 32;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final MongoClient mongoClient;
+  private final MongoApiKeyOptions options;
+  // digests are not thread safe, each thread reuses its own
+  private final ThreadLocal<Digest> digests;
+
+  /**
+   * Creates a new instance
+   *
+   * @param mongoClient the {@link MongoClient} to be used
+   * @param options     the options for configuring the new instance
+   */
+  public MongoApiKeyAuthenticationImpl(MongoClient mongoClient, MongoApiKeyOptions options) {
+    this.mongoClient = mongoClient;
+    this.options = options;
+    String secret = options.getSecret();
+    if (secret == null) {
+      this.digests = ThreadLocal.withInitial(Sha256::new);
+    } else {
+      SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+      this.digests = ThreadLocal.withInitial(() -> new HmacSha256(key));
+    }
+  }
+
+  @Override
+  public Future<User> authenticate(Credentials credentials) {
+    if (credentials == null) {
+      return Future.failedFuture("Credentials must be set for authentication.");
+    }
+    final String key;
+    try {
+      TokenCredentials authInfo = (TokenCredentials) credentials;
+      authInfo.checkValid(null);
+      key = authInfo.getToken();
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+    String keyId = keyId(key);
+    if (keyId == null) {
+      return Future.failedFuture("Invalid API key");
+    }
+    byte[] digest = digests.get().digest(key);
+    return mongoClient
+      .findOne(options.getCollectionName(), new JsonObject().put(options.getKeyIdField(), keyId), null)
+      .compose(json -> {
+        if (json == null) {
+          return Future.failedFuture("Invalid API key [" + keyId + "]");
+        }
+        String stored = json.getString(options.getDigestField());
+        if (stored == null || !MessageDigest.isEqual(digest, Base64.getUrlDecoder().decode(stored))) {
+          return Future.failedFuture("Invalid API key [" + keyId + "]");
+        }
+        return Future.succeededFuture(createUser(json));
+      });
+  }
+
+  private User createUser(JsonObject json) {
+    JsonObject principal = json.copy();
+    principal.remove(options.getDigestField());
+    // metadata "amr"
+    principal.put("amr", Collections.singletonList("key"));
+    return User.create(principal);
+  }
+
+  @Override
+  public Future<String> createKey(String username) {
+    byte[] bytes = new byte[KEY_ID_BYTES + SECRET_BYTES];
+    RANDOM.nextBytes(bytes);
+    String keyId = ENCODER.encodeToString(Arrays.copyOf(bytes, KEY_ID_BYTES));
+    String key = keyId + SEPARATOR + ENCODER.encodeToString(Arrays.copyOfRange(bytes, KEY_ID_BYTES, bytes.length));
+    JsonObject document = new JsonObject()
+      .put(options.getKeyIdField(), keyId)
+      .put(options.getDigestField(), ENCODER.encodeToString(digests.get().digest(key)))
+      .put(options.getUsernameField(), username);
+    return mongoClient
+      .insert(options.getCollectionName(), document)
+      .map(id -> key);
+  }
+
+  @Override
+  public Future<Void> revokeKey(String key) {
+    String keyId = keyId(key);
+    return mongoClient
+      .removeDocument(options.getCollectionName(), new JsonObject().put(options.getKeyIdField(), keyId != null ? keyId : key))
+      .mapEmpty();
+  }
+
+  @Override
+  public Future<Void> createIndex() {
+    return mongoClient.createIndexWithOptions(options.getCollectionName(), new JsonObject().put(options.getKeyIdField(), 1),
+      new IndexOptions().unique(true));
+  }
+
+  /**
+   * @return the key id of the key, or {@code null} when it is not a key
+   */
+  private static String keyId(String key) {
+    int index = key.indexOf(SEPARATOR);
+    if (index <= 0 || index == key.length() - 1) {
+      return null;
+    }
+    return key.substring(0, index);
+  }
+
+  private interface Digest {
+    byte[] digest(String key);
+  }
+
+  private static final class Sha256 implements Digest {
+    private final MessageDigest md;
+
+    Sha256() {
+      try {
+        md = MessageDigest.getInstance("SHA-256");
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public byte[] digest(String key) {
+      return md.digest(key.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private static final class HmacSha256 implements Digest {
+    private final Mac mac;
+
+    HmacSha256(SecretKeySpec key) {
+      try {
+        mac = Mac.getInstance("HmacSHA256");
+        mac.init(key);
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public byte[] digest(String key) {
+      return mac.doFinal(key.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
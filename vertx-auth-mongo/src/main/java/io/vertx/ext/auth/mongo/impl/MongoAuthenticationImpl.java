@@ -17,6 +17,8 @@
 package io.vertx.ext.auth.mongo.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.hashing.HashingStrategy;
 import io.vertx.ext.auth.User;
@@ -25,6 +27,7 @@ import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.auth.mongo.*;
 import io.vertx.ext.mongo.MongoClient;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -37,8 +40,14 @@ import java.util.Map;
 public class MongoAuthenticationImpl implements MongoAuthentication {
 
   private final HashingStrategy strategy = HashingStrategy.load();
-  private final MongoClient mongoClient;
+  private final LookupExecutor lookups;
+  private final WorkerExecutor hashExecutor;
   private final MongoAuthenticationOptions options;
+  private final VirtualThreads virtualThreads;
+  private final LoginTracker tracker;
+  private final LoginThrottle throttle;
+  private final Identifiers identifiers;
+  private final ShardKey shardKey;
 
   /**
    * Creates a new instance
@@ -47,12 +56,99 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
    * @param options     the options for configuring the new instance
    */
   public MongoAuthenticationImpl(MongoClient mongoClient, MongoAuthenticationOptions options) {
-    this.mongoClient = mongoClient;
+    this(mongoClient, options, new RecentWrites());
+  }
+
+  /**
+   * Creates a new instance evicting from its cache the users written by the {@link MongoUserUtilImpl} sharing
+   * {@code recentWrites}
+   *
+   * @param mongoClient  the {@link MongoClient} to be used
+   * @param options      the options for configuring the new instance
+   * @param recentWrites the users written recently
+   */
+  public MongoAuthenticationImpl(MongoClient mongoClient, MongoAuthenticationOptions options, RecentWrites recentWrites) {
+    this(null, mongoClient, new ReadRouting(mongoClient, options.getCollectionName()), options, recentWrites);
+  }
+
+  /**
+   * Creates a new instance performing lookups according to the read preference and read concern of the options
+   *
+   * @param vertx             the vertx instance
+   * @param mongoClient       the {@link MongoClient} to be used
+   * @param mongoClientConfig the configuration of {@code mongoClient}
+   * @param options           the options for configuring the new instance
+   */
+  public MongoAuthenticationImpl(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options) {
+    this(vertx, mongoClient, mongoClientConfig, options, new RecentWrites());
+  }
+
+  /**
+   * Creates a new instance performing lookups according to the read preference and read concern of the options, and
+   * reading the users written by the {@link MongoUserUtilImpl} sharing {@code recentWrites} from the primary
+   *
+   * @param vertx             the vertx instance
+   * @param mongoClient       the {@link MongoClient} to be used
+   * @param mongoClientConfig the configuration of {@code mongoClient}
+   * @param options           the options for configuring the new instance
+   * @param recentWrites      the users written recently
+   */
+  public MongoAuthenticationImpl(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options,
+                                 RecentWrites recentWrites) {
+    this(vertx, mongoClient, new ReadRouting(vertx, mongoClient, mongoClientConfig, options.getCollectionName(),
+      options.getReadPreference(), options.getMaxStalenessSeconds(), options.getReadConcernLevel(), options.getReadYourWritesWindow(),
+      recentWrites), options, recentWrites);
+  }
+
+  private MongoAuthenticationImpl(Vertx vertx, MongoClient mongoClient, ReadRouting routing, MongoAuthenticationOptions options,
+                                  RecentWrites recentWrites) {
+    if (vertx == null && Vertx.currentContext() != null) {
+      vertx = Vertx.currentContext().owner();
+    }
+    PriorityLanes.Lane lane = null;
+    if (options.getInteractiveLane() != null) {
+      lane = PriorityLanes.of(mongoClient).interactive.budget(options.getInteractiveLane());
+    }
+    if (options.getMirror() != null && options.isCaseInsensitive()) {
+      // the mirror is keyed by the exact usernames
+      throw new IllegalArgumentException("The mirror does not support case insensitive usernames");
+    }
+    UserMirror mirror = null;
+    if (options.getMirror() != null) {
+      mirror = new UserMirror(vertx, mongoClient, options.getCollectionName(), options.getUsernameField(), options.getPasswordField(),
+        null, null, options.getDisabledField(), options.getMirror(), options.getReadYourWritesWindow(), recentWrites);
+    }
+    LookupCache cache = LookupCache.create(recentWrites, options.getCollectionName(), options.getCache(), options.getWarmUp(),
+      options.isCaseInsensitive() ? options.getCollationLocale() : null);
+    Future<Void> warmUp = null;
+    if (options.getWarmUp() != null) {
+      warmUp = WarmUp.run(vertx, routing.client(null), options.getCollectionName(), options.getUsernameField(), options.getWarmUp(), cache);
+    }
+    this.lookups = new LookupExecutor(vertx, routing, options.getCollectionName(), options.getMaxTime(),
+      options.getHedgeDelay(), options.getConcurrencyLimit(), lane, mirror, cache, warmUp, projection(options),
+      options.isCaseInsensitive() ? LookupExecutor.caseInsensitive(options.getCollationLocale()) : null);
+    this.hashExecutor = PriorityLanes.hashExecutor(vertx, "interactive", options.getInteractiveLane());
     this.options = options;
+    this.virtualThreads = VirtualThreads.create(vertx, options.isVirtualThreads());
+    this.shardKey = ShardKey.create(options.getShardKey(), options.isCaseInsensitive());
+    this.tracker = options.getLoginTracking() != null ? new LoginTracker(vertx, mongoClient, options.getCollectionName(),
+      options.getUsernameField(), options.getPasswordField(), shardKey, options.getLoginTracking()) : null;
+    this.throttle = options.getThrottle() != null ? new LoginThrottle(options.getThrottle(),
+      options.isCaseInsensitive() ? options.getCollationLocale() : null) : null;
+    this.identifiers = options.getIdentifiers() != null && !options.getIdentifiers().isEmpty()
+      ? new Identifiers(options.getUsernameField(), options.getIdentifiers(),
+      // the compact store does not retain the identifiers a remembered username is checked against
+      options.getMirror() != null && options.getMirror().isCompact() ? 0 : options.getIdentifierCacheSize(),
+      options.isCaseInsensitive() ? options.getCollationLocale() : null) : null;
   }
 
   @Override
   public Future<User> authenticate(Credentials credentials) {
+    return authenticate(credentials, null);
+  }
+
+  @Override
+  public Future<User> authenticate(Credentials credentials, String source) {
     // Null username is invalid
     if (credentials == null) {
       return Future.failedFuture("Credentials must be set for authentication.");
@@ -67,12 +163,34 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
       return Future.failedFuture(e);
     }
 
-    AuthToken token = new AuthToken(authInfo.getUsername(), authInfo.getPassword());
+    AuthToken token = new AuthToken(authInfo.getUsername(), authInfo.getPassword(), source);
 
-    JsonObject query = createQuery(authInfo.getUsername());
-    return mongoClient
-      .find(options.getCollectionName(), query)
+    if (throttle != null && !throttle.allowed(token.username, token.source)) {
+      // neither queried nor hashed
+      return Future.failedFuture("Too many attempts [" + token.username + "]");
+    }
+
+    if (tracker != null && tracker.locked(token.username)) {
+      // neither queried nor hashed, and reported like a wrong password not to reveal the user exists
+      return Future.failedFuture("Invalid username/password [" + token.username + "]");
+    }
+
+    if (VirtualThreads.onVirtualThread()) {
+      try {
+        return Future.succeededFuture(authenticate(token, false));
+      } catch (Exception e) {
+        return Future.failedFuture(e);
+      }
+    }
+    if (virtualThreads != null) {
+      return virtualThreads.run(() -> authenticate(token, true));
+    }
+
+    return lookup(token.username)
       .compose(rows -> {
+        if (hashExecutor != null) {
+          return hashExecutor.executeBlocking(() -> handleSelection(rows, token), false);
+        }
         try {
           User user = handleSelection(rows, token);
           return Future.succeededFuture(user);
@@ -82,28 +200,129 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
       });
   }
 
+  /**
+   * Straight-line variant of the authentication, it must run on a virtual thread so the lookup can be awaited. The
+   * password hash is computed in the interactive lane when it has worker threads, on the calling thread otherwise.
+   *
+   * @param shared whether the virtual thread runs on the context of the provider, shared by the concurrent logins, the
+   *               hash is then computed on a worker thread
+   */
+  private User authenticate(AuthToken token, boolean shared) throws Exception {
+    List<JsonObject> rows = lookup(token.username).await();
+    if (hashExecutor != null) {
+      return hashExecutor.executeBlocking(() -> handleSelection(rows, token), false).await();
+    }
+    if (shared) {
+      return virtualThreads.blocking(() -> handleSelection(rows, token));
+    }
+    return handleSelection(rows, token);
+  }
+
+  /**
+   * Looks up the user identified by the input, by username or by one of the alternate identifiers
+   */
+  private Future<List<JsonObject>> lookup(String input) {
+    if (identifiers == null) {
+      return lookups.find(input, query(input));
+    }
+    String username = identifiers.username(input);
+    if (username != null) {
+      // served by the cache or the mirror, as long as the document still has this identifier
+      return lookups.find(username, query(username)).compose(rows -> {
+        if (identifiers.identifies(rows, input)) {
+          return Future.succeededFuture(rows);
+        }
+        identifiers.forget(input);
+        return lookupByIdentifier(input);
+      });
+    }
+    return lookupByIdentifier(input);
+  }
+
+  private Future<List<JsonObject>> lookupByIdentifier(String input) {
+    List<String> fields = identifiers.fields(input);
+    if (fields.size() == 1 && fields.get(0).equals(options.getUsernameField())) {
+      return lookups.find(input, query(input));
+    }
+    // the identifier may not hold the value of the shard key, the lookup is broadcast
+    JsonObject query = identifiers.criteria(fields, input);
+    if (options.getDisabledField() != null) {
+      query.put(options.getDisabledField(), new JsonObject().put("$ne", true));
+    }
+    return lookups.search(input, query).andThen(ar -> {
+      if (ar.succeeded() && ar.result().size() == 1) {
+        identifiers.remember(input, ar.result().get(0).getString(options.getUsernameField()));
+      }
+    });
+  }
+
+  /**
+   * @return the query of the user, routed to its shard when the collection is sharded
+   */
+  private JsonObject query(String username) {
+    JsonObject query = createQuery(username);
+    return shardKey != null ? shardKey.target(query, shardKey.value(username)) : query;
+  }
+
   /**
    * The default implementation uses the usernameField as search field
    */
   protected JsonObject createQuery(String username) {
-    return new JsonObject().put(options.getUsernameField(), username);
+    JsonObject query = new JsonObject().put(options.getUsernameField(), username);
+    if (options.getDisabledField() != null) {
+      // still an equality on the indexed username, the flag is checked on the matching document
+      query.put(options.getDisabledField(), new JsonObject().put("$ne", true));
+    }
+    return query;
   }
 
   /**
    * Examine the selection of found users and return one, if password is fitting,
    */
   private User handleSelection(List<JsonObject> resultList, AuthToken authToken) throws Exception {
+    resultList = enabled(resultList);
     switch (resultList.size()) {
       case 0: {
+        if (throttle != null) {
+          throttle.failed(authToken.username, authToken.source);
+        }
         String message = "No account found for user [" + authToken.username + "]";
         throw new Exception(message);
       }
       case 1: {
         JsonObject json = resultList.get(0);
+        // the input may be an alternate identifier, the logins are tracked by username
+        String username = json.getString(options.getUsernameField(), authToken.username);
+        if (throttle != null && !username.equals(authToken.username) && !throttle.allowed(username, null)) {
+          // the failures of the user are counted by username, whatever identifier they were attempted with
+          throw new Exception("Too many attempts [" + authToken.username + "]");
+        }
         User user = createUser(json);
-        if (strategy.verify(json.getString(options.getPasswordField()), authToken.password))
+        // reserved before hashing, so the concurrent attempts cannot all get past the lockout
+        if (tracker != null && !tracker.reserve(username)) {
+          throw new Exception("Invalid username/password [" + authToken.username + "]");
+        }
+        boolean verified;
+        try {
+          verified = strategy.verify(json.getString(options.getPasswordField()), authToken.password);
+        } catch (RuntimeException e) {
+          if (tracker != null) {
+            tracker.released(username);
+          }
+          throw e;
+        }
+        if (verified) {
+          if (tracker != null) {
+            tracker.succeeded(username);
+          }
           return user;
-        else {
+        } else {
+          if (tracker != null) {
+            tracker.failed(username);
+          }
+          if (throttle != null) {
+            throttle.failed(username, authToken.source);
+          }
           String message = "Invalid username/password [" + authToken.username + "]";
           throw new Exception(message);
         }
@@ -116,19 +335,112 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
     }
   }
 
+  /**
+   * Drops the disabled users, the documents loaded by the warm-up are not filtered by the query
+   */
+  private List<JsonObject> enabled(List<JsonObject> resultList) {
+    String disabledField = options.getDisabledField();
+    if (disabledField == null) {
+      return resultList;
+    }
+    for (JsonObject json : resultList) {
+      if (Boolean.TRUE.equals(json.getValue(disabledField))) {
+        List<JsonObject> enabled = new ArrayList<>(resultList);
+        enabled.removeIf(document -> Boolean.TRUE.equals(document.getValue(disabledField)));
+        return enabled;
+      }
+    }
+    return resultList;
+  }
+
   private User createUser(JsonObject json) {
-    User user = User.create(json);
+    User user = User.create(principal(json));
     // metadata "amr"
     user.principal().put("amr", Collections.singletonList("pwd"));
 
     return user;
   }
 
+  /**
+   * @return the principal holding the allowed fields of the document
+   */
+  private JsonObject principal(JsonObject json) {
+    List<String> fields = options.getPrincipalFields();
+    if (fields == null && !options.isRemoveCredentials()) {
+      return json;
+    }
+    // a new object, the document may be held by the cache or the mirror
+    JsonObject principal = new JsonObject();
+    if (fields == null) {
+      for (Map.Entry<String, Object> field : json) {
+        principal.put(field.getKey(), field.getValue());
+      }
+    } else {
+      principal.put(options.getUsernameField(), json.getValue(options.getUsernameField()));
+      for (String field : fields) {
+        Object value = json.getValue(field);
+        if (value != null) {
+          principal.put(field, value);
+        }
+      }
+    }
+    if (options.isRemoveCredentials()) {
+      principal.remove(options.getPasswordField());
+    }
+    return principal;
+  }
+
+  /**
+   * @return the projection of the lookups fetching the allowed fields and the password only, {@code null} when the
+   * principal is the whole document
+   */
+  private static JsonObject projection(MongoAuthenticationOptions options) {
+    List<String> fields = options.getPrincipalFields();
+    if (fields == null) {
+      return null;
+    }
+    JsonObject projection = new JsonObject()
+      .put(options.getUsernameField(), 1)
+      .put(options.getPasswordField(), 1);
+    for (String field : fields) {
+      projection.put(field, 1);
+    }
+    if (options.getIdentifiers() != null) {
+      // checks the remembered usernames
+      for (IdentifierOptions identifier : options.getIdentifiers()) {
+        projection.put(identifier.getField(), 1);
+      }
+    }
+    return projection;
+  }
+
   @Override
   public String hash(String id, Map<String, String> params, String salt, String password) {
     return strategy.hash(id, params, salt, password);
   }
 
+  @Override
+  public Future<Void> ready() {
+    return lookups.ready();
+  }
+
+  @Override
+  public JsonObject concurrencyMetrics() {
+    return lookups.metrics();
+  }
+
+  @Override
+  public Future<Void> close() {
+    Future<Void> closed = tracker != null ? tracker.close() : Future.succeededFuture();
+    if (virtualThreads != null) {
+      closed = closed.transform(ar -> virtualThreads.close());
+    }
+    if (hashExecutor != null) {
+      closed = closed.transform(ar -> hashExecutor.close());
+    }
+    return closed.transform(ar -> lookups.close());
+  }
+
 
   /**
    * The incoming data from an authentication request
@@ -138,10 +450,12 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
   static class AuthToken {
     final String username;
     final String password;
+    final String source;
 
-    AuthToken(String username, String password) {
+    AuthToken(String username, String password, String source) {
       this.username = username;
       this.password = password;
+      this.source = source;
     }
   }
 }
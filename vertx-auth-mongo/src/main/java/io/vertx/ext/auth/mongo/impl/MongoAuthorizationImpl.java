@@ -17,17 +17,25 @@
 package io.vertx.ext.auth.mongo.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.AndAuthorization;
 import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.NotAuthorization;
+import io.vertx.ext.auth.authorization.OrAuthorization;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
 import io.vertx.ext.auth.mongo.*;
 import io.vertx.ext.mongo.MongoClient;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 
 /**
@@ -36,9 +44,21 @@ import java.util.Objects;
  * @author mremme
  */
 public class MongoAuthorizationImpl implements MongoAuthorization {
-  private final MongoClient mongoClient;
+
+  // the number of distinct wildcard permission sets whose trie is kept
+  private static final int WILDCARD_TRIES = 1024;
+  // the size of the largest array of a slice
+  private static final String SIZE_FIELD = "_size";
+
+  private final LookupExecutor lookups;
   private final String providerId;
   private final MongoAuthorizationOptions options;
+  private final VirtualThreads virtualThreads;
+  private final RoleHierarchy roleHierarchy;
+  private final AuthorizationDictionary dictionary;
+  private final WildcardTrie.Shared wildcards;
+  private final CheckCache checks;
+  private final ShardKey shardKey;
 
   /**
    * Creates a new instance
@@ -48,9 +68,78 @@ public class MongoAuthorizationImpl implements MongoAuthorization {
    * @param options     the options for configuring the new instance
    */
   public MongoAuthorizationImpl(String providerId, MongoClient mongoClient, MongoAuthorizationOptions options) {
+    this(null, providerId, mongoClient, new ReadRouting(mongoClient, options.getCollectionName()), options, new RecentWrites());
+  }
+
+  /**
+   * Creates a new instance performing lookups according to the read preference and read concern of the options
+   *
+   * @param vertx             the vertx instance
+   * @param providerId        the provider ID to differentiate from others
+   * @param mongoClient       the {@link MongoClient} to be used
+   * @param mongoClientConfig the configuration of {@code mongoClient}
+   * @param options           the options for configuring the new instance
+   */
+  public MongoAuthorizationImpl(Vertx vertx, String providerId, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthorizationOptions options) {
+    this(vertx, providerId, mongoClient, mongoClientConfig, options, new RecentWrites());
+  }
+
+  /**
+   * Creates a new instance performing lookups according to the read preference and read concern of the options, and
+   * reading the users written by the {@link MongoUserUtilImpl} sharing {@code recentWrites} from the primary
+   *
+   * @param vertx             the vertx instance
+   * @param providerId        the provider ID to differentiate from others
+   * @param mongoClient       the {@link MongoClient} to be used
+   * @param mongoClientConfig the configuration of {@code mongoClient}
+   * @param options           the options for configuring the new instance
+   * @param recentWrites      the users written recently
+   */
+  public MongoAuthorizationImpl(Vertx vertx, String providerId, MongoClient mongoClient, JsonObject mongoClientConfig,
+                                MongoAuthorizationOptions options, RecentWrites recentWrites) {
+    this(vertx, providerId, mongoClient, new ReadRouting(vertx, mongoClient, mongoClientConfig, options.getCollectionName(),
+      options.getReadPreference(), options.getMaxStalenessSeconds(), options.getReadConcernLevel(), options.getReadYourWritesWindow(),
+      recentWrites), options, recentWrites);
+  }
+
+  private MongoAuthorizationImpl(Vertx vertx, String providerId, MongoClient mongoClient, ReadRouting routing, MongoAuthorizationOptions options,
+                                 RecentWrites recentWrites) {
     this.providerId = Objects.requireNonNull(providerId);
-    this.mongoClient = mongoClient;
+    if (vertx == null && Vertx.currentContext() != null) {
+      vertx = Vertx.currentContext().owner();
+    }
+    PriorityLanes.Lane lane = null;
+    if (options.getInteractiveLane() != null) {
+      lane = PriorityLanes.of(mongoClient).interactive.budget(options.getInteractiveLane());
+    }
+    if (options.getMirror() != null && options.isCaseInsensitive()) {
+      // the mirror is keyed by the exact usernames
+      throw new IllegalArgumentException("The mirror does not support case insensitive usernames");
+    }
+    UserMirror mirror = null;
+    if (options.getMirror() != null) {
+      mirror = new UserMirror(vertx, mongoClient, options.getCollectionName(), options.getUsernameField(), null,
+        options.getRoleField(), options.getPermissionField(), null, options.getMirror(), options.getReadYourWritesWindow(), recentWrites);
+    }
+    LookupCache cache = LookupCache.create(recentWrites, options.getCollectionName(), options.getCache(), options.getWarmUp(),
+      options.isCaseInsensitive() ? options.getCollationLocale() : null);
+    Future<Void> warmUp = null;
+    if (options.getWarmUp() != null) {
+      warmUp = WarmUp.run(vertx, routing.client(null), options.getCollectionName(), options.getUsernameField(), options.getWarmUp(), cache);
+    }
+    this.lookups = new LookupExecutor(vertx, routing, options.getCollectionName(), options.getMaxTime(),
+      options.getHedgeDelay(), options.getConcurrencyLimit(), lane, mirror, cache, warmUp, null,
+      options.isCaseInsensitive() ? LookupExecutor.caseInsensitive(options.getCollationLocale()) : null);
     this.options = options;
+    this.virtualThreads = VirtualThreads.create(vertx, options.isVirtualThreads());
+    this.checks = CheckCache.create(recentWrites, options.getCollectionName(), options.getCheckCache(),
+      options.isCaseInsensitive() ? options.getCollationLocale() : null);
+    // the cached checks were answered with the previous definitions of the roles
+    this.roleHierarchy = options.getRoleHierarchy() != null
+      ? new RoleHierarchy(vertx, mongoClient, options.getRoleHierarchy(), checks != null ? checks::clear : null) : null;
+    this.dictionary = options.isCompactAuthorizations() ? new AuthorizationDictionary() : null;
+    this.wildcards = options.isWildcardPermissions() ? new WildcardTrie.Shared(WILDCARD_TRIES) : null;
+    this.shardKey = ShardKey.create(options.getShardKey(), options.isCaseInsensitive());
   }
 
   /**
@@ -63,6 +152,18 @@ public class MongoAuthorizationImpl implements MongoAuthorization {
     return new JsonObject().put(options.getUsernameField(), username);
   }
 
+  /**
+   * @return the query of the user, routed to its shard when the collection is sharded
+   */
+  private JsonObject query(User user, String username) {
+    JsonObject query = createQuery(username);
+    if (shardKey == null) {
+      return query;
+    }
+    // the query of an overridden createQuery may be shared
+    return shardKey.target(query.copy(), shardKey.value(user.principal(), username));
+  }
+
   @Override
   public String getId() {
     return providerId;
@@ -70,28 +171,367 @@ public class MongoAuthorizationImpl implements MongoAuthorization {
 
   @Override
   public Future<Void> getAuthorizations(User user) {
-    JsonObject query = createQuery(user.principal().getString(options.getUsernameField()));
-    return mongoClient.find(options.getCollectionName(), query)
+    String username = user.principal().getString(options.getUsernameField());
+    if (VirtualThreads.onVirtualThread()) {
+      try {
+        loadAuthorizations(user, username);
+        return Future.succeededFuture();
+      } catch (Exception e) {
+        return Future.failedFuture(e);
+      }
+    }
+    if (virtualThreads != null) {
+      return virtualThreads.run(() -> {
+        loadAuthorizations(user, username);
+        return null;
+      });
+    }
+    JsonObject query = query(user, username);
+    Future<List<JsonObject>> found;
+    if (roleHierarchy != null) {
+      // the roles cannot be expanded before they are loaded
+      found = roleHierarchy.ready().compose(v -> find(username, query));
+    } else {
+      found = find(username, query);
+    }
+    return found
       .compose(res -> {
-        final Set<Authorization> authorizations = new HashSet<>();
-        for (JsonObject jsonObject : res) {
-          JsonArray roles = jsonObject.getJsonArray(options.getRoleField());
-          if (roles != null) {
-            for (int i = 0; i < roles.size(); i++) {
-              String role = roles.getString(i);
-              authorizations.add(RoleBasedAuthorization.create(role));
-            }
-          }
-          JsonArray permissions = jsonObject.getJsonArray(options.getPermissionField());
-          if (permissions != null) {
-            for (int i = 0; i < permissions.size(); i++) {
-              String permission = permissions.getString(i);
-              authorizations.add(PermissionBasedAuthorization.create(permission));
-            }
+        putAuthorizations(user, res);
+        return Future.succeededFuture();
+      });
+  }
+
+  /**
+   * Straight-line variant of the lookup, it must run on a virtual thread so the query can be awaited.
+   */
+  private void loadAuthorizations(User user, String username) {
+    if (roleHierarchy != null) {
+      roleHierarchy.ready().await();
+    }
+    putAuthorizations(user, find(username, query(user, username)).await());
+  }
+
+  private void putAuthorizations(User user, List<JsonObject> res) {
+    if (res.isEmpty()) {
+      return;
+    }
+    Set<Authorization> authorizations = authorizations(res);
+    if (options.getPageSize() > 0 && res.get(0).containsKey(SIZE_FIELD)) {
+      // a slice, the following slices are loaded by the checks
+      authorizations = new HashSet<>(Collections.singleton(new PagedAuthorization(authorizations, options.getPageSize(), size(res))));
+    }
+    user.authorizations().put(providerId, authorizations);
+  }
+
+  private Set<Authorization> authorizations(List<JsonObject> res) {
+    final Set<String> roleNames = new LinkedHashSet<>();
+    final Set<String> permissionNames = new LinkedHashSet<>();
+    for (JsonObject jsonObject : res) {
+      JsonArray roles = jsonObject.getJsonArray(options.getRoleField());
+      if (roles != null) {
+        for (int i = 0; i < roles.size(); i++) {
+          String role = roles.getString(i);
+          roleNames.add(role);
+          RoleHierarchy.Expansion expansion = roleHierarchy != null ? roleHierarchy.expand(role) : null;
+          if (expansion != null) {
+            roleNames.addAll(expansion.roles);
+            permissionNames.addAll(expansion.permissions);
           }
-          user.authorizations().put(providerId, authorizations);
         }
-        return Future.succeededFuture();
+      }
+      JsonArray permissions = jsonObject.getJsonArray(options.getPermissionField());
+      if (permissions != null) {
+        for (int i = 0; i < permissions.size(); i++) {
+          permissionNames.add(permissions.getString(i));
+        }
+      }
+    }
+    final Set<Authorization> authorizations = new HashSet<>();
+    if (wildcards != null) {
+      if (!permissionNames.isEmpty()) {
+        authorizations.add(new WildcardTrieAuthorization(wildcards.get(permissionNames)));
+      }
+      permissionNames.clear();
+    }
+    if (dictionary != null) {
+      authorizations.add(dictionary.authorization(roleNames, permissionNames));
+    } else {
+      for (String role : roleNames) {
+        authorizations.add(RoleBasedAuthorization.create(role));
+      }
+      for (String permission : permissionNames) {
+        authorizations.add(PermissionBasedAuthorization.create(permission));
+      }
+    }
+    return authorizations;
+  }
+
+  /**
+   * Looks up the documents of the user, or the first slice of their arrays when paged.
+   */
+  private Future<List<JsonObject>> find(String username, JsonObject query) {
+    if (options.getPageSize() > 0) {
+      List<JsonObject> local = lookups.local(username);
+      if (local != null) {
+        return Future.succeededFuture(local);
+      }
+      return lookups.aggregate(username, query, slice(0));
+    }
+    return lookups.find(username, query);
+  }
+
+  /**
+   * @return the stages projecting the slice of the role and permission arrays starting at the given offset
+   */
+  private JsonArray slice(int offset) {
+    JsonObject roles = new JsonObject().put("$ifNull", new JsonArray().add("$" + options.getRoleField()).add(new JsonArray()));
+    JsonObject permissions = new JsonObject().put("$ifNull", new JsonArray().add("$" + options.getPermissionField()).add(new JsonArray()));
+    return new JsonArray().add(new JsonObject().put("$project", new JsonObject()
+      .put(options.getRoleField(), new JsonObject().put("$slice", new JsonArray().add(roles).add(offset).add(options.getPageSize())))
+      .put(options.getPermissionField(), new JsonObject().put("$slice", new JsonArray().add(permissions).add(offset).add(options.getPageSize())))
+      .put(SIZE_FIELD, new JsonObject().put("$max", new JsonArray()
+        .add(new JsonObject().put("$size", roles))
+        .add(new JsonObject().put("$size", permissions))))));
+  }
+
+  /**
+   * @return the size of the largest array of the sliced documents
+   */
+  private static int size(List<JsonObject> slices) {
+    int size = 0;
+    for (JsonObject slice : slices) {
+      size = Math.max(size, slice.getInteger(SIZE_FIELD, 0));
+    }
+    return size;
+  }
+
+  /**
+   * Loads the slices of the user until the authorization is verified or every slice is loaded.
+   */
+  private Future<Void> loadUntil(User user, String username, PagedAuthorization paged, Authorization authorization) {
+    if (paged.complete() || authorization.match(user)) {
+      return Future.succeededFuture();
+    }
+    return paged
+      .next(offset -> lookups.aggregate(username, query(user, username), slice(offset))
+        .map(res -> new PagedAuthorization.Slice(authorizations(res), offset + options.getPageSize(), size(res))))
+      .compose(v -> loadUntil(user, username, paged, authorization));
+  }
+
+  /**
+   * @return the slices of the authorizations of this provider loaded in the user, or {@code null} when not paged
+   */
+  private PagedAuthorization paged(User user) {
+    if (options.getPageSize() <= 0) {
+      return null;
+    }
+    PagedAuthorization[] paged = new PagedAuthorization[1];
+    user.authorizations().forEach(providerId, authorization -> {
+      if (authorization instanceof PagedAuthorization) {
+        paged[0] = (PagedAuthorization) authorization;
+      }
+    });
+    return paged[0];
+  }
+
+  @Override
+  public Future<Boolean> check(User user, Authorization authorization) {
+    Objects.requireNonNull(authorization);
+    String username = user.principal().getString(options.getUsernameField());
+    if (roleHierarchy != null) {
+      // the roles granting the authorization are known once the roles are loaded
+      return roleHierarchy.ready().compose(v -> checkLoaded(user, username, authorization));
+    }
+    return checkLoaded(user, username, authorization);
+  }
+
+  private Future<Boolean> checkLoaded(User user, String username, Authorization authorization) {
+    List<JsonObject> local = lookups.local(username);
+    if (local != null) {
+      // held in memory, nothing to save by asking the database
+      return Future.succeededFuture(match(user, local, authorization));
+    }
+    return check(user, username, authorization);
+  }
+
+  private Future<Boolean> check(User user, String username, Authorization authorization) {
+    if (authorization instanceof AndAuthorization) {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (Authorization child : ((AndAuthorization) authorization).getAuthorizations()) {
+        futures.add(check(user, username, child));
+      }
+      return Future.all(futures).map(v -> futures.stream().allMatch(Future::result));
+    }
+    if (authorization instanceof OrAuthorization) {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (Authorization child : ((OrAuthorization) authorization).getAuthorizations()) {
+        futures.add(check(user, username, child));
+      }
+      return Future.all(futures).map(v -> futures.stream().anyMatch(Future::result));
+    }
+    if (authorization instanceof NotAuthorization) {
+      return check(user, username, ((NotAuthorization) authorization).getAuthorization()).map(granted -> !granted);
+    }
+    PagedAuthorization paged = paged(user);
+    if (paged != null) {
+      if (authorization.match(user)) {
+        return Future.succeededFuture(true);
+      }
+      if (paged.complete()) {
+        return Future.succeededFuture(false);
+      }
+    }
+    // read before the roles are expanded
+    long generation = checks != null ? checks.generation() : 0L;
+    String key;
+    // the user is granted the authorization by holding one of the roles or the permission
+    List<String> roles;
+    String permission = null;
+    if (authorization instanceof RoleBasedAuthorization) {
+      RoleBasedAuthorization role = (RoleBasedAuthorization) authorization;
+      if (role.getResource() != null) {
+        // the roles of the users are not scoped to a resource
+        return Future.succeededFuture(false);
+      }
+      key = "role:" + role.getRole();
+      roles = roleHierarchy != null ? roleHierarchy.rolesGrantingRole(role.getRole()) : new ArrayList<>();
+      if (!roles.contains(role.getRole())) {
+        roles.add(role.getRole());
+      }
+    } else if (authorization instanceof PermissionBasedAuthorization && wildcards == null) {
+      PermissionBasedAuthorization permissionBased = (PermissionBasedAuthorization) authorization;
+      if (permissionBased.getResource() != null) {
+        // the permissions of the users are not scoped to a resource
+        return Future.succeededFuture(false);
+      }
+      key = "permission:" + permissionBased.getPermission();
+      permission = permissionBased.getPermission();
+      roles = roleHierarchy != null ? roleHierarchy.rolesGrantingPermission(permission) : null;
+      if (roles == null) {
+        roles = new ArrayList<>();
+      }
+    } else if (paged != null) {
+      // wildcard permissions and custom authorizations cannot be expressed as a query
+      return loadUntil(user, username, paged, authorization).map(v -> authorization.match(user));
+    } else {
+      return lookups.find(username, query(user, username)).map(res -> match(user, res, authorization));
+    }
+    if (checks != null) {
+      Boolean granted = checks.get(username, key);
+      if (granted != null) {
+        return Future.succeededFuture(granted);
+      }
+    }
+    Future<Boolean> fut;
+    if (options.isCaseInsensitive()) {
+      // the collation applies to the whole query, only the username may be matched case insensitively
+      List<String> granting = roles;
+      String granted = permission;
+      fut = lookups.aggregate(username, query(user, username), candidates(roles, permission))
+        .map(res -> holds(res, granting, granted));
+    } else {
+      fut = lookups.exists(username, grant(query(user, username).copy(), roles, permission));
+    }
+    if (checks != null) {
+      fut = fut.andThen(ar -> {
+        if (ar.succeeded()) {
+          checks.put(username, key, ar.result(), generation);
+        }
       });
+    }
+    if (paged != null) {
+      // only the slices up to the granted authorization are loaded, the user holds it once its slice is loaded
+      fut = fut.compose(granted -> granted ? loadUntil(user, username, paged, authorization).map(true) : Future.succeededFuture(false));
+    }
+    return fut;
+  }
+
+  /**
+   * Adds to the query of the user the criteria of holding one of the roles or the permission.
+   *
+   * @return the query
+   */
+  private JsonObject grant(JsonObject query, List<String> roles, String permission) {
+    if (permission == null) {
+      return query.put(options.getRoleField(), new JsonObject().put("$in", new JsonArray(roles)));
+    }
+    if (roles.isEmpty()) {
+      return query.put(options.getPermissionField(), permission);
+    }
+    return query.put("$or", new JsonArray()
+      .add(new JsonObject().put(options.getPermissionField(), permission))
+      .add(new JsonObject().put(options.getRoleField(), new JsonObject().put("$in", new JsonArray(roles)))));
+  }
+
+  /**
+   * @return the stages keeping the elements of the arrays of the user that are equal to the roles or the permission
+   * under the collation of the lookups, to be compared exactly by {@link #holds(List, List, String)}
+   */
+  private JsonArray candidates(List<String> roles, String permission) {
+    JsonObject project = new JsonObject().put(options.getRoleField(), filter(options.getRoleField(), new JsonArray(roles)));
+    if (permission != null) {
+      project.put(options.getPermissionField(), filter(options.getPermissionField(), new JsonArray().add(permission)));
+    }
+    return new JsonArray().add(new JsonObject().put("$project", project));
+  }
+
+  private static JsonObject filter(String field, JsonArray values) {
+    return new JsonObject().put("$filter", new JsonObject()
+      .put("input", new JsonObject().put("$ifNull", new JsonArray().add("$" + field).add(new JsonArray())))
+      .put("cond", new JsonObject().put("$in", new JsonArray().add("$$this").add(values))));
+  }
+
+  /**
+   * @return whether one of the documents holds one of the roles or the permission, compared case sensitively
+   */
+  private boolean holds(List<JsonObject> documents, List<String> roles, String permission) {
+    for (JsonObject document : documents) {
+      JsonArray held = document.getJsonArray(options.getRoleField());
+      if (held != null) {
+        for (Object role : held) {
+          if (roles.contains(role)) {
+            return true;
+          }
+        }
+      }
+      if (permission != null) {
+        held = document.getJsonArray(options.getPermissionField());
+        if (held != null && held.contains(permission)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Matches the authorization against the authorizations of the given documents, without adding them to the user.
+   */
+  private boolean match(User user, List<JsonObject> res, Authorization authorization) {
+    User copy = User.create(user.principal());
+    putAuthorizations(copy, res);
+    return authorization.match(copy);
+  }
+
+  @Override
+  public Future<Void> ready() {
+    if (roleHierarchy != null) {
+      return Future.all(lookups.ready(), roleHierarchy.ready()).mapEmpty();
+    }
+    return lookups.ready();
+  }
+
+  @Override
+  public JsonObject concurrencyMetrics() {
+    return lookups.metrics();
+  }
+
+  @Override
+  public Future<Void> close() {
+    Future<Void> closed = virtualThreads != null ? virtualThreads.close() : Future.succeededFuture();
+    if (roleHierarchy != null) {
+      closed = closed.transform(ar -> roleHierarchy.close());
+    }
+    return closed.transform(ar -> lookups.close());
   }
 }
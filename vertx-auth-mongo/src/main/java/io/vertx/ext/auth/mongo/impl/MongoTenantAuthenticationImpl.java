@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.mongo.MongoAuthenticationOptions;
+import io.vertx.ext.auth.mongo.MongoTenantAuthentication;
+import io.vertx.ext.auth.mongo.TenantOptions;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * An implementation of {@link MongoTenantAuthentication}
+ */
+public class MongoTenantAuthenticationImpl implements MongoTenantAuthentication {
+
+  // the tenant ends up in collection and database names
+  private static final Pattern TENANT = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+  private final Vertx vertx;
+  private final MongoClient mongoClient;
+  private final JsonObject mongoClientConfig;
+  private final JsonObject options;
+  private final TenantOptions tenantOptions;
+  private final Function<Credentials, String> tenantResolver;
+  private final long idleTimeout;
+  private final RecentWrites recentWrites;
+  // guarded by this
+  private final LinkedHashMap<String, Tenant> tenants = new LinkedHashMap<>(16, 0.75f, true);
+  private boolean closed;
+
+  /**
+   * Creates a new instance
+   *
+   * @param vertx             the vertx instance
+   * @param mongoClient       the client used when the tenants share the database of the client
+   * @param mongoClientConfig the configuration of {@code mongoClient}
+   * @param options           the options of the provider of each tenant
+   * @param tenantOptions     the tenant routing options
+   * @param tenantResolver    the tenant resolver, {@code null} to resolve the tenant from the username
+   */
+  public MongoTenantAuthenticationImpl(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options,
+                                       TenantOptions tenantOptions, Function<Credentials, String> tenantResolver) {
+    this(vertx, mongoClient, mongoClientConfig, options, tenantOptions, tenantResolver, new RecentWrites());
+  }
+
+  /**
+   * Creates a new instance whose tenant providers read the users written by the {@link MongoUserUtilImpl} sharing
+   * {@code recentWrites}
+   *
+   * @param vertx             the vertx instance
+   * @param mongoClient       the client used when the tenants share the database of the client
+   * @param mongoClientConfig the configuration of {@code mongoClient}
+   * @param options           the options of the provider of each tenant
+   * @param tenantOptions     the tenant routing options
+   * @param tenantResolver    the tenant resolver, {@code null} to resolve the tenant from the username
+   * @param recentWrites      the users written recently, shared by the providers of all tenants
+   */
+  public MongoTenantAuthenticationImpl(Vertx vertx, MongoClient mongoClient, JsonObject mongoClientConfig, MongoAuthenticationOptions options,
+                                       TenantOptions tenantOptions, Function<Credentials, String> tenantResolver,
+                                       RecentWrites recentWrites) {
+    this.vertx = vertx;
+    this.mongoClient = mongoClient;
+    this.mongoClientConfig = mongoClientConfig;
+    // each tenant gets a copy with its own collection name
+    this.options = options.toJson();
+    this.tenantOptions = tenantOptions;
+    this.tenantResolver = tenantResolver;
+    this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(tenantOptions.getIdleTimeout());
+    this.recentWrites = recentWrites;
+  }
+
+  @Override
+  public Future<User> authenticate(Credentials credentials) {
+    if (credentials == null) {
+      return Future.failedFuture("Credentials must be set for authentication.");
+    }
+    String tenant;
+    Credentials routed;
+    try {
+      if (tenantResolver != null) {
+        tenant = tenantResolver.apply(credentials);
+        routed = credentials;
+      } else {
+        UsernamePasswordCredentials authInfo = (UsernamePasswordCredentials) credentials;
+        authInfo.checkValid(null);
+        String username = authInfo.getUsername();
+        int index = username.lastIndexOf(tenantOptions.getSeparator());
+        if (index <= 0) {
+          return Future.failedFuture("The username does not name a tenant");
+        }
+        tenant = username.substring(index + tenantOptions.getSeparator().length());
+        routed = new UsernamePasswordCredentials(username.substring(0, index), authInfo.getPassword());
+      }
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+    if (tenant == null || !TENANT.matcher(tenant).matches()) {
+      return Future.failedFuture("Invalid tenant");
+    }
+    Tenant provider;
+    try {
+      provider = tenant(tenant);
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+    Future<User> fut;
+    try {
+      fut = provider.authentication.authenticate(routed);
+    } catch (RuntimeException e) {
+      fut = Future.failedFuture(e);
+    }
+    return fut
+      .andThen(ar -> release(provider))
+      .map(user -> {
+        user.attributes().put("tenant", tenant);
+        return user;
+      });
+  }
+
+  @Override
+  public synchronized int tenants() {
+    return tenants.size();
+  }
+
+  @Override
+  public Future<Void> close() {
+    List<Tenant> idle = new ArrayList<>();
+    List<Future<Void>> futures = new ArrayList<>();
+    synchronized (this) {
+      closed = true;
+      for (Tenant tenant : tenants.values()) {
+        futures.add(retire(tenant, idle));
+      }
+      tenants.clear();
+    }
+    close(idle);
+    return Future.join(futures).mapEmpty();
+  }
+
+  /**
+   * @return the provider of the tenant, created if needed, to {@link #release(Tenant)} once the login completed
+   */
+  private Tenant tenant(String name) {
+    List<Tenant> idle = new ArrayList<>();
+    Tenant tenant;
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Provider closed");
+      }
+      long now = System.nanoTime();
+      if (idleTimeout > 0L) {
+        // in access order, the idle tenants come first
+        Iterator<Tenant> it = tenants.values().iterator();
+        while (it.hasNext()) {
+          Tenant eldest = it.next();
+          if (now - eldest.lastUsed <= idleTimeout) {
+            break;
+          }
+          it.remove();
+          retire(eldest, idle);
+        }
+      }
+      tenant = tenants.get(name);
+      if (tenant == null) {
+        tenant = create(name);
+        tenants.put(name, tenant);
+        if (tenants.size() > Math.max(1, tenantOptions.getMaxTenants())) {
+          Iterator<Map.Entry<String, Tenant>> it = tenants.entrySet().iterator();
+          retire(it.next().getValue(), idle);
+          it.remove();
+        }
+      }
+      tenant.lastUsed = now;
+      tenant.inFlight++;
+    }
+    close(idle);
+    return tenant;
+  }
+
+  /**
+   * Closes the provider of an evicted tenant after its last login completed.
+   */
+  private void release(Tenant tenant) {
+    boolean drained;
+    synchronized (this) {
+      drained = --tenant.inFlight == 0 && tenant.retired != null;
+    }
+    if (drained) {
+      tenant.close();
+    }
+  }
+
+  /**
+   * Removes a tenant from the providers to use, holding the lock: the tenants without logins in flight are added to
+   * the idle ones to close, the others are closed by the {@link #release(Tenant)} of their last login.
+   *
+   * @return completed when the provider of the tenant is closed
+   */
+  private static Future<Void> retire(Tenant tenant, List<Tenant> idle) {
+    tenant.retired = Promise.promise();
+    if (tenant.inFlight == 0) {
+      idle.add(tenant);
+    }
+    return tenant.retired.future();
+  }
+
+  private Tenant create(String name) {
+    MongoAuthenticationOptions authOptions = new MongoAuthenticationOptions(options)
+      .setCollectionName(this.tenantOptions.getCollectionName().replace(TenantOptions.TENANT_PLACEHOLDER, name));
+    if (this.tenantOptions.getDatabaseName() == null) {
+      if (mongoClientConfig == null) {
+        return new Tenant(new MongoAuthenticationImpl(mongoClient, authOptions, recentWrites), null);
+      }
+      return new Tenant(new MongoAuthenticationImpl(vertx, mongoClient, mongoClientConfig, authOptions, recentWrites), null);
+    }
+    if (mongoClientConfig == null) {
+      throw new IllegalStateException("A database per tenant requires the configuration of the client");
+    }
+    String database = this.tenantOptions.getDatabaseName().replace(TenantOptions.TENANT_PLACEHOLDER, name);
+    JsonObject config = mongoClientConfig.copy().put("db_name", database);
+    MongoClient client = MongoClient.createShared(vertx, config, "vertx-auth-mongo-tenant-" + database);
+    return new Tenant(new MongoAuthenticationImpl(vertx, client, config, authOptions, recentWrites), client);
+  }
+
+  private static void close(List<Tenant> tenants) {
+    for (Tenant tenant : tenants) {
+      tenant.close();
+    }
+  }
+
+  private static final class Tenant {
+    final MongoAuthenticationImpl authentication;
+    final MongoClient client;
+    long lastUsed;
+    // guarded by the provider
+    int inFlight;
+    Promise<Void> retired;
+
+    Tenant(MongoAuthenticationImpl authentication, MongoClient client) {
+      this.authentication = authentication;
+      this.client = client;
+    }
+
+    void close() {
+      Future<Void> closed = authentication.close();
+      (client != null ? closed.transform(ar -> client.close()) : closed).onComplete(retired);
+    }
+  }
+}
@@ -16,36 +16,76 @@
 package io.vertx.ext.auth.mongo.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.hashing.HashingStrategy;
+import io.vertx.ext.auth.mongo.IdentifierOptions;
 import io.vertx.ext.auth.mongo.MongoAuthenticationOptions;
 import io.vertx.ext.auth.mongo.MongoAuthorizationOptions;
 import io.vertx.ext.auth.mongo.MongoUserUtil;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.IndexOptions;
 import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.MongoClientUpdateResult;
+import io.vertx.ext.mongo.UpdateOptions;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 import static io.vertx.ext.auth.impl.Codec.base64Encode;
 
 public class MongoUserUtilImpl implements MongoUserUtil {
 
+  private final Vertx vertx;
   private final MongoClient client;
   private final HashingStrategy strategy = HashingStrategy.load();
   private final SecureRandom random = new SecureRandom();
 
   private final MongoAuthenticationOptions authnOptions;
   private final MongoAuthorizationOptions authzOptions;
+  private final RecentWrites recentWrites;
+  private final PriorityLanes.Lane lane;
+  private final WorkerExecutor hashExecutor;
+  private final ShardKey authnShardKey;
+  private final ShardKey authzShardKey;
 
   public MongoUserUtilImpl(MongoClient client) {
     this(client, new MongoAuthenticationOptions(), new MongoAuthorizationOptions());
   }
 
   public MongoUserUtilImpl(MongoClient client, MongoAuthenticationOptions authnOptions, MongoAuthorizationOptions authzOptions) {
+    this(Vertx.currentContext() != null ? Vertx.currentContext().owner() : null, client, authnOptions, authzOptions);
+  }
+
+  public MongoUserUtilImpl(Vertx vertx, MongoClient client, MongoAuthenticationOptions authnOptions, MongoAuthorizationOptions authzOptions) {
+    this(vertx, client, authnOptions, authzOptions, new RecentWrites());
+  }
+
+  public MongoUserUtilImpl(Vertx vertx, MongoClient client, MongoAuthenticationOptions authnOptions, MongoAuthorizationOptions authzOptions,
+                           RecentWrites recentWrites) {
+    this.vertx = vertx;
     this.client = client;
     this.authnOptions = authnOptions;
     this.authzOptions = authzOptions;
+    this.recentWrites = recentWrites;
+    if (authnOptions.getBulkLane() != null) {
+      this.lane = PriorityLanes.of(client).bulk.budget(authnOptions.getBulkLane());
+    } else {
+      this.lane = null;
+    }
+    this.hashExecutor = PriorityLanes.hashExecutor(vertx, "bulk", authnOptions.getBulkLane());
+    this.authnShardKey = ShardKey.create(authnOptions.getShardKey(), authnOptions.isCaseInsensitive());
+    this.authzShardKey = ShardKey.create(authzOptions.getShardKey(), authzOptions.isCaseInsensitive());
   }
 
   @Override
@@ -57,6 +97,12 @@ public class MongoUserUtilImpl implements MongoUserUtil {
     final byte[] salt = new byte[32];
     random.nextBytes(salt);
 
+    if (hashExecutor != null) {
+      return hashExecutor
+        .executeBlocking(() -> strategy.hash("pbkdf2", null, base64Encode(salt), password), false)
+        .compose(hash -> createHashedUser(username, hash));
+    }
+
     return createHashedUser(
       username,
       strategy.hash("pbkdf2",
@@ -71,11 +117,11 @@ public class MongoUserUtilImpl implements MongoUserUtil {
       return Future.failedFuture("username or password hash are null");
     }
 
-    return client.save(
+    return bulk(() -> client.save(
       authnOptions.getCollectionName(),
-      new JsonObject()
-        .put(authnOptions.getUsernameCredentialField(), username)
-        .put(authnOptions.getPasswordCredentialField(), hash));
+      user(authnShardKey, authnOptions.getUsernameCredentialField(), username)
+        .put(authnOptions.getPasswordCredentialField(), hash)))
+      .onSuccess(id -> recentWrites.written(authnOptions.getCollectionName(), username));
   }
 
   @Override
@@ -84,11 +130,272 @@ public class MongoUserUtilImpl implements MongoUserUtil {
       return Future.failedFuture("username is null");
     }
 
-    return client.save(
+    return bulk(() -> client.save(
       authzOptions.getCollectionName(),
-      new JsonObject()
-        .put(authzOptions.getUsernameField(), username)
+      user(authzShardKey, authzOptions.getUsernameField(), username)
         .put(authzOptions.getRoleField(), roles == null ? Collections.emptyList() : roles)
-        .put(authzOptions.getPermissionField(), permissions == null ? Collections.emptyList() : permissions));
+        .put(authzOptions.getPermissionField(), permissions == null ? Collections.emptyList() : permissions)))
+      .onSuccess(id -> recentWrites.written(authzOptions.getCollectionName(), username));
+  }
+
+  @Override
+  public Future<Void> updatePassword(String username, String password) {
+    if (username == null || password == null) {
+      return Future.failedFuture("username or password are null");
+    }
+    final byte[] salt = new byte[32];
+    random.nextBytes(salt);
+    Callable<String> hash = () -> strategy.hash("pbkdf2", null, base64Encode(salt), password);
+    Future<String> fut;
+    if (hashExecutor != null) {
+      fut = hashExecutor.executeBlocking(hash, false);
+    } else if (vertx != null) {
+      fut = vertx.executeBlocking(hash, false);
+    } else {
+      try {
+        fut = Future.succeededFuture(hash.call());
+      } catch (Exception e) {
+        fut = Future.failedFuture(e);
+      }
+    }
+    return fut.compose(h -> set(username, new JsonObject().put("$set", new JsonObject().put(authnOptions.getPasswordField(), h))));
+  }
+
+  @Override
+  public Future<Void> disableUser(String username) {
+    if (authnOptions.getDisabledField() == null) {
+      return Future.failedFuture("No disabled field configured");
+    }
+    return set(username, new JsonObject().put("$set", new JsonObject().put(authnOptions.getDisabledField(), true)));
+  }
+
+  @Override
+  public Future<Void> enableUser(String username) {
+    if (authnOptions.getDisabledField() == null) {
+      return Future.failedFuture("No disabled field configured");
+    }
+    return set(username, new JsonObject().put("$unset", new JsonObject().put(authnOptions.getDisabledField(), "")));
+  }
+
+  @Override
+  public Future<Void> deleteUser(String username) {
+    if (username == null) {
+      return Future.failedFuture("username is null");
+    }
+    // the roles and permissions may be another document of the same collection
+    Future<Void> deleted = bulk(() -> stored(authnOptions.getCollectionName(), authnOptions.getUsernameField(),
+      Collections.singletonList(username), locale(authnOptions.isCaseInsensitive(), authnOptions.getCollationLocale()))
+      .compose(names -> client.removeDocuments(
+        authnOptions.getCollectionName(),
+        user(authnShardKey, authnOptions.getUsernameField(), names.get(0)))))
+      .onSuccess(res -> recentWrites.written(authnOptions.getCollectionName(), username))
+      .mapEmpty();
+    if (authzOptions.getCollectionName().equals(authnOptions.getCollectionName())) {
+      return deleted;
+    }
+    return deleted.compose(v -> bulk(() -> stored(authzOptions.getCollectionName(), authzOptions.getUsernameField(),
+      Collections.singletonList(username), locale(authzOptions.isCaseInsensitive(), authzOptions.getCollationLocale()))
+      .compose(names -> client.removeDocuments(
+        authzOptions.getCollectionName(),
+        user(authzShardKey, authzOptions.getUsernameField(), names.get(0))))))
+      .onSuccess(res -> recentWrites.written(authzOptions.getCollectionName(), username))
+      .mapEmpty();
+  }
+
+  /**
+   * @return the filter or the new document of a user, holding the value of its shard key when the collection is sharded
+   */
+  private static JsonObject user(ShardKey shardKey, String field, String username) {
+    JsonObject json = new JsonObject().put(field, username);
+    return shardKey != null ? shardKey.target(json, shardKey.value(username)) : json;
+  }
+
+  /**
+   * Updates fields of the document of a user, without reading or rewriting the rest of the document.
+   */
+  private Future<Void> set(String username, JsonObject update) {
+    if (username == null) {
+      return Future.failedFuture("username is null");
+    }
+    UpdateOptions options = new UpdateOptions();
+    if (authnOptions.isCaseInsensitive()) {
+      // matched like the lookups of the provider, the update only sets fields
+      options.setCollation(LookupExecutor.caseInsensitive(authnOptions.getCollationLocale()));
+    }
+    return bulk(() -> client.updateCollectionWithOptions(
+      authnOptions.getCollectionName(),
+      user(authnShardKey, authnOptions.getUsernameField(), username),
+      update,
+      options))
+      .onSuccess(res -> recentWrites.written(authnOptions.getCollectionName(), username))
+      .compose(res -> res.getDocMatched() == 0L
+        ? Future.failedFuture("No account found for user [" + username + "]")
+        : Future.succeededFuture());
+  }
+
+  @Override
+  public Future<Void> grantRole(String username, String role) {
+    return update(username, "$addToSet", authzOptions.getRoleField(), role);
+  }
+
+  @Override
+  public Future<Void> revokeRole(String username, String role) {
+    return update(username, "$pull", authzOptions.getRoleField(), role);
+  }
+
+  @Override
+  public Future<Void> grantPermission(String username, String permission) {
+    return update(username, "$addToSet", authzOptions.getPermissionField(), permission);
+  }
+
+  @Override
+  public Future<Void> revokePermission(String username, String permission) {
+    return update(username, "$pull", authzOptions.getPermissionField(), permission);
+  }
+
+  @Override
+  public Future<Long> grantRoleToUsers(List<String> usernames, String role) {
+    return updateMany(usernames, "$addToSet", role);
+  }
+
+  @Override
+  public Future<Long> revokeRoleFromUsers(List<String> usernames, String role) {
+    return updateMany(usernames, "$pull", role);
+  }
+
+  @Override
+  public Future<Void> createIndexes() {
+    String locale = authnOptions.isCaseInsensitive() ? authnOptions.getCollationLocale() : null;
+    Future<Void> created = createIndex(authnOptions.getCollectionName(), authnOptions.getUsernameField(), locale, false);
+    if (authnOptions.getIdentifiers() != null) {
+      for (IdentifierOptions identifier : authnOptions.getIdentifiers()) {
+        created = created.compose(v -> createIndex(authnOptions.getCollectionName(), identifier.getField(), locale, true));
+      }
+    }
+    String authzLocale = authzOptions.isCaseInsensitive() ? authzOptions.getCollationLocale() : null;
+    if (authzOptions.getCollectionName().equals(authnOptions.getCollectionName())
+      && authzOptions.getUsernameField().equals(authnOptions.getUsernameField())
+      && Objects.equals(authzLocale, locale)) {
+      // the roles and permissions are in the user documents
+      return created;
+    }
+    return created.compose(v -> createIndex(authzOptions.getCollectionName(), authzOptions.getUsernameField(), authzLocale, false));
+  }
+
+  /**
+   * @param locale     the locale of the collation of a case insensitive index, {@code null} for a case sensitive index
+   * @param identifier whether the field is an alternate identifier, which not every user has
+   */
+  private Future<Void> createIndex(String collectionName, String field, String locale, boolean identifier) {
+    IndexOptions options = new IndexOptions();
+    if (identifier) {
+      // the users without this identifier are not indexed
+      options.unique(true).sparse(true);
+    }
+    if (locale != null) {
+      // a name of its own, it may coexist with a case sensitive index of the same field, and unique since the values
+      // differing only by case identify the same user
+      options.name(field + "_1_ci").setCollation(LookupExecutor.caseInsensitive(locale)).unique(true);
+    }
+    return client.createIndexWithOptions(collectionName, new JsonObject().put(field, 1), options);
+  }
+
+  /**
+   * Adds or removes a value of an array of the document of a user, the server applies it atomically so concurrent
+   * updates of the same array do not overwrite each other.
+   */
+  private Future<Void> update(String username, String operator, String field, String value) {
+    if (username == null || value == null) {
+      return Future.failedFuture("username or " + field + " are null");
+    }
+    // a grant creates the document, a revoke of a missing document has nothing to remove
+    UpdateOptions options = new UpdateOptions().setUpsert("$addToSet".equals(operator));
+    return bulk(() -> stored(authzOptions.getCollectionName(), authzOptions.getUsernameField(),
+      Collections.singletonList(username), locale(authzOptions.isCaseInsensitive(), authzOptions.getCollationLocale()))
+      .compose(names -> client.updateCollectionWithOptions(
+        authzOptions.getCollectionName(),
+        user(authzShardKey, authzOptions.getUsernameField(), names.get(0)),
+        new JsonObject().put(operator, new JsonObject().put(field, value)),
+        options)))
+      .onSuccess(res -> recentWrites.written(authzOptions.getCollectionName(), username))
+      .mapEmpty();
+  }
+
+  private Future<Long> updateMany(List<String> usernames, String operator, String role) {
+    if (usernames == null || role == null) {
+      return Future.failedFuture("usernames or role are null");
+    }
+    if (usernames.isEmpty()) {
+      return Future.succeededFuture(0L);
+    }
+    return bulk(() -> stored(authzOptions.getCollectionName(), authzOptions.getUsernameField(), usernames,
+      locale(authzOptions.isCaseInsensitive(), authzOptions.getCollationLocale()))
+      .compose(names -> client.updateCollectionWithOptions(
+        authzOptions.getCollectionName(),
+        new JsonObject().put(authzOptions.getUsernameField(), new JsonObject().put("$in", new JsonArray(names))),
+        new JsonObject().put(operator, new JsonObject().put(authzOptions.getRoleField(), role)),
+        new UpdateOptions().setMulti(true))))
+      .onSuccess(res -> {
+        for (String username : usernames) {
+          recentWrites.written(authzOptions.getCollectionName(), username);
+        }
+      })
+      .map(MongoClientUpdateResult::getDocModified);
+  }
+
+  @Override
+  public Future<Void> close() {
+    if (hashExecutor != null) {
+      return hashExecutor.close();
+    }
+    return Future.succeededFuture();
+  }
+
+  /**
+   * Schedules a query in the bulk lane, when configured.
+   */
+  /**
+   * Resolves the usernames as stored in the documents of the users matched case insensitively. The writes then match
+   * them exactly instead of being issued with the collation, which would also apply to the values of {@code $addToSet}
+   * and {@code $pull}, and which the removals do not support.
+   *
+   * @param locale the locale of the case insensitive usernames, {@code null} when they are case sensitive
+   * @return the stored usernames, in the order of the given ones, a username without document being kept as given
+   */
+  private Future<List<String>> stored(String collectionName, String field, List<String> usernames, String locale) {
+    if (locale == null) {
+      return Future.succeededFuture(usernames);
+    }
+    Locale lower = Locale.forLanguageTag(locale);
+    FindOptions options = new FindOptions()
+      .setFields(new JsonObject().put(field, 1).put("_id", 0))
+      .setCollation(LookupExecutor.caseInsensitive(locale));
+    return client
+      .findWithOptions(collectionName, new JsonObject().put(field, new JsonObject().put("$in", new JsonArray(usernames))), options)
+      .map(documents -> {
+        Map<String, String> names = new HashMap<>();
+        for (JsonObject document : documents) {
+          String name = document.getString(field);
+          if (name != null) {
+            names.put(name.toLowerCase(lower), name);
+          }
+        }
+        List<String> resolved = new ArrayList<>(usernames.size());
+        for (String username : usernames) {
+          resolved.add(names.getOrDefault(username.toLowerCase(lower), username));
+        }
+        return resolved;
+      });
+  }
+
+  private static String locale(boolean caseInsensitive, String locale) {
+    return caseInsensitive ? locale : null;
+  }
+
+  private <T> Future<T> bulk(Supplier<Future<T>> query) {
+    if (lane != null) {
+      return lane.execute(query);
+    }
+    return query.get();
   }
 }
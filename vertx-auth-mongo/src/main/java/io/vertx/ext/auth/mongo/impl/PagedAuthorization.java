@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.ext.auth.authorization.AndAuthorization;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.AuthorizationContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The roles and permissions of a user loaded so far, one slice of the arrays of the user document after the other.
+ * Only the loaded slices are verified, the following slices are loaded by the checks that need them, see
+ * {@link MongoAuthorizationImpl#check}.
+ * <p>
+ * It is the and of the loaded authorizations, so it can be serialized with the user.
+ */
+class PagedAuthorization implements AndAuthorization {
+
+  private final Set<Authorization> loaded = new LinkedHashSet<>();
+  private int offset;
+  private int size;
+  private Future<Void> pending;
+  private List<Authorization> authorizations;
+
+  /**
+   * @param first  the authorizations of the first slice
+   * @param offset the offset of the next slice
+   * @param size   the size of the largest array
+   */
+  PagedAuthorization(Collection<Authorization> first, int offset, int size) {
+    this.loaded.addAll(first);
+    this.offset = offset;
+    this.size = size;
+  }
+
+  /**
+   * @return whether every slice has been loaded
+   */
+  boolean complete() {
+    return offset >= size;
+  }
+
+  /**
+   * Loads the next slice, at most one slice is loaded at a time.
+   *
+   * @param loader loads the slice starting at the given offset and returns its authorizations and the size of the
+   *               largest array, which may have changed since the previous slice
+   */
+  Future<Void> next(Function<Integer, Future<Slice>> loader) {
+    if (pending == null) {
+      int from = offset;
+      Future<Void> fut = loader.apply(from).map(slice -> {
+        loaded.addAll(slice.authorizations);
+        authorizations = null;
+        offset = slice.next;
+        size = slice.size;
+        return null;
+      });
+      pending = fut;
+      fut.onComplete(ar -> pending = null);
+      return fut;
+    }
+    return pending;
+  }
+
+  @Override
+  public List<Authorization> getAuthorizations() {
+    List<Authorization> list = authorizations;
+    if (list == null) {
+      authorizations = list = Collections.unmodifiableList(new ArrayList<>(loaded));
+    }
+    return list;
+  }
+
+  @Override
+  public AndAuthorization addAuthorization(Authorization authorization) {
+    loaded.add(Objects.requireNonNull(authorization));
+    authorizations = null;
+    return this;
+  }
+
+  @Override
+  public boolean match(AuthorizationContext context) {
+    Objects.requireNonNull(context);
+    for (Authorization authorization : loaded) {
+      if (!authorization.match(context)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean verify(Authorization authorization) {
+    Objects.requireNonNull(authorization);
+    if (loaded.contains(authorization)) {
+      return true;
+    }
+    for (Authorization granted : loaded) {
+      if (granted.verify(authorization)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A slice of the arrays of a user.
+   */
+  static final class Slice {
+    final Collection<Authorization> authorizations;
+    final int next;
+    final int size;
+
+    Slice(Collection<Authorization> authorizations, int next, int size) {
+      this.authorizations = authorizations;
+      this.next = next;
+      this.size = size;
+    }
+  }
+}
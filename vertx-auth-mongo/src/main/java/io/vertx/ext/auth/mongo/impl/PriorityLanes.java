@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.ext.auth.mongo.PriorityLaneOptions;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Schedules the queries sent with a {@link MongoClient} in an interactive and a bulk lane, see
+ * {@link PriorityLaneOptions}. Queries waiting in the interactive lane are dispatched first, and a bulk query only
+ * starts when no interactive query is waiting.
+ */
+class PriorityLanes {
+
+  private static final Map<MongoClient, PriorityLanes> INSTANCES = Collections.synchronizedMap(new WeakHashMap<>());
+
+  static PriorityLanes of(MongoClient client) {
+    return INSTANCES.computeIfAbsent(client, c -> new PriorityLanes());
+  }
+
+  /**
+   * Creates the worker executor computing the hashes of a lane.
+   *
+   * @return the executor or {@code null} when hashes are computed on the calling thread
+   */
+  static WorkerExecutor hashExecutor(Vertx vertx, String lane, PriorityLaneOptions options) {
+    if (vertx == null || options == null || options.getHashConcurrency() <= 0) {
+      return null;
+    }
+    return vertx.createSharedWorkerExecutor("vertx-auth-mongo-" + lane + "-hash", options.getHashConcurrency());
+  }
+
+  final Lane interactive = new Lane();
+  final Lane bulk = new Lane();
+
+  final class Lane {
+
+    private final ArrayDeque<Runnable> waiters = new ArrayDeque<>();
+    // -1 until a component configures the lane
+    private int budget = -1;
+    private int inFlight;
+
+    /**
+     * Raises the budget of the lane to the one of the options, the lane being shared by the components using the same
+     * client, the largest budget wins and an unbounded budget wins over any other.
+     */
+    Lane budget(PriorityLaneOptions options) {
+      int requested = options != null ? Math.max(0, options.getQueryConcurrency()) : 0;
+      synchronized (PriorityLanes.this) {
+        if (budget == -1 || requested == 0) {
+          budget = requested;
+        } else if (budget != 0) {
+          budget = Math.max(budget, requested);
+        }
+      }
+      return this;
+    }
+
+    <T> Future<T> execute(Supplier<Future<T>> query) {
+      Promise<T> promise = Promise.promise();
+      synchronized (PriorityLanes.this) {
+        if (!waiters.isEmpty() || !admits(this)) {
+          waiters.add(() -> run(query, promise));
+          return promise.future();
+        }
+        inFlight++;
+      }
+      run(query, promise);
+      return promise.future();
+    }
+
+    private <T> void run(Supplier<Future<T>> query, Promise<T> promise) {
+      Future<T> fut;
+      try {
+        fut = query.get();
+      } catch (RuntimeException e) {
+        fut = Future.failedFuture(e);
+      }
+      fut.onComplete(ar -> {
+        release(this);
+        promise.handle(ar);
+      });
+    }
+
+    private boolean hasCapacity() {
+      return budget <= 0 || inFlight < budget;
+    }
+  }
+
+  private boolean admits(Lane lane) {
+    return lane.hasCapacity() && (lane == interactive || interactive.waiters.isEmpty());
+  }
+
+  private void release(Lane lane) {
+    List<Runnable> next = new ArrayList<>();
+    synchronized (this) {
+      lane.inFlight--;
+      dispatch(interactive, next);
+      dispatch(bulk, next);
+    }
+    next.forEach(Runnable::run);
+  }
+
+  private void dispatch(Lane lane, List<Runnable> next) {
+    while (!lane.waiters.isEmpty() && admits(lane)) {
+      lane.inFlight++;
+      next.add(lane.waiters.poll());
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.util.StringJoiner;
+
+/**
+ * Chooses the client a lookup is sent to. The Vert.x {@link MongoClient} only supports read preference and read
+ * concern at the client level, so lookups following a non default read preference are sent to a shared client derived
+ * from the original configuration, unless the user has been written recently through a {@link MongoUserUtilImpl} sharing
+ * the {@link RecentWrites} of the provider.
+ */
+class ReadRouting {
+
+  private final MongoClient primary;
+  private final MongoClient reads;
+  private final String collectionName;
+  private final RecentWrites recentWrites;
+  private final long readYourWritesWindow;
+  private final boolean hedges;
+
+  /**
+   * Routes every lookup to the given client.
+   */
+  ReadRouting(MongoClient client, String collectionName) {
+    this.primary = client;
+    this.reads = client;
+    this.collectionName = collectionName;
+    this.recentWrites = null;
+    this.readYourWritesWindow = 0L;
+    this.hedges = false;
+  }
+
+  /**
+   * @param recentWrites the writes read from the primary during the read-your-writes window
+   */
+  ReadRouting(Vertx vertx, MongoClient client, JsonObject config, String collectionName, String readPreference, long maxStalenessSeconds,
+              String readConcernLevel, long readYourWritesWindow, RecentWrites recentWrites) {
+    this.primary = client;
+    this.collectionName = collectionName;
+    this.hedges = readPreference != null && !"primary".equalsIgnoreCase(readPreference);
+    if (readPreference == null && readConcernLevel == null) {
+      this.reads = client;
+      this.recentWrites = null;
+      this.readYourWritesWindow = 0L;
+    } else {
+      JsonObject readConfig = readConfig(config, readPreference, maxStalenessSeconds, readConcernLevel);
+      this.reads = MongoClient.createShared(vertx, readConfig, "vertx-auth-mongo-reads-" + Integer.toHexString(readConfig.encode().hashCode()));
+      this.readYourWritesWindow = readYourWritesWindow;
+      if (readYourWritesWindow > 0L) {
+        this.recentWrites = recentWrites;
+        this.recentWrites.retain(readYourWritesWindow);
+      } else {
+        this.recentWrites = null;
+      }
+    }
+  }
+
+  /**
+   * @return the client to look up the given user with
+   */
+  MongoClient client(String username) {
+    if (recentWrites != null && recentWrites.writtenWithin(collectionName, username, readYourWritesWindow)) {
+      return primary;
+    }
+    return reads;
+  }
+
+  /**
+   * @return whether lookups can be hedged, i.e. reads are not sent to the primary already
+   */
+  boolean hedges() {
+    return hedges;
+  }
+
+  /**
+   * @return the client to hedge a lookup first sent with the given client, the primary when the first attempt went to
+   * a secondary, {@code null} when the first attempt went to the primary already
+   */
+  MongoClient hedge(MongoClient first) {
+    return hedges && first == reads ? primary : null;
+  }
+
+  Future<Void> close() {
+    if (reads != primary) {
+      return reads.close();
+    }
+    return Future.succeededFuture();
+  }
+
+  /**
+   * Derives the configuration of the client used for reads.
+   */
+  static JsonObject readConfig(JsonObject config, String readPreference, long maxStalenessSeconds, String readConcernLevel) {
+    JsonObject readConfig = config.copy();
+    if (readConcernLevel != null) {
+      // validate early rather than on first use
+      ReadConcernLevel.fromString(readConcernLevel);
+      readConfig.put("readConcernLevel", readConcernLevel);
+    }
+    if (readPreference != null) {
+      ReadPreference.valueOf(readPreference);
+      if (maxStalenessSeconds > 0L) {
+        // the json configuration has no max staleness setting, both go through the connection string
+        String connectionString = readConfig.getString("connection_string");
+        if (connectionString == null) {
+          throw new IllegalArgumentException("maxStalenessSeconds requires the client to be configured with a connection_string");
+        }
+        readConfig.remove("readPreference");
+        readConfig.put("connection_string", withReadPreference(connectionString, readPreference, maxStalenessSeconds));
+      } else {
+        readConfig.put("readPreference", readPreference);
+      }
+    }
+    return readConfig;
+  }
+
+  private static String withReadPreference(String connectionString, String readPreference, long maxStalenessSeconds) {
+    int idx = connectionString.indexOf('?');
+    String base = idx == -1 ? connectionString : connectionString.substring(0, idx);
+    if (base.indexOf('/', base.indexOf("://") + 3) == -1) {
+      base += "/";
+    }
+    StringJoiner params = new StringJoiner("&");
+    if (idx != -1) {
+      for (String param : connectionString.substring(idx + 1).split("&")) {
+        String name = param.split("=", 2)[0];
+        if (!param.isEmpty() && !"readPreference".equalsIgnoreCase(name) && !"maxStalenessSeconds".equalsIgnoreCase(name)) {
+          params.add(param);
+        }
+      }
+    }
+    params.add("readPreference=" + readPreference);
+    params.add("maxStalenessSeconds=" + maxStalenessSeconds);
+    return base + "?" + params;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.ext.auth.mongo.MongoUserWrites;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the users written through the {@link MongoUserUtilImpl} given this tracker, so the providers given
+ * the same tracker can read their own writes from the primary and evict them from their caches.
+ */
+public class RecentWrites implements MongoUserWrites {
+
+  private static final int PRUNE_THRESHOLD = 1024;
+
+  private final Map<String, Long> writes = new ConcurrentHashMap<>();
+  private final Set<Cache> caches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+  private volatile long retention;
+
+  /**
+   * @return the tracker of the writes given to a factory, only the instances of {@link MongoUserWrites#create()} track
+   * writes
+   * @throws IllegalArgumentException when the writes were not created by {@link MongoUserWrites#create()}
+   */
+  public static RecentWrites of(MongoUserWrites writes) {
+    if (!(writes instanceof RecentWrites)) {
+      throw new IllegalArgumentException("The writes must be created with MongoUserWrites.create()");
+    }
+    return (RecentWrites) writes;
+  }
+
+  /**
+   * Registers a cache to invalidate on writes, the cache is forgotten once unreachable.
+   */
+  void invalidates(Cache cache) {
+    caches.add(cache);
+  }
+
+  /**
+   * Declares the window a reader is interested in, writes older than the largest window are forgotten.
+   */
+  void retain(long windowMillis) {
+    long nanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    synchronized (this) {
+      if (nanos > retention) {
+        retention = nanos;
+      }
+    }
+  }
+
+  void written(String collection, String username) {
+    if (!caches.isEmpty()) {
+      synchronized (caches) {
+        for (Cache cache : caches) {
+          cache.invalidate(collection, username);
+        }
+      }
+    }
+    if (retention == 0L) {
+      // nobody reads from a secondary
+      return;
+    }
+    long now = System.nanoTime();
+    writes.put(key(collection, username), now);
+    if (writes.size() > PRUNE_THRESHOLD) {
+      writes.values().removeIf(time -> now - time > retention);
+    }
+  }
+
+  boolean writtenWithin(String collection, String username, long windowMillis) {
+    Long time = writes.get(key(collection, username));
+    return time != null && System.nanoTime() - time <= TimeUnit.MILLISECONDS.toNanos(windowMillis);
+  }
+
+  private static String key(String collection, String username) {
+    return collection + '\u0000' + username;
+  }
+
+  /**
+   * A cache of a provider holding entries per user.
+   */
+  interface Cache {
+
+    /**
+     * Evicts the user when it belongs to the collection of this cache.
+     */
+    void invalidate(String collection, String username);
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.auth.mongo.RoleHierarchyOptions;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The transitive closure of the roles defined in a collection, see {@link RoleHierarchyOptions}.
+ * <p>
+ * The definitions are loaded when created and kept current with a change stream opened before the load. When a role
+ * changes, only the closures of the role and of the roles inheriting from it are computed again.
+ */
+class RoleHierarchy {
+
+  private static final long RESTART_DELAY = 1000L;
+
+  private final Vertx vertx;
+  private final Context context;
+  private final MongoClient client;
+  private final RoleHierarchyOptions options;
+  private final Promise<Void> ready = Promise.promise();
+  private final Map<String, Expansion> closures = new ConcurrentHashMap<>();
+  private final Runnable onChange;
+
+  // the following fields are only accessed on the context
+  private final Map<String, Role> roles = new HashMap<>();
+  private final Map<String, String> names = new HashMap<>();
+  private final Map<String, Set<String>> children = new HashMap<>();
+  private ReadStream<ChangeStreamDocument<JsonObject>> changes;
+  private int generation;
+  private boolean closed;
+
+  /**
+   * @param onChange called on the context when the definitions of the roles are loaded or changed, {@code null} for
+   *                 none
+   */
+  RoleHierarchy(Vertx vertx, MongoClient client, RoleHierarchyOptions options, Runnable onChange) {
+    if (vertx == null) {
+      throw new IllegalStateException("The role hierarchy requires a Vert.x instance");
+    }
+    this.vertx = vertx;
+    this.context = vertx.getOrCreateContext();
+    this.client = client;
+    this.options = options;
+    this.onChange = onChange;
+    context.runOnContext(v -> sync());
+  }
+
+  /**
+   * @return a future completed when the roles have been loaded for the first time
+   */
+  Future<Void> ready() {
+    return ready.future();
+  }
+
+  /**
+   * @return the roles and permissions granted by the given role, or {@code null} when the role is not defined
+   */
+  Expansion expand(String role) {
+    return closures.get(role);
+  }
+
+  /**
+   * @return the defined roles granting the given role, including itself when defined
+   */
+  List<String> rolesGrantingRole(String role) {
+    List<String> granting = new ArrayList<>();
+    closures.forEach((name, expansion) -> {
+      if (expansion.roles.contains(role)) {
+        granting.add(name);
+      }
+    });
+    return granting;
+  }
+
+  /**
+   * @return the defined roles granting the given permission
+   */
+  List<String> rolesGrantingPermission(String permission) {
+    List<String> granting = new ArrayList<>();
+    closures.forEach((name, expansion) -> {
+      if (expansion.permissions.contains(permission)) {
+        granting.add(name);
+      }
+    });
+    return granting;
+  }
+
+  Future<Void> close() {
+    Promise<Void> promise = Promise.promise();
+    context.runOnContext(v -> {
+      closed = true;
+      generation++;
+      stop();
+      ready.tryFail("Role hierarchy closed");
+      promise.complete();
+    });
+    return promise.future();
+  }
+
+  private void sync() {
+    if (closed) {
+      return;
+    }
+    int gen = ++generation;
+    List<ChangeStreamDocument<JsonObject>> pending = new ArrayList<>();
+    boolean[] loading = { true };
+    changes = client.watch(options.getCollectionName(), new JsonArray(), true, 100);
+    changes
+      .exceptionHandler(err -> restart(gen))
+      .endHandler(v -> restart(gen))
+      .handler(event -> {
+        if (gen != generation) {
+          return;
+        }
+        if (loading[0]) {
+          pending.add(event);
+        } else {
+          apply(event);
+        }
+      });
+    client.find(options.getCollectionName(), new JsonObject()).onComplete(ar -> {
+      if (gen != generation) {
+        return;
+      }
+      if (ar.failed()) {
+        restart(gen);
+        return;
+      }
+      roles.clear();
+      names.clear();
+      children.clear();
+      for (JsonObject document : ar.result()) {
+        define(UserMirror.id(document.getValue("_id")), document);
+      }
+      Set<String> previous = new HashSet<>(closures.keySet());
+      for (String name : roles.keySet()) {
+        closures.put(name, closure(name));
+        previous.remove(name);
+      }
+      closures.keySet().removeAll(previous);
+      for (ChangeStreamDocument<JsonObject> event : pending) {
+        apply(event);
+      }
+      loading[0] = false;
+      if (onChange != null) {
+        // the definitions may have changed while the change stream was down
+        onChange.run();
+      }
+      ready.tryComplete();
+    });
+  }
+
+  private void apply(ChangeStreamDocument<JsonObject> event) {
+    String id = UserMirror.id(event.getDocumentKey());
+    if (id == null) {
+      return;
+    }
+    Set<String> affected = new LinkedHashSet<>();
+    String previous = undefine(id);
+    if (previous != null) {
+      affected.add(previous);
+    }
+    JsonObject document = event.getFullDocument();
+    switch (event.getOperationTypeString()) {
+      case "insert":
+      case "update":
+      case "replace":
+        if (document != null && define(id, document) != null) {
+          affected.add(document.getString(options.getNameField()));
+        }
+        break;
+      default:
+        break;
+    }
+    update(affected);
+  }
+
+  /**
+   * Computes again the closures of the given roles and of the roles inheriting from them.
+   */
+  private void update(Set<String> changed) {
+    Set<String> affected = new LinkedHashSet<>();
+    ArrayDeque<String> queue = new ArrayDeque<>(changed);
+    while (!queue.isEmpty()) {
+      String name = queue.poll();
+      if (affected.add(name)) {
+        queue.addAll(children.getOrDefault(name, Collections.emptySet()));
+      }
+    }
+    for (String name : affected) {
+      if (roles.containsKey(name)) {
+        closures.put(name, closure(name));
+      } else {
+        closures.remove(name);
+      }
+    }
+    if (onChange != null && !affected.isEmpty()) {
+      onChange.run();
+    }
+  }
+
+  private Role define(String id, JsonObject document) {
+    String name = document.getString(options.getNameField());
+    if (name == null) {
+      return null;
+    }
+    Role role = new Role(strings(document.getJsonArray(options.getPermissionField())), strings(document.getJsonArray(options.getParentField())));
+    roles.put(name, role);
+    names.put(id, name);
+    for (String parent : role.parents) {
+      children.computeIfAbsent(parent, key -> new HashSet<>()).add(name);
+    }
+    return role;
+  }
+
+  private String undefine(String id) {
+    String name = names.remove(id);
+    if (name == null) {
+      return null;
+    }
+    Role role = roles.remove(name);
+    for (String parent : role.parents) {
+      Set<String> siblings = children.get(parent);
+      if (siblings != null) {
+        siblings.remove(name);
+        if (siblings.isEmpty()) {
+          children.remove(parent);
+        }
+      }
+    }
+    return name;
+  }
+
+  private Expansion closure(String name) {
+    Set<String> inherited = new LinkedHashSet<>();
+    Set<String> permissions = new LinkedHashSet<>();
+    ArrayDeque<String> queue = new ArrayDeque<>();
+    queue.add(name);
+    while (!queue.isEmpty()) {
+      String current = queue.poll();
+      // cycles are cut by the visited roles
+      if (inherited.add(current)) {
+        Role role = roles.get(current);
+        if (role != null) {
+          permissions.addAll(role.permissions);
+          queue.addAll(role.parents);
+        }
+      }
+    }
+    return new Expansion(Collections.unmodifiableSet(inherited), Collections.unmodifiableSet(permissions));
+  }
+
+  private void restart(int gen) {
+    if (gen != generation || closed) {
+      return;
+    }
+    generation++;
+    stop();
+    vertx.setTimer(RESTART_DELAY, id -> context.runOnContext(v -> sync()));
+  }
+
+  private void stop() {
+    if (changes != null) {
+      ReadStream<ChangeStreamDocument<JsonObject>> current = changes;
+      changes = null;
+      current.handler(null);
+    }
+  }
+
+  private static List<String> strings(JsonArray array) {
+    if (array == null) {
+      return Collections.emptyList();
+    }
+    List<String> list = new ArrayList<>(array.size());
+    for (int i = 0; i < array.size(); i++) {
+      list.add(array.getString(i));
+    }
+    return list;
+  }
+
+  private static final class Role {
+    final List<String> permissions;
+    final List<String> parents;
+
+    Role(List<String> permissions, List<String> parents) {
+      this.permissions = permissions;
+      this.parents = parents;
+    }
+  }
+
+  /**
+   * The roles and permissions granted by a role: the role itself, its ancestors and their permissions.
+   */
+  static final class Expansion {
+    final Set<String> roles;
+    final Set<String> permissions;
+
+    Expansion(Set<String> roles, Set<String> permissions) {
+      this.roles = roles;
+      this.permissions = permissions;
+    }
+  }
+}
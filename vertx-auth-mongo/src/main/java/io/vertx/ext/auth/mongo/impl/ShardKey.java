@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.mongo.ShardKeyOptions;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Derives the value of the shard key of a user and adds it to the queries, see {@link ShardKeyOptions}.
+ */
+class ShardKey {
+
+  private final String field;
+  private final Pattern pattern;
+  private final String principalField;
+
+  /**
+   * @param caseInsensitive whether the usernames are matched case insensitively
+   * @return the shard key, or {@code null} when the collection is not sharded
+   */
+  static ShardKey create(ShardKeyOptions options, boolean caseInsensitive) {
+    if (options == null || options.getField() == null) {
+      return null;
+    }
+    if (caseInsensitive) {
+      // the value is derived from the input as typed, and a query with a collation on a string shard key is broadcast
+      throw new IllegalArgumentException("The shard key does not support case insensitive usernames");
+    }
+    return new ShardKey(options);
+  }
+
+  private ShardKey(ShardKeyOptions options) {
+    this.field = options.getField();
+    this.pattern = options.getPattern() != null ? Pattern.compile(options.getPattern()) : null;
+    this.principalField = options.getPrincipalField();
+  }
+
+  /**
+   * @return the value of the shard key of the user, {@code null} when the username does not hold it
+   */
+  String value(String username) {
+    if (username == null || pattern == null) {
+      return username;
+    }
+    Matcher matcher = pattern.matcher(username);
+    if (!matcher.find()) {
+      return null;
+    }
+    return matcher.groupCount() > 0 ? matcher.group(1) : matcher.group();
+  }
+
+  /**
+   * @return the value of the shard key of an authenticated user, read from the principal when it holds it
+   */
+  String value(JsonObject principal, String username) {
+    if (principalField != null) {
+      Object value = principal.getValue(principalField);
+      if (value instanceof String) {
+        return (String) value;
+      }
+    }
+    return value(username);
+  }
+
+  /**
+   * Adds the equality on the shard key to a query or a new document, so it is routed to the shard of the user.
+   *
+   * @return the query
+   */
+  JsonObject target(JsonObject query, String value) {
+    if (value != null && !query.containsKey(field)) {
+      query.put(field, value);
+    }
+    return query;
+  }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.AndAuthorization;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.NotAuthorization;
+import io.vertx.ext.auth.authorization.OrAuthorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The binary encoding of a user: its principal and attributes as JSON, and its authorizations as tagged records
+ * referencing a table of the distinct role, permission, resource and provider names, each name being written once.
+ * Integers are written as variable length quantities, so a user granted a few hundred roles and permissions takes a
+ * fraction of its JSON form.
+ * <p>
+ * The compact authorizations of the providers, such as {@link BitsetAuthorization}, are written as the and of their
+ * roles and permissions, which verifies the same authorizations.
+ */
+public final class UserEncoding {
+
+  private static final byte VERSION = 1;
+
+  private static final byte ROLE = 1;
+  private static final byte PERMISSION = 2;
+  private static final byte WILDCARD = 3;
+  private static final byte AND = 4;
+  private static final byte OR = 5;
+  private static final byte NOT = 6;
+
+  private UserEncoding() {
+  }
+
+  public static Buffer encode(User user) {
+    Map<String, List<Authorization>> providers = new LinkedHashMap<>();
+    user.authorizations().forEach((providerId, authorization) ->
+      providers.computeIfAbsent(providerId, k -> new ArrayList<>()).add(authorization));
+
+    Names names = new Names();
+    Buffer records = Buffer.buffer();
+    writeVarInt(records, providers.size());
+    for (Map.Entry<String, List<Authorization>> provider : providers.entrySet()) {
+      writeVarInt(records, names.id(provider.getKey()));
+      writeVarInt(records, provider.getValue().size());
+      for (Authorization authorization : provider.getValue()) {
+        write(records, names, authorization);
+      }
+    }
+
+    Buffer buffer = Buffer.buffer(records.length() + 64 + 16 * names.list.size());
+    buffer.appendByte(VERSION);
+    writeJson(buffer, user.principal());
+    writeJson(buffer, user.attributes());
+    writeVarInt(buffer, names.list.size());
+    for (String name : names.list) {
+      writeString(buffer, name);
+    }
+    return buffer.appendBuffer(records);
+  }
+
+  public static User decode(Buffer buffer) {
+    Reader reader = new Reader(buffer);
+    byte version = buffer.getByte(reader.pos++);
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported user encoding version " + version);
+    }
+    JsonObject principal = reader.json();
+    JsonObject attributes = reader.json();
+    String[] names = new String[reader.varInt()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = reader.string();
+    }
+    User user = User.create(principal, attributes);
+    int providers = reader.varInt();
+    for (int i = 0; i < providers; i++) {
+      String providerId = reader.name(names);
+      int count = reader.varInt();
+      Set<Authorization> authorizations = new HashSet<>(Math.max(16, count * 2));
+      for (int j = 0; j < count; j++) {
+        authorizations.add(read(reader, names));
+      }
+      user.authorizations().put(providerId, authorizations);
+    }
+    return user;
+  }
+
+  private static void write(Buffer buffer, Names names, Authorization authorization) {
+    if (authorization instanceof RoleBasedAuthorization) {
+      RoleBasedAuthorization role = (RoleBasedAuthorization) authorization;
+      buffer.appendByte(ROLE);
+      writeVarInt(buffer, names.id(role.getRole()));
+      writeVarInt(buffer, names.id(role.getResource()));
+    } else if (authorization instanceof WildcardPermissionBasedAuthorization) {
+      WildcardPermissionBasedAuthorization permission = (WildcardPermissionBasedAuthorization) authorization;
+      buffer.appendByte(WILDCARD);
+      writeVarInt(buffer, names.id(permission.getPermission()));
+      writeVarInt(buffer, names.id(permission.getResource()));
+    } else if (authorization instanceof PermissionBasedAuthorization) {
+      PermissionBasedAuthorization permission = (PermissionBasedAuthorization) authorization;
+      buffer.appendByte(PERMISSION);
+      writeVarInt(buffer, names.id(permission.getPermission()));
+      writeVarInt(buffer, names.id(permission.getResource()));
+    } else if (authorization instanceof AndAuthorization) {
+      buffer.appendByte(AND);
+      writeAll(buffer, names, ((AndAuthorization) authorization).getAuthorizations());
+    } else if (authorization instanceof OrAuthorization) {
+      buffer.appendByte(OR);
+      writeAll(buffer, names, ((OrAuthorization) authorization).getAuthorizations());
+    } else if (authorization instanceof NotAuthorization) {
+      buffer.appendByte(NOT);
+      write(buffer, names, ((NotAuthorization) authorization).getAuthorization());
+    } else {
+      throw new IllegalArgumentException("Unsupported authorization " + authorization.getClass());
+    }
+  }
+
+  private static void writeAll(Buffer buffer, Names names, List<Authorization> authorizations) {
+    writeVarInt(buffer, authorizations.size());
+    for (Authorization authorization : authorizations) {
+      write(buffer, names, authorization);
+    }
+  }
+
+  private static Authorization read(Reader reader, String[] names) {
+    byte tag = reader.buffer.getByte(reader.pos++);
+    switch (tag) {
+      case ROLE: {
+        RoleBasedAuthorization role = RoleBasedAuthorization.create(reader.name(names));
+        String resource = reader.name(names);
+        return resource != null ? role.setResource(resource) : role;
+      }
+      case PERMISSION: {
+        PermissionBasedAuthorization permission = PermissionBasedAuthorization.create(reader.name(names));
+        String resource = reader.name(names);
+        return resource != null ? permission.setResource(resource) : permission;
+      }
+      case WILDCARD: {
+        WildcardPermissionBasedAuthorization permission = WildcardPermissionBasedAuthorization.create(reader.name(names));
+        String resource = reader.name(names);
+        return resource != null ? permission.setResource(resource) : permission;
+      }
+      case AND: {
+        AndAuthorization and = AndAuthorization.create();
+        int count = reader.varInt();
+        for (int i = 0; i < count; i++) {
+          and.addAuthorization(read(reader, names));
+        }
+        return and;
+      }
+      case OR: {
+        OrAuthorization or = OrAuthorization.create();
+        int count = reader.varInt();
+        for (int i = 0; i < count; i++) {
+          or.addAuthorization(read(reader, names));
+        }
+        return or;
+      }
+      case NOT:
+        return NotAuthorization.create(read(reader, names));
+      default:
+        throw new IllegalArgumentException("Unsupported authorization tag " + tag);
+    }
+  }
+
+  private static void writeJson(Buffer buffer, JsonObject json) {
+    Buffer bytes = json.toBuffer();
+    writeVarInt(buffer, bytes.length());
+    buffer.appendBuffer(bytes);
+  }
+
+  private static void writeString(Buffer buffer, String s) {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(buffer, bytes.length);
+    buffer.appendBytes(bytes);
+  }
+
+  private static void writeVarInt(Buffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.appendByte((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.appendByte((byte) value);
+  }
+
+  /**
+   * The table of the names of an encoded user, {@code 0} stands for {@code null}.
+   */
+  private static final class Names {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> list = new ArrayList<>();
+
+    int id(String name) {
+      if (name == null) {
+        return 0;
+      }
+      Integer id = ids.get(name);
+      if (id == null) {
+        list.add(name);
+        id = list.size();
+        ids.put(name, id);
+      }
+      return id;
+    }
+  }
+
+  private static final class Reader {
+    private final Buffer buffer;
+    private int pos;
+
+    Reader(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    int varInt() {
+      int value = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = buffer.getByte(pos++);
+        value |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+    }
+
+    String string() {
+      int length = varInt();
+      String s = buffer.getString(pos, pos + length, "UTF-8");
+      pos += length;
+      return s;
+    }
+
+    String name(String[] names) {
+      int id = varInt();
+      return id == 0 ? null : names[id - 1];
+    }
+
+    JsonObject json() {
+      int length = varInt();
+      JsonObject json = new JsonObject(buffer.getBuffer(pos, pos + length));
+      pos += length;
+      return json;
+    }
+  }
+}
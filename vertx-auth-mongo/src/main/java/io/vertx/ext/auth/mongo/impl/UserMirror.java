@@ -0,0 +1,454 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.auth.mongo.MirrorOptions;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An in-memory copy of a user collection, loaded when created and kept current with a change stream.
+ * <p>
+ * The change stream is opened before the collection is loaded and its events are applied once the load completes,
+ * so changes made during the load are not lost. Events are idempotent: applying an event twice, or applying events
+ * to a store that already reflects them, converges to the state of the collection.
+ * <p>
+ * The Vert.x client cannot open a change stream from a resume token. When a token is known, the mirror catches up by
+ * running the change stream aggregation with {@code runCommand} until it is exhausted, while the regular change stream
+ * buffers the new events. Without a token, or when the token is no longer in the oplog, the collection is loaded again
+ * into a new store and the previous store keeps answering lookups until the new one replaces it.
+ * <p>
+ * Compact stores can be saved periodically to a snapshot file with the last resume token. A new mirror maps the
+ * snapshot, answers lookups from it immediately and catches up from the token.
+ */
+class UserMirror {
+
+  private static final Logger log = LoggerFactory.getLogger(UserMirror.class);
+
+  private final Vertx vertx;
+  private final Context context;
+  private final MongoClient client;
+  private final String collectionName;
+  private final String usernameField;
+  private final String passwordField;
+  private final String roleField;
+  private final String permissionField;
+  private final String disabledField;
+  private final MirrorOptions options;
+  private final Path snapshot;
+  private final RecentWrites recentWrites;
+  private final long readYourWritesWindow;
+  private final Promise<Void> ready = Promise.promise();
+
+  private volatile UserStore store;
+  // the following fields are only accessed on the mirror context
+  private int generation;
+  private ReadStream<ChangeStreamDocument<JsonObject>> changes;
+  private JsonObject resumeToken;
+  private long version;
+  private long savedVersion;
+  private boolean saving;
+  private long snapshotTimer = -1L;
+  private boolean closed;
+
+  /**
+   * @param passwordField   the field of the password hash retained by a compact store, {@code null} for none
+   * @param roleField       the field of the roles retained by a compact store, {@code null} for none
+   * @param permissionField the field of the permissions retained by a compact store, {@code null} for none
+   * @param disabledField   the field flagging the disabled users, which are not retained, {@code null} for none
+   * @param recentWrites    the writes not served by the mirror during the read-your-writes window
+   */
+  UserMirror(Vertx vertx, MongoClient client, String collectionName, String usernameField, String passwordField, String roleField,
+             String permissionField, String disabledField, MirrorOptions options, long readYourWritesWindow, RecentWrites recentWrites) {
+    if (vertx == null) {
+      throw new IllegalStateException("The mirror mode requires a Vert.x instance");
+    }
+    if (options.getSnapshotPath() != null && !options.isCompact()) {
+      throw new IllegalArgumentException("Mirror snapshots require the compact store");
+    }
+    this.vertx = vertx;
+    this.context = vertx.getOrCreateContext();
+    this.client = client;
+    this.collectionName = collectionName;
+    this.usernameField = usernameField;
+    this.passwordField = passwordField;
+    this.roleField = roleField;
+    this.permissionField = permissionField;
+    this.disabledField = disabledField;
+    this.options = options;
+    this.snapshot = options.getSnapshotPath() != null ? Paths.get(options.getSnapshotPath()) : null;
+    this.readYourWritesWindow = readYourWritesWindow;
+    if (readYourWritesWindow > 0L) {
+      // the change stream lags behind the writes of MongoUserUtil
+      this.recentWrites = recentWrites;
+      this.recentWrites.retain(readYourWritesWindow);
+    } else {
+      this.recentWrites = null;
+    }
+    context.runOnContext(v -> start());
+  }
+
+  /**
+   * @return a future completed when the collection has been loaded for the first time
+   */
+  Future<Void> ready() {
+    return ready.future();
+  }
+
+  /**
+   * @return whether the lookups of the given user can be answered from memory
+   */
+  boolean serves(String username) {
+    return store != null && (recentWrites == null || !recentWrites.writtenWithin(collectionName, username, readYourWritesWindow));
+  }
+
+  List<JsonObject> find(String username) {
+    return store.find(username);
+  }
+
+  Future<Void> close() {
+    Promise<Void> promise = Promise.promise();
+    context.runOnContext(v -> {
+      closed = true;
+      generation++;
+      stop();
+      if (snapshotTimer != -1L) {
+        vertx.cancelTimer(snapshotTimer);
+      }
+      // keep the latest state for the next start
+      save().onComplete(ar -> {
+        UserStore current = store;
+        store = null;
+        if (current != null) {
+          current.close();
+        }
+        ready.tryFail("Mirror closed");
+        promise.complete();
+      });
+    });
+    return promise.future();
+  }
+
+  private void start() {
+    if (snapshot == null) {
+      sync();
+      return;
+    }
+    snapshotTimer = vertx.setPeriodic(Math.max(1L, options.getSnapshotInterval()), id -> save());
+    CompactUserStore loaded = (CompactUserStore) newStore();
+    context.<String>executeBlocking(() -> Files.exists(snapshot) ? loaded.load(snapshot) : null, false).onComplete(ar -> {
+      if (closed) {
+        loaded.close();
+        return;
+      }
+      if (ar.succeeded() && loaded.size() > 0) {
+        resumeToken = ar.result() != null ? new JsonObject(ar.result()) : null;
+        store = loaded;
+        ready.tryComplete();
+        if (resumeToken != null) {
+          resume();
+        } else {
+          // the snapshot answers lookups until the collection is loaded again
+          sync();
+        }
+        return;
+      }
+      if (ar.failed()) {
+        log.warn("Could not load the mirror snapshot " + snapshot, ar.cause());
+      }
+      loaded.close();
+      sync();
+    });
+  }
+
+  /**
+   * Loads the whole collection into a new store.
+   */
+  private void sync() {
+    if (closed) {
+      return;
+    }
+    int gen = ++generation;
+    UserStore next = newStore();
+    List<ChangeStreamDocument<JsonObject>> pending = new ArrayList<>();
+    boolean[] loading = { true };
+    watch(gen, event -> {
+      if (loading[0]) {
+        pending.add(event);
+      } else {
+        apply(store, event);
+      }
+    });
+    client.findBatchWithOptions(collectionName, new JsonObject(), new FindOptions().setBatchSize(options.getBatchSize()))
+      .exceptionHandler(err -> {
+        next.close();
+        restart(gen);
+      })
+      .endHandler(v -> {
+        if (gen != generation) {
+          next.close();
+          return;
+        }
+        for (ChangeStreamDocument<JsonObject> event : pending) {
+          apply(next, event);
+        }
+        loading[0] = false;
+        UserStore previous = store;
+        store = next;
+        version++;
+        if (previous != null) {
+          previous.close();
+        }
+        ready.tryComplete();
+      })
+      .handler(document -> {
+        String username = username(document);
+        if (username != null) {
+          next.put(id(document.getValue("_id")), username, document);
+        }
+      });
+  }
+
+  /**
+   * Catches up the current store from the resume token.
+   */
+  private void resume() {
+    int gen = ++generation;
+    List<ChangeStreamDocument<JsonObject>> pending = new ArrayList<>();
+    boolean[] catchingUp = { true };
+    watch(gen, event -> {
+      if (catchingUp[0]) {
+        pending.add(event);
+      } else {
+        apply(store, event);
+      }
+    });
+    JsonObject command = new JsonObject()
+      .put("aggregate", collectionName)
+      .put("pipeline", new JsonArray().add(new JsonObject().put("$changeStream", new JsonObject()
+        .put("fullDocument", "updateLookup")
+        .put("resumeAfter", resumeToken))))
+      .put("cursor", new JsonObject().put("batchSize", options.getBatchSize()));
+    client.runCommand("aggregate", command)
+      .compose(reply -> drain(gen, reply.getJsonObject("cursor"), "firstBatch"))
+      .onComplete(ar -> {
+        if (gen != generation) {
+          return;
+        }
+        if (ar.failed()) {
+          log.warn("Could not resume the mirror of " + collectionName + ", loading it again", ar.cause());
+          // most likely the token is no longer in the oplog
+          resumeToken = null;
+          restart(gen);
+          return;
+        }
+        for (ChangeStreamDocument<JsonObject> event : pending) {
+          apply(store, event);
+        }
+        catchingUp[0] = false;
+      });
+  }
+
+  private Future<Void> drain(int gen, JsonObject cursor, String batchField) {
+    if (gen != generation) {
+      return Future.succeededFuture();
+    }
+    JsonArray batch = cursor.getJsonArray(batchField);
+    for (int i = 0; i < batch.size(); i++) {
+      JsonObject event = batch.getJsonObject(i);
+      JsonObject key = event.getJsonObject("documentKey");
+      apply(store, event.getString("operationType"), key != null ? id(key.getValue("_id")) : null, event.getJsonObject("fullDocument"));
+      resumeToken = event.getJsonObject("_id");
+    }
+    if (cursor.getJsonObject("postBatchResumeToken") != null) {
+      resumeToken = cursor.getJsonObject("postBatchResumeToken");
+      version++;
+    }
+    long cursorId = cursor.getLong("id", 0L);
+    if (cursorId == 0L) {
+      return Future.succeededFuture();
+    }
+    if (batch.isEmpty()) {
+      // caught up, the regular change stream takes over
+      client.runCommand("killCursors", new JsonObject()
+        .put("killCursors", collectionName)
+        .put("cursors", new JsonArray().add(cursorId)));
+      return Future.succeededFuture();
+    }
+    return client.runCommand("getMore", new JsonObject()
+        .put("getMore", cursorId)
+        .put("collection", collectionName)
+        .put("batchSize", options.getBatchSize())
+        .put("maxTimeMS", 100))
+      .compose(reply -> drain(gen, reply.getJsonObject("cursor"), "nextBatch"));
+  }
+
+  private void watch(int gen, Handler<ChangeStreamDocument<JsonObject>> handler) {
+    changes = client.watch(collectionName, new JsonArray(), true, options.getBatchSize());
+    changes
+      .exceptionHandler(err -> restart(gen))
+      .endHandler(v -> restart(gen))
+      .handler(event -> {
+        if (gen == generation) {
+          handler.handle(event);
+        }
+      });
+  }
+
+  /**
+   * Saves the compact store to the snapshot file, when it changed since the last snapshot.
+   */
+  private Future<Void> save() {
+    UserStore current = store;
+    if (snapshot == null || saving || version == savedVersion || !(current instanceof CompactUserStore)) {
+      return Future.succeededFuture();
+    }
+    saving = true;
+    long saved = version;
+    // the store may get ahead of the token while it is written, replaying these events on start is harmless
+    String token = resumeToken != null ? resumeToken.encode() : null;
+    return context.<Void>executeBlocking(() -> {
+      ((CompactUserStore) current).save(snapshot, token);
+      return null;
+    }, false).andThen(ar -> {
+      saving = false;
+      if (ar.succeeded()) {
+        savedVersion = saved;
+      } else {
+        log.warn("Could not save the mirror snapshot " + snapshot, ar.cause());
+      }
+    }).recover(err -> Future.succeededFuture());
+  }
+
+  private UserStore newStore() {
+    if (options.isCompact()) {
+      return new CompactUserStore(usernameField, passwordField, roleField, permissionField);
+    }
+    return new HeapUserStore();
+  }
+
+  private void apply(UserStore target, ChangeStreamDocument<JsonObject> event) {
+    apply(target, event.getOperationTypeString(), id(event.getDocumentKey()), event.getFullDocument());
+    if (event.getResumeToken() != null) {
+      resumeToken = new JsonObject(event.getResumeToken().toJson());
+    }
+  }
+
+  private void apply(UserStore target, String operationType, String id, JsonObject document) {
+    if (id == null || operationType == null) {
+      return;
+    }
+    switch (operationType) {
+      case "insert":
+      case "update":
+      case "replace": {
+        String username = document != null ? username(document) : null;
+        if (username != null) {
+          target.put(id, username, document);
+        } else {
+          // deleted since the event, disabled, or no longer a user
+          target.remove(id);
+        }
+        break;
+      }
+      case "delete":
+        target.remove(id);
+        break;
+      default:
+        // drop, rename and invalidate end the stream
+        return;
+    }
+    version++;
+  }
+
+  /**
+   * @return the username of the document, or {@code null} when the document is not an enabled user
+   */
+  private String username(JsonObject document) {
+    if (disabledField != null && Boolean.TRUE.equals(document.getValue(disabledField))) {
+      return null;
+    }
+    return document.getString(usernameField);
+  }
+
+  private void restart(int gen) {
+    if (gen != generation || closed) {
+      return;
+    }
+    generation++;
+    stop();
+    vertx.setTimer(Math.max(1L, options.getRestartDelay()), id -> context.runOnContext(v -> {
+      if (resumeToken != null && store != null) {
+        resume();
+      } else {
+        sync();
+      }
+    }));
+  }
+
+  private void stop() {
+    if (changes != null) {
+      ReadStream<ChangeStreamDocument<JsonObject>> current = changes;
+      changes = null;
+      // unsubscribes from the change stream
+      current.handler(null);
+    }
+  }
+
+  static String id(BsonDocument key) {
+    BsonValue id = key != null ? key.get("_id") : null;
+    if (id == null) {
+      return null;
+    }
+    if (id.isObjectId()) {
+      return id.asObjectId().getValue().toHexString();
+    }
+    if (id.isString()) {
+      return id.asString().getValue();
+    }
+    return id(new JsonObject(key.toJson()).getValue("_id"));
+  }
+
+  /**
+   * Normalizes a document id, object ids are decoded as hex strings or as $oid objects depending on the client
+   * configuration.
+   */
+  static String id(Object id) {
+    if (id instanceof JsonObject && ((JsonObject) id).containsKey("$oid")) {
+      return ((JsonObject) id).getString("$oid");
+    }
+    return id != null ? String.valueOf(id) : null;
+  }
+}
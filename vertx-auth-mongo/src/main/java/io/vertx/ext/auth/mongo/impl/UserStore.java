@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+
+/**
+ * The in-memory copy of a user collection held by a {@link UserMirror}. A store is written by a single thread and read
+ * concurrently by lookups.
+ */
+interface UserStore {
+
+  /**
+   * Inserts or replaces the document with the given id.
+   */
+  void put(String id, String username, JsonObject document);
+
+  /**
+   * Removes the document with the given id, if present.
+   */
+  void remove(String id);
+
+  /**
+   * @return copies of the documents of the given user
+   */
+  List<JsonObject> find(String username);
+
+  /**
+   * @return the number of documents
+   */
+  int size();
+
+  /**
+   * Releases the memory held by the store.
+   */
+  void close();
+}
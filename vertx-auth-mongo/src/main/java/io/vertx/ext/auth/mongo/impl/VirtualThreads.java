@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.ThreadingModel;
+import io.vertx.core.VerticleBase;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs the straight-line variant of the provider operations on virtual threads, in the context of a verticle deployed
+ * with the {@link ThreadingModel#VIRTUAL_THREAD} threading model.
+ */
+class VirtualThreads {
+
+  private final Vertx vertx;
+  private final Carrier carrier = new Carrier();
+  private Future<String> deployment;
+
+  private VirtualThreads(Vertx vertx) {
+    this.vertx = vertx;
+  }
+
+  /**
+   * @return the virtual threads of a provider, {@code null} when they are not enabled or not available
+   */
+  static VirtualThreads create(Vertx vertx, boolean enabled) {
+    return enabled && vertx != null && available() ? new VirtualThreads(vertx) : null;
+  }
+
+  /**
+   * @return whether the caller runs on a virtual thread context and can await futures
+   */
+  static boolean onVirtualThread() {
+    Context context = Vertx.currentContext();
+    return context != null && context.threadingModel() == ThreadingModel.VIRTUAL_THREAD;
+  }
+
+  /**
+   * @return whether the JVM has virtual threads
+   */
+  static boolean available() {
+    return Runtime.version().feature() >= 21;
+  }
+
+  /**
+   * Runs a task on a virtual thread, the returned future is completed on the context of the caller. The tasks share
+   * the context of the verticle, a task holds it until it awaits a future, so CPU bound work must be awaited from a
+   * worker with {@link #blocking(Callable)}.
+   */
+  <T> Future<T> run(Callable<T> task) {
+    Context caller = Vertx.currentContext();
+    Promise<T> promise = Promise.promise();
+    deploy().onComplete(ar -> {
+      if (ar.failed()) {
+        promise.fail(ar.cause());
+        return;
+      }
+      carrier.context().runOnContext(v -> {
+        try {
+          T result = task.call();
+          complete(caller, () -> promise.complete(result));
+        } catch (Throwable t) {
+          complete(caller, () -> promise.fail(t));
+        }
+      });
+    });
+    return promise.future();
+  }
+
+  /**
+   * Awaits a task run on a worker thread, from a task of {@link #run(Callable)}.
+   */
+  <T> T blocking(Callable<T> task) {
+    return vertx.executeBlocking(task, false).await();
+  }
+
+  Future<Void> close() {
+    Future<String> deployed;
+    synchronized (this) {
+      deployed = deployment;
+      deployment = null;
+    }
+    if (deployed == null) {
+      return Future.succeededFuture();
+    }
+    return deployed.transform(ar -> ar.succeeded() ? vertx.undeploy(ar.result()) : Future.succeededFuture());
+  }
+
+  private synchronized Future<String> deploy() {
+    if (deployment == null) {
+      deployment = vertx.deployVerticle(carrier, new DeploymentOptions().setThreadingModel(ThreadingModel.VIRTUAL_THREAD));
+    }
+    return deployment;
+  }
+
+  private static void complete(Context caller, Runnable completion) {
+    if (caller != null) {
+      caller.runOnContext(v -> completion.run());
+    } else {
+      completion.run();
+    }
+  }
+
+  /**
+   * The verticle providing the virtual thread context.
+   */
+  private static class Carrier extends VerticleBase {
+
+    Context context() {
+      return context;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.auth.mongo.WarmUpOptions;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+/**
+ * Loads the most recently active users of a collection in a {@link LookupCache}, see {@link WarmUpOptions}.
+ */
+class WarmUp {
+
+  private WarmUp() {
+  }
+
+  /**
+   * @return a future completed once the users are loaded, the warm-up timed out or failed, a failed warm-up leaves
+   * the cache partially loaded
+   */
+  static Future<Void> run(Vertx vertx, MongoClient client, String collectionName, String usernameField, WarmUpOptions options, LookupCache cache) {
+    if (vertx == null) {
+      throw new IllegalStateException("The warm-up requires a Vert.x instance");
+    }
+    Promise<Void> promise = Promise.promise();
+    long generation = cache.generation();
+    // the stream and the timers share the context, so the users are only accessed by its thread
+    vertx.getOrCreateContext().runOnContext(v -> load(vertx, client, collectionName, usernameField, options, cache, generation, promise));
+    return promise.future();
+  }
+
+  private static void load(Vertx vertx, MongoClient client, String collectionName, String usernameField, WarmUpOptions options, LookupCache cache,
+                           long generation, Promise<Void> promise) {
+    int batchSize = Math.max(1, options.getBatchSize());
+    Map<String, List<JsonObject>> users = new LinkedHashMap<>();
+    FindOptions findOptions = new FindOptions()
+      // the users beyond the size of the cache would evict each other
+      .setLimit(Math.min(options.getSize(), cache.maxSize()))
+      .setBatchSize(batchSize);
+    if (options.getLastLoginField() != null) {
+      findOptions.setSort(new JsonObject().put(options.getLastLoginField(), -1));
+    }
+    JsonObject query = options.getQuery() != null ? options.getQuery() : new JsonObject();
+    ReadStream<JsonObject> stream = client.findBatchWithOptions(collectionName, query, findOptions);
+    long timer = vertx.setTimer(Math.max(1L, options.getTimeout()), id -> {
+      // unsubscribes from the cursor
+      stream.handler(null);
+      complete(users, cache, generation, promise);
+    });
+    int[] read = { 0 };
+    stream
+      .exceptionHandler(err -> {
+        vertx.cancelTimer(timer);
+        complete(users, cache, generation, promise);
+      })
+      .endHandler(v -> {
+        vertx.cancelTimer(timer);
+        complete(users, cache, generation, promise);
+      })
+      .handler(document -> {
+        String username = document.getString(usernameField);
+        if (username != null) {
+          users.computeIfAbsent(username, key -> new ArrayList<>(1)).add(document);
+        }
+        if (++read[0] % batchSize == 0 && options.getBatchDelay() > 0L) {
+          stream.pause();
+          vertx.setTimer(options.getBatchDelay(), id -> stream.resume());
+        }
+      });
+  }
+
+  private static void complete(Map<String, List<JsonObject>> users, LookupCache cache, long generation, Promise<Void> promise) {
+    if (promise.tryComplete()) {
+      // the most recently active users are put last, so they are the last ones the cache evicts, and the users written
+      // during the warm-up are not loaded
+      List<Map.Entry<String, List<JsonObject>>> entries = new ArrayList<>(users.entrySet());
+      ListIterator<Map.Entry<String, List<JsonObject>>> it = entries.listIterator(entries.size());
+      while (it.hasPrevious()) {
+        Map.Entry<String, List<JsonObject>> entry = it.previous();
+        cache.put(entry.getKey(), entry.getValue(), generation);
+      }
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A prefix trie of granted wildcard permissions, such as {@code orders:*} or {@code orders:eu,us:read}, indexed by
+ * their parts. It implies the same permissions as the {@link WildcardPermissionBasedAuthorization} of its grants, but
+ * a requested permission is matched by walking its parts instead of comparing it with each grant. A trie is immutable
+ * so the users with the same grants share it, see {@link Shared}.
+ */
+class WildcardTrie {
+
+  private static final String PART_DIVIDER = ":";
+  private static final String SUBPART_DIVIDER = ",";
+  private static final String WILDCARD = "*";
+
+  private final Node root = new Node();
+  private final List<Authorization> grants;
+
+  WildcardTrie(Collection<String> permissions) {
+    List<Authorization> grants = new ArrayList<>(permissions.size());
+    for (String permission : permissions) {
+      WildcardPermissionBasedAuthorization grant = WildcardPermissionBasedAuthorization.create(permission);
+      grants.add(grant);
+      insert(root, grant.getPermission().trim().split(PART_DIVIDER), 0);
+    }
+    this.grants = Collections.unmodifiableList(grants);
+    root.complete();
+  }
+
+  /**
+   * @return the granted wildcard permissions
+   */
+  List<Authorization> grants() {
+    return grants;
+  }
+
+  /**
+   * @return whether a grant implies the given permission
+   */
+  boolean implies(String permission) {
+    String[] parts = permission.trim().split(PART_DIVIDER);
+    if (parts.length == 0) {
+      return impliedByEach(permission);
+    }
+    for (String part : parts) {
+      if (part.contains(SUBPART_DIVIDER)) {
+        // a requested part with several subparts must be contained by a single granted part
+        return impliedByEach(permission);
+      }
+    }
+    return match(root, parts, 0);
+  }
+
+  private boolean impliedByEach(String permission) {
+    PermissionBasedAuthorization requested = PermissionBasedAuthorization.create(permission);
+    for (Authorization grant : grants) {
+      if (grant.verify(requested)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void insert(Node node, String[] parts, int index) {
+    if (index == parts.length) {
+      node.terminal = true;
+      return;
+    }
+    String[] subparts = parts[index].split(SUBPART_DIVIDER);
+    Set<String> set = new HashSet<>();
+    Collections.addAll(set, subparts);
+    if (set.contains(WILDCARD)) {
+      if (node.any == null) {
+        node.any = new Node();
+      }
+      insert(node.any, parts, index + 1);
+    } else {
+      // a granted part contains a requested single subpart when one of its subparts is equal
+      for (String subpart : set) {
+        insert(node.children.computeIfAbsent(subpart, k -> new Node()), parts, index + 1);
+      }
+    }
+  }
+
+  private static boolean match(Node node, String[] parts, int index) {
+    if (node.terminal) {
+      // the missing parts of a grant are implied wildcards
+      return true;
+    }
+    if (index == parts.length) {
+      return node.complete;
+    }
+    Node child = node.children.get(parts[index]);
+    if (child != null && match(child, parts, index + 1)) {
+      return true;
+    }
+    return node.any != null && match(node.any, parts, index + 1);
+  }
+
+  private static class Node {
+
+    private final Map<String, Node> children = new HashMap<>(4);
+    private Node any;
+    private boolean terminal;
+    // whether a grant continues from this node with wildcard parts only, so it implies a permission ending here
+    private boolean complete;
+
+    private boolean complete() {
+      for (Node child : children.values()) {
+        child.complete();
+      }
+      complete = terminal | (any != null && any.complete());
+      return complete;
+    }
+  }
+
+  /**
+   * The tries of a provider, shared by the users with the same grants.
+   */
+  static class Shared {
+
+    private final Map<Set<String>, WildcardTrie> tries;
+
+    Shared(int maxSize) {
+      this.tries = new LinkedHashMap<Set<String>, WildcardTrie>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Set<String>, WildcardTrie> eldest) {
+          return size() > maxSize;
+        }
+      };
+    }
+
+    /**
+     * @return the trie of the given grants
+     */
+    WildcardTrie get(Collection<String> permissions) {
+      Set<String> key = new HashSet<>(permissions);
+      synchronized (tries) {
+        WildcardTrie trie = tries.get(key);
+        if (trie != null) {
+          return trie;
+        }
+      }
+      // built outside of the lock, racing builders produce equal tries
+      WildcardTrie trie = new WildcardTrie(key);
+      synchronized (tries) {
+        WildcardTrie previous = tries.putIfAbsent(key, trie);
+        return previous != null ? previous : trie;
+      }
+    }
+  }
+}
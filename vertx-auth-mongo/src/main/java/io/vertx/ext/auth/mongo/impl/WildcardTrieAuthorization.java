@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.ext.auth.authorization.AndAuthorization;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.AuthorizationContext;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The wildcard permissions granted to a user, verified with a {@link WildcardTrie} which may be shared with other
+ * users. It is the and of the granted {@link WildcardPermissionBasedAuthorization}, so it can be serialized with the
+ * user and verifies any other authorization like a set of these wildcard permissions does.
+ */
+class WildcardTrieAuthorization implements AndAuthorization {
+
+  private final WildcardTrie trie;
+  private final List<Authorization> added = new ArrayList<>();
+  private List<Authorization> authorizations;
+
+  WildcardTrieAuthorization(WildcardTrie trie) {
+    this.trie = trie;
+  }
+
+  @Override
+  public List<Authorization> getAuthorizations() {
+    List<Authorization> list = authorizations;
+    if (list == null) {
+      if (added.isEmpty()) {
+        list = trie.grants();
+      } else {
+        list = new ArrayList<>(trie.grants());
+        list.addAll(added);
+        list = Collections.unmodifiableList(list);
+      }
+      authorizations = list;
+    }
+    return list;
+  }
+
+  @Override
+  public AndAuthorization addAuthorization(Authorization authorization) {
+    Objects.requireNonNull(authorization);
+    // the trie is shared, it is only granted to this user
+    added.add(authorization);
+    authorizations = null;
+    return this;
+  }
+
+  @Override
+  public boolean match(AuthorizationContext context) {
+    Objects.requireNonNull(context);
+    for (Authorization authorization : getAuthorizations()) {
+      if (!authorization.match(context)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean verify(Authorization authorization) {
+    Objects.requireNonNull(authorization);
+    // the grants have no resource, they verify a permission of any resource
+    if (authorization instanceof PermissionBasedAuthorization) {
+      if (trie.implies(((PermissionBasedAuthorization) authorization).getPermission())) {
+        return true;
+      }
+    } else if (authorization instanceof WildcardPermissionBasedAuthorization) {
+      if (trie.implies(((WildcardPermissionBasedAuthorization) authorization).getPermission())) {
+        return true;
+      }
+    } else if (authorization instanceof WildcardTrieAuthorization && equals(authorization)) {
+      return true;
+    }
+    for (Authorization granted : added) {
+      if (granted.verify(authorization)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof WildcardTrieAuthorization)) {
+      return false;
+    }
+    WildcardTrieAuthorization other = (WildcardTrieAuthorization) obj;
+    return trie == other.trie && added.equals(other.added);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(System.identityHashCode(trie), added);
+  }
+}
@@ -16,17 +16,44 @@
 
 package io.vertx.ext.auth.mongo.test;
 
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.ThreadingModel;
+import io.vertx.core.VerticleBase;
+import io.vertx.core.Vertx;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.TokenCredentials;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.mongo.CacheOptions;
+import io.vertx.ext.auth.mongo.ConcurrencyLimitOptions;
+import io.vertx.ext.auth.mongo.IdentifierOptions;
+import io.vertx.ext.auth.mongo.LoginTrackingOptions;
+import io.vertx.ext.auth.mongo.MongoApiKeyAuthentication;
+import io.vertx.ext.auth.mongo.MongoApiKeyOptions;
 import io.vertx.ext.auth.mongo.MongoAuthentication;
 import io.vertx.ext.auth.mongo.MongoAuthenticationOptions;
+import io.vertx.ext.auth.mongo.MongoAuthorizationOptions;
+import io.vertx.ext.auth.mongo.MongoTenantAuthentication;
+import io.vertx.ext.auth.mongo.MongoUserUtil;
+import io.vertx.ext.auth.mongo.MongoUserWrites;
+import io.vertx.ext.auth.mongo.PriorityLaneOptions;
+import io.vertx.ext.auth.mongo.ShardKeyOptions;
+import io.vertx.ext.auth.mongo.TenantOptions;
+import io.vertx.ext.auth.mongo.ThrottleOptions;
+import io.vertx.ext.auth.mongo.WarmUpOptions;
+import io.vertx.ext.mongo.MongoClient;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runners.model.InitializationError;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -129,6 +156,401 @@ public class MongoAuthenticationTest extends MongoBaseTest {
     await(5, TimeUnit.SECONDS);
   }
 
+  @Test
+  public void testAuthenticateWithDeadlineAndHedging() throws Exception {
+    // the reads go to a replica that never replies, only the hedge sent to the primary can succeed
+    JsonObject unreachable = getConfig().put("connection_string", "mongodb://localhost:1/?serverSelectionTimeoutMS=30000");
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(createCollectionName(MongoAuthentication.DEFAULT_COLLECTION_NAME))
+      .setReadPreference("secondaryPreferred")
+      .setMaxTime(5000)
+      .setHedgeDelay(50);
+    UsernamePasswordCredentials credentials = new UsernamePasswordCredentials("tim", "sausages");
+    MongoAuthentication hedged = MongoAuthentication.create(vertx, getMongoClient(), unreachable, options);
+    assertNotNull(awaitFuture(hedged.authenticate(credentials)));
+    // without hedging the lookup expires
+    MongoAuthentication unhedged = MongoAuthentication.create(vertx, getMongoClient(), unreachable, new MongoAuthenticationOptions(options.toJson())
+      .setMaxTime(500)
+      .setHedgeDelay(0));
+    assertTrue(awaitFuture(unhedged.authenticate(credentials).transform(ar -> Future.succeededFuture(ar.failed()))));
+    awaitFuture(hedged.close().flatMap(v -> unhedged.close()));
+  }
+
+  @Test
+  public void testAuthenticateWithConcurrencyLimit() {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(createCollectionName(MongoAuthentication.DEFAULT_COLLECTION_NAME))
+      .setConcurrencyLimit(new ConcurrencyLimitOptions().setInitialLimit(1).setMaxQueueSize(1));
+    MongoAuthentication provider = getAuthenticationProvider(options);
+    UsernamePasswordCredentials credentials = new UsernamePasswordCredentials("tim", "sausages");
+    Future<User> first = provider.authenticate(credentials);
+    Future<User> queued = provider.authenticate(credentials);
+    Future<User> rejected = provider.authenticate(credentials);
+    assertEquals(1, (int) provider.concurrencyMetrics().getInteger("queued"));
+    Future.join(first, queued, rejected).onComplete(ar -> {
+      assertTrue(first.succeeded());
+      assertTrue(queued.succeeded());
+      assertTrue(rejected.failed());
+      JsonObject metrics = provider.concurrencyMetrics();
+      assertEquals(0, (int) metrics.getInteger("inFlight"));
+      assertEquals(1L, (long) metrics.getLong("rejected"));
+      testComplete();
+    });
+    await();
+  }
+
+  @Test
+  public void testAuthenticateFromWarmedUpCache() throws Exception {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .setCache(new CacheOptions().setMaxSize(10))
+      .setWarmUp(new WarmUpOptions().setLastLoginField(null).setBatchSize(2));
+    MongoUserWrites writes = MongoUserWrites.create();
+    MongoAuthentication provider = MongoAuthentication.create(vertx, getMongoClient(), getConfig(), options, writes);
+    MongoUserUtil userUtil = MongoUserUtil.create(vertx, getMongoClient(), options, new MongoAuthorizationOptions(), writes);
+    UsernamePasswordCredentials credentials = new UsernamePasswordCredentials("tim", "sausages");
+    awaitFuture(provider.ready());
+    assertNotNull(awaitFuture(provider.authenticate(credentials)));
+    // the warmed up user is evicted once deleted
+    awaitFuture(userUtil.deleteUser("tim"));
+    assertTrue(awaitFuture(provider.authenticate(credentials).transform(ar -> Future.succeededFuture(ar.failed()))));
+    awaitFuture(provider.close());
+  }
+
+  @Test
+  public void testWarmUpKeepsMostRecentlyActiveUsers() throws Exception {
+    String collectionName = authenticationOptions.getCollectionName();
+    awaitFuture(getMongoClient().updateCollection(collectionName, new JsonObject().put("username", "tim"),
+      new JsonObject().put("$set", new JsonObject().put("lastLogin", new JsonObject().put("$date", "2026-02-01T00:00:00Z")))));
+    awaitFuture(getMongoClient().updateCollection(collectionName, new JsonObject().put("username", "Michael"),
+      new JsonObject().put("$set", new JsonObject().put("lastLogin", new JsonObject().put("$date", "2026-01-01T00:00:00Z")))));
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(collectionName)
+      .setCache(new CacheOptions().setMaxSize(1))
+      .setWarmUp(new WarmUpOptions().setSize(10));
+    MongoAuthentication provider = MongoAuthentication.create(vertx, getMongoClient(), getConfig(), options);
+    awaitFuture(provider.ready());
+    // changed behind the cache, the most recently active user is still served from it
+    awaitFuture(getMongoClient().updateCollection(collectionName, new JsonObject().put("username", "tim"),
+      new JsonObject().put("$set", new JsonObject().put("password", provider.hash("pbkdf2", "somesalt", "bacon")))));
+    assertNotNull(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "sausages"))));
+    awaitFuture(provider.close());
+  }
+
+  @Test
+  public void testAuthenticateOnVirtualThread() {
+    Assume.assumeTrue(Runtime.version().feature() >= 21);
+    MongoAuthentication provider = getAuthenticationProvider();
+    vertx.deployVerticle(new VerticleBase() {
+      @Override
+      public Future<?> start() {
+        User user = provider.authenticate(new UsernamePasswordCredentials("tim", "sausages")).await();
+        assertNotNull(user);
+        try {
+          provider.authenticate(new UsernamePasswordCredentials("tim", "eggs")).await();
+          fail();
+        } catch (Exception expected) {
+        }
+        return Future.succeededFuture();
+      }
+    }, new DeploymentOptions().setThreadingModel(ThreadingModel.VIRTUAL_THREAD)).onComplete(onSuccess(id -> testComplete()));
+    await();
+  }
+
+  @Test
+  public void testAuthenticateWithVirtualThreads() {
+    Assume.assumeTrue(Runtime.version().feature() >= 21);
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(createCollectionName(MongoAuthentication.DEFAULT_COLLECTION_NAME))
+      .setVirtualThreads(true);
+    MongoAuthentication provider = MongoAuthentication.create(vertx, getMongoClient(), getConfig(), options);
+    // the password is verified in the interactive lane
+    MongoAuthentication lane = MongoAuthentication.create(vertx, getMongoClient(), getConfig(), new MongoAuthenticationOptions(options.toJson())
+      .setInteractiveLane(new PriorityLaneOptions().setHashConcurrency(1)));
+    Context context = vertx.getOrCreateContext();
+    context.runOnContext(v -> provider.authenticate(new UsernamePasswordCredentials("tim", "sausages"))
+      .flatMap(user -> lane.authenticate(new UsernamePasswordCredentials("tim", "sausages")))
+      .onComplete(onSuccess(user -> {
+        // the outcome is delivered on the caller context, not on the virtual thread
+        assertSame(context, Vertx.currentContext());
+        assertNotNull(user);
+        provider.close().flatMap(c -> lane.close()).onComplete(onSuccess(c -> testComplete()));
+      })));
+    await();
+  }
+
+  @Test
+  public void testAuthenticateWithTenants() throws Exception {
+    MongoAuthenticationOptions acme = new MongoAuthenticationOptions().setCollectionName(createCollectionName("user_acme"));
+    MongoAuthenticationOptions globex = new MongoAuthenticationOptions().setCollectionName(createCollectionName("user_globex"));
+    CountDownLatch inserted = new CountDownLatch(2);
+    insertUser(getAuthenticationProvider(), acme, "tim", "acme").onComplete(onSuccess(id -> inserted.countDown()));
+    insertUser(getAuthenticationProvider(), globex, "tim", "globex").onComplete(onSuccess(id -> inserted.countDown()));
+    awaitLatch(inserted);
+    MongoTenantAuthentication provider = MongoTenantAuthentication.create(vertx, getMongoClient(), getConfig(), authenticationOptions,
+      new TenantOptions().setCollectionName(createCollectionName("user_" + TenantOptions.TENANT_PLACEHOLDER)).setMaxTenants(1));
+    User user = awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@acme", "acme")));
+    assertEquals("tim", user.principal().getString("username"));
+    assertEquals("acme", user.attributes().getString("tenant"));
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@globex", "acme")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    user = awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@globex", "globex")));
+    assertEquals("globex", user.attributes().getString("tenant"));
+    // the provider of acme was evicted
+    assertEquals(1, provider.tenants());
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@../admin", "acme")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "acme")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    awaitFuture(provider.close());
+    assertEquals(0, provider.tenants());
+  }
+
+  @Test
+  public void testTenantSeesWritesOfUserUtil() throws Exception {
+    MongoUserWrites writes = MongoUserWrites.create();
+    MongoAuthenticationOptions acme = new MongoAuthenticationOptions().setCollectionName(createCollectionName("user_acme"));
+    MongoUserUtil util = MongoUserUtil.create(vertx, getMongoClient(), acme, new MongoAuthorizationOptions(), writes);
+    awaitFuture(util.createUser("tim", "acme"));
+    MongoTenantAuthentication provider = MongoTenantAuthentication.create(vertx, getMongoClient(), getConfig(),
+      new MongoAuthenticationOptions().setCache(new CacheOptions()),
+      new TenantOptions().setCollectionName(createCollectionName("user_" + TenantOptions.TENANT_PLACEHOLDER)), writes);
+    assertNotNull(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@acme", "acme"))));
+    // the cached user of the tenant is evicted by the update
+    awaitFuture(util.updatePassword("tim", "changed"));
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@acme", "acme")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    assertNotNull(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@acme", "changed"))));
+    awaitFuture(provider.close());
+  }
+
+  @Test
+  public void testEvictTenantWithPendingLogin() throws Exception {
+    // the provider of a tenant with its own database closes its client
+    String database = createCollectionName("tenant_" + TenantOptions.TENANT_PLACEHOLDER);
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions().setCollectionName(authenticationOptions.getCollectionName());
+    for (String tenant : Arrays.asList("acme", "globex")) {
+      MongoClient client = MongoClient.create(vertx, getConfig().copy().put("db_name", database.replace(TenantOptions.TENANT_PLACEHOLDER, tenant)));
+      awaitFuture(client.save(options.getCollectionName(), new JsonObject()
+        .put(options.getUsernameField(), "tim")
+        .put(options.getPasswordField(), getAuthenticationProvider().hash("pbkdf2", "somesalt", tenant))));
+      awaitFuture(client.close());
+    }
+    MongoTenantAuthentication provider = MongoTenantAuthentication.create(vertx, getMongoClient(), getConfig(), options,
+      new TenantOptions().setDatabaseName(database).setMaxTenants(1));
+    Future<User> pending = provider.authenticate(new UsernamePasswordCredentials("tim@acme", "acme"));
+    // evicts acme while its lookup is pending
+    User user = awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@globex", "globex")));
+    assertEquals("globex", user.attributes().getString("tenant"));
+    assertEquals(1, provider.tenants());
+    user = awaitFuture(pending);
+    assertEquals("acme", user.attributes().getString("tenant"));
+    awaitFuture(provider.close());
+  }
+
+  @Test
+  public void testAuthenticateWithApiKey() throws Exception {
+    MongoApiKeyAuthentication provider = MongoApiKeyAuthentication.create(getMongoClient(),
+      new MongoApiKeyOptions().setCollectionName(createCollectionName(MongoApiKeyOptions.DEFAULT_COLLECTION_NAME)).setSecret("pepper"));
+    awaitFuture(provider.createIndex());
+    String key = awaitFuture(provider.createKey("service"));
+    User user = awaitFuture(provider.authenticate(new TokenCredentials(key)));
+    assertEquals("service", user.principal().getString("username"));
+    assertNull(user.principal().getValue(MongoApiKeyOptions.DEFAULT_DIGEST_FIELD));
+    String keyId = key.substring(0, key.indexOf('.'));
+    assertTrue(awaitFuture(provider.authenticate(new TokenCredentials(keyId + ".guess")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    assertTrue(awaitFuture(provider.authenticate(new TokenCredentials("unknown" + key.substring(keyId.length()))).transform(ar -> Future.succeededFuture(ar.failed()))));
+    assertTrue(awaitFuture(provider.authenticate(new TokenCredentials(keyId)).transform(ar -> Future.succeededFuture(ar.failed()))));
+    awaitFuture(provider.revokeKey(key));
+    assertTrue(awaitFuture(provider.authenticate(new TokenCredentials(key)).transform(ar -> Future.succeededFuture(ar.failed()))));
+  }
+
+  @Test
+  public void testAuthenticateWithLeanPrincipal() throws Exception {
+    MongoAuthentication provider = getAuthenticationProvider();
+    JsonObject document = new JsonObject()
+      .put("username", "lean")
+      .put("password", provider.hash("pbkdf2", "somesalt", "secret"))
+      .put("email", "lean@example.com")
+      .put("profile", new JsonObject().put("bio", "a large profile"));
+    awaitFuture(getMongoClient().save(authenticationOptions.getCollectionName(), document));
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .addPrincipalField("email")
+      .setRemoveCredentials(true);
+    User user = awaitFuture(getAuthenticationProvider(options).authenticate(new UsernamePasswordCredentials("lean", "secret")));
+    assertEquals("lean", user.principal().getString("username"));
+    assertEquals("lean@example.com", user.principal().getString("email"));
+    assertFalse(user.principal().containsKey("password"));
+    assertFalse(user.principal().containsKey("profile"));
+    // the whole document without the credentials
+    options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .setRemoveCredentials(true);
+    user = awaitFuture(getAuthenticationProvider(options).authenticate(new UsernamePasswordCredentials("lean", "secret")));
+    assertFalse(user.principal().containsKey("password"));
+    assertTrue(user.principal().containsKey("profile"));
+  }
+
+  @Test
+  public void testAuthenticateWithLoginTracking() throws Exception {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .setLoginTracking(new LoginTrackingOptions().setFlushInterval(60000).setMaxFailedAttempts(2));
+    MongoAuthentication provider = MongoAuthentication.create(vertx, getMongoClient(), getConfig(), options);
+    awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "sausages")));
+    for (int i = 0; i < 2; i++) {
+      assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "bacon")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    }
+    // locked out, even with the right password, and reported like a wrong password
+    assertEquals("Invalid username/password [tim]", awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "sausages"))
+      .transform(ar -> Future.succeededFuture(ar.cause().getMessage()))));
+    // closing flushes the pending logins
+    awaitFuture(provider.close());
+    JsonObject document = awaitFuture(getMongoClient().findOne(options.getCollectionName(), new JsonObject().put("username", "tim"), null));
+    assertNotNull(document.getValue(LoginTrackingOptions.DEFAULT_LAST_LOGIN_FIELD));
+    assertEquals(2, (int) document.getInteger(LoginTrackingOptions.DEFAULT_FAILED_ATTEMPTS_FIELD));
+  }
+
+  @Test
+  public void testLockoutCountsConcurrentAttempts() throws Exception {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .setLoginTracking(new LoginTrackingOptions().setFlushInterval(60000).setMaxFailedAttempts(2))
+      .setInteractiveLane(new PriorityLaneOptions().setHashConcurrency(4));
+    MongoAuthentication provider = MongoAuthentication.create(vertx, getMongoClient(), getConfig(), options);
+    List<Future<User>> attempts = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      attempts.add(provider.authenticate(new UsernamePasswordCredentials("tim", "bacon")));
+    }
+    assertTrue(awaitFuture(Future.join(attempts).transform(ar -> Future.succeededFuture(ar.failed()))));
+    awaitFuture(provider.close());
+    // only the reserved attempts were hashed and counted
+    JsonObject document = awaitFuture(getMongoClient().findOne(options.getCollectionName(), new JsonObject().put("username", "tim"), null));
+    assertEquals(2, (int) document.getInteger(LoginTrackingOptions.DEFAULT_FAILED_ATTEMPTS_FIELD));
+  }
+
+  @Test
+  public void testAuthenticateWithThrottle() throws Exception {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .setThrottle(new ThrottleOptions().setMaxAttemptsPerUsername(2).setMaxAttemptsPerSource(3));
+    MongoAuthentication provider = MongoAuthentication.create(getMongoClient(), options);
+    for (int i = 0; i < 2; i++) {
+      assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "bacon"), "10.0.0.1").transform(ar -> Future.succeededFuture(ar.failed()))));
+    }
+    // throttled, even with the right password
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "sausages")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    // unknown users count against the source
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("nobody", "bacon"), "10.0.0.1").transform(ar -> Future.succeededFuture(ar.failed()))));
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("Michael", "ps1"), "10.0.0.1").transform(ar -> Future.succeededFuture(ar.failed()))));
+    // other sources are not throttled
+    assertNotNull(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("Michael", "ps1"), "10.0.0.2")));
+  }
+
+  @Test
+  public void testThrottleCountsIdentifiersByUsername() throws Exception {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .addIdentifier(new IdentifierOptions("email", IdentifierOptions.EMAIL_PATTERN))
+      .setThrottle(new ThrottleOptions().setMaxAttemptsPerUsername(2));
+    awaitFuture(getMongoClient().updateCollection(options.getCollectionName(), new JsonObject().put("username", "tim"),
+      new JsonObject().put("$set", new JsonObject().put("email", "tim@example.com"))));
+    MongoAuthentication provider = MongoAuthentication.create(getMongoClient(), options);
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@example.com", "bacon")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "bacon")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    // both failures count against tim, whatever identifier is used next
+    assertEquals("Too many attempts [tim]", awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "sausages"))
+      .transform(ar -> Future.succeededFuture(ar.cause().getMessage()))));
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@example.com", "sausages")).transform(ar -> Future.succeededFuture(ar.failed()))));
+  }
+
+  @Test
+  public void testAuthenticateWithIdentifiers() throws Exception {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .addIdentifier(new IdentifierOptions("email", IdentifierOptions.EMAIL_PATTERN))
+      .addIdentifier(new IdentifierOptions("phone", IdentifierOptions.PHONE_PATTERN))
+      .setIdentifierCacheSize(16);
+    awaitFuture(getMongoClient().updateCollection(options.getCollectionName(), new JsonObject().put("username", "tim"),
+      new JsonObject().put("$set", new JsonObject().put("email", "tim@example.com").put("phone", "+15551234567"))));
+    MongoAuthentication provider = MongoAuthentication.create(getMongoClient(), options);
+    User user = awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@example.com", "sausages")));
+    assertEquals("tim", user.principal().getString("username"));
+    assertNotNull(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("+15551234567", "sausages"))));
+    assertNotNull(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim", "sausages"))));
+    // the remembered username of an identifier that changed is not used
+    awaitFuture(getMongoClient().updateCollection(options.getCollectionName(), new JsonObject().put("username", "tim"),
+      new JsonObject().put("$set", new JsonObject().put("email", "tim@example.org"))));
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@example.com", "sausages")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    assertNotNull(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@example.org", "sausages"))));
+  }
+
+  @Test
+  public void testAuthenticateCaseInsensitive() throws Exception {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .setCaseInsensitive(true);
+    awaitFuture(MongoUserUtil.create(getMongoClient(), options, new MongoAuthorizationOptions()).createIndexes());
+    MongoAuthentication provider = MongoAuthentication.create(getMongoClient(), options);
+    User user = awaitFuture(provider.authenticate(new UsernamePasswordCredentials("TIM", "sausages")));
+    assertEquals("tim", user.principal().getString("username"));
+    // the lookup is served by the collation index
+    JsonObject plan = awaitFuture(getMongoClient().runCommand("explain", new JsonObject()
+      .put("explain", new JsonObject()
+        .put("find", options.getCollectionName())
+        .put("filter", new JsonObject().put("username", "TIM"))
+        .put("collation", new JsonObject().put("locale", "en").put("strength", 2)))
+      .put("verbosity", "queryPlanner")));
+    assertTrue(plan.encode().contains("username_1_ci"));
+    // the collation index is unique
+    assertTrue(awaitFuture(getMongoClient().insert(options.getCollectionName(), new JsonObject().put("username", "Tim"))
+      .transform(ar -> Future.succeededFuture(ar.failed()))));
+  }
+
+  @Test
+  public void testThrottleCaseInsensitive() throws Exception {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(authenticationOptions.getCollectionName())
+      .setCaseInsensitive(true)
+      .setThrottle(new ThrottleOptions().setMaxAttemptsPerUsername(2));
+    MongoAuthentication provider = MongoAuthentication.create(getMongoClient(), options);
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("TIM", "bacon")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("Tim", "bacon")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    // every case of the username shares the counter
+    assertEquals("Too many attempts [tIM]", awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tIM", "sausages"))
+      .transform(ar -> Future.succeededFuture(ar.cause().getMessage()))));
+  }
+
+  @Test
+  public void testAuthenticateWithShardKey() throws Exception {
+    String collectionName = createCollectionName("user_sharded");
+    ShardKeyOptions shardKey = new ShardKeyOptions("tenant").setPattern("@(.+)$");
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(collectionName)
+      .setShardKey(shardKey);
+    MongoUserUtil util = MongoUserUtil.create(getMongoClient(), options, new MongoAuthorizationOptions()
+      .setCollectionName(collectionName)
+      .setShardKey(shardKey));
+    awaitFuture(util.createUser("tim@acme", "sausages"));
+    JsonObject document = awaitFuture(getMongoClient().findOne(collectionName, new JsonObject().put("username", "tim@acme"), null));
+    assertEquals("acme", document.getString("tenant"));
+    // the same username in another tenant, only found by a query without the shard key
+    awaitFuture(getMongoClient().save(collectionName, new JsonObject()
+      .put("username", "tim@acme")
+      .put("password", getAuthenticationProvider().hash("pbkdf2", "somesalt", "bacon"))
+      .put("tenant", "globex")));
+    MongoAuthentication provider = MongoAuthentication.create(getMongoClient(), options);
+    // the query includes the equality on the shard key, so it matches a single user
+    assertNotNull(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@acme", "sausages"))));
+    assertTrue(awaitFuture(provider.authenticate(new UsernamePasswordCredentials("tim@acme", "bacon")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    // without shard key both users match
+    MongoAuthentication broadcast = MongoAuthentication.create(getMongoClient(), new MongoAuthenticationOptions().setCollectionName(collectionName));
+    assertTrue(awaitFuture(broadcast.authenticate(new UsernamePasswordCredentials("tim@acme", "sausages")).transform(ar -> Future.succeededFuture(ar.failed()))));
+    // the value is derived from the input as typed, it cannot be matched case insensitively
+    try {
+      MongoAuthentication.create(getMongoClient(), new MongoAuthenticationOptions(options.toJson()).setCaseInsensitive(true));
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
   /*
    * ################################################## preparation methods
    * ##################################################
@@ -19,23 +19,39 @@ package io.vertx.ext.auth.mongo.test;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.ClusterSerializable;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.NotAuthorization;
+import io.vertx.ext.auth.authorization.OrAuthorization;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.impl.AuthorizationConverter;
+import io.vertx.ext.auth.mongo.CacheOptions;
+import io.vertx.ext.auth.mongo.MongoAuthenticationOptions;
 import io.vertx.ext.auth.mongo.MongoAuthorization;
 import io.vertx.ext.auth.mongo.MongoAuthorizationOptions;
+import io.vertx.ext.auth.mongo.MongoUserCodec;
+import io.vertx.ext.auth.mongo.MongoUserUtil;
+import io.vertx.ext.auth.mongo.MongoUserWrites;
+import io.vertx.ext.auth.mongo.RoleHierarchyOptions;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runners.model.InitializationError;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 
 /**
@@ -145,6 +161,297 @@ public class MongoAuthorizationTest extends MongoAuthenticationTest {
     await();
   }
 
+  @Test
+  public void testAuthoriseWithRoleHierarchy() {
+    String rolesCollection = createCollectionName(RoleHierarchyOptions.DEFAULT_COLLECTION_NAME);
+    MongoAuthorization provider = MongoAuthorization.create(vertx, "id", getMongoClient(), getConfig(), new MongoAuthorizationOptions()
+      .setRoleHierarchy(new RoleHierarchyOptions().setCollectionName(rolesCollection)));
+    Credentials authInfo = new UsernamePasswordCredentials("tim", "sausages");
+    Future.all(
+        getMongoClient().save(rolesCollection, new JsonObject().put("name", "developer").put("parents", Arrays.asList("engineer")).put("permissions", Arrays.asList("review_code"))),
+        getMongoClient().save(rolesCollection, new JsonObject().put("name", "engineer").put("permissions", Arrays.asList("read_docs"))))
+      .flatMap(v -> getAuthenticationProvider().authenticate(authInfo))
+      .flatMap(user -> provider.getAuthorizations(user).map(user))
+      .onComplete(onSuccess(user -> {
+        assertTrue(RoleBasedAuthorization.create("developer").match(user));
+        assertTrue(RoleBasedAuthorization.create("engineer").match(user));
+        assertTrue(PermissionBasedAuthorization.create("commit_code").match(user));
+        assertTrue(PermissionBasedAuthorization.create("review_code").match(user));
+        assertTrue(PermissionBasedAuthorization.create("read_docs").match(user));
+        assertFalse(PermissionBasedAuthorization.create("deploy").match(user));
+        // the change of the parent role reaches the roles inheriting from it
+        getMongoClient().updateCollection(rolesCollection, new JsonObject().put("name", "engineer"),
+          new JsonObject().put("$push", new JsonObject().put("permissions", "deploy"))).onComplete(onSuccess(res -> {
+          vertx.setPeriodic(50, timerId -> provider.getAuthorizations(user).onComplete(onSuccess(v -> {
+            if (PermissionBasedAuthorization.create("deploy").match(user) && vertx.cancelTimer(timerId)) {
+              provider.close().onComplete(onSuccess(closed -> testComplete()));
+            }
+          })));
+        }));
+      }));
+    await();
+  }
+
+  @Test
+  public void testAuthoriseWithCompactAuthorizations() {
+    MongoAuthorization provider = MongoAuthorization.create("id", getMongoClient(), new MongoAuthorizationOptions()
+      .setCompactAuthorizations(true));
+    Credentials authInfo = new UsernamePasswordCredentials("tim", "sausages");
+    getAuthenticationProvider().authenticate(authInfo)
+      .flatMap(user -> provider.getAuthorizations(user).map(user))
+      .onComplete(onSuccess(user -> {
+        assertTrue(RoleBasedAuthorization.create("developer").match(user));
+        assertFalse(RoleBasedAuthorization.create("manager").match(user));
+        assertFalse(RoleBasedAuthorization.create("developer").setResource("repo").match(user));
+        assertTrue(PermissionBasedAuthorization.create("commit_code").match(user));
+        assertTrue(WildcardPermissionBasedAuthorization.create("merge_pr").match(user));
+        assertFalse(PermissionBasedAuthorization.create("deploy").match(user));
+        assertTrue(OrAuthorization.create()
+          .addAuthorization(RoleBasedAuthorization.create("manager"))
+          .addAuthorization(PermissionBasedAuthorization.create("bang_sticks")).match(user));
+        // serialized as the and of the granted roles and permissions
+        User copy = User.create(user.principal(), user.attributes());
+        user.authorizations().forEach("id", granted -> copy.authorizations().put("id", AuthorizationConverter.decode(granted.toJson())));
+        assertTrue(PermissionBasedAuthorization.create("do_actual_work").match(copy));
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testEncodeUser() {
+    MongoAuthorization provider = MongoAuthorization.create("id", getMongoClient(), new MongoAuthorizationOptions()
+      .setCompactAuthorizations(true));
+    Credentials authInfo = new UsernamePasswordCredentials("tim", "sausages");
+    getAuthenticationProvider().authenticate(authInfo)
+      .flatMap(user -> provider.getAuthorizations(user).map(user))
+      .onComplete(onSuccess(user -> {
+        user.authorizations().put("other", RoleBasedAuthorization.create("auditor").setResource("repo"));
+        Buffer encoded = MongoUserCodec.encode(user);
+        Buffer json = Buffer.buffer();
+        ((ClusterSerializable) user).writeToBuffer(json);
+        assertTrue(encoded.length() < json.length());
+        User copy = MongoUserCodec.decode(encoded);
+        assertEquals(user.principal(), copy.principal());
+        assertEquals(user.attributes(), copy.attributes());
+        assertTrue(RoleBasedAuthorization.create("developer").match(copy));
+        assertFalse(RoleBasedAuthorization.create("manager").match(copy));
+        assertTrue(PermissionBasedAuthorization.create("do_actual_work").match(copy));
+        assertTrue(RoleBasedAuthorization.create("auditor").setResource("repo").match(copy));
+        assertFalse(RoleBasedAuthorization.create("auditor").match(copy));
+        // the event bus codec
+        MongoUserCodec codec = new MongoUserCodec();
+        Buffer wire = Buffer.buffer();
+        codec.encodeToWire(wire, user);
+        assertTrue(PermissionBasedAuthorization.create("commit_code").match(codec.decodeFromWire(0, wire)));
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testAuthoriseWithWildcardPermissions() {
+    MongoAuthorization provider = MongoAuthorization.create("id", getMongoClient(), new MongoAuthorizationOptions()
+      .setWildcardPermissions(true));
+    insertAuth("wildcard", Arrays.asList("clerk"), Arrays.asList("orders:*", "invoices:eu,us:read", "reports:*:*"))
+      .flatMap(id -> {
+        User user = User.fromName("wildcard");
+        return provider.getAuthorizations(user).map(user);
+      })
+      .onComplete(onSuccess(user -> {
+        assertTrue(RoleBasedAuthorization.create("clerk").match(user));
+        assertTrue(PermissionBasedAuthorization.create("orders").match(user));
+        assertTrue(PermissionBasedAuthorization.create("orders:eu:write").match(user));
+        assertTrue(PermissionBasedAuthorization.create("invoices:us:read").match(user));
+        assertTrue(PermissionBasedAuthorization.create("invoices:eu,us:read").match(user));
+        assertFalse(PermissionBasedAuthorization.create("invoices:asia:read").match(user));
+        assertFalse(PermissionBasedAuthorization.create("invoices:eu:write").match(user));
+        assertTrue(WildcardPermissionBasedAuthorization.create("reports").match(user));
+        assertFalse(PermissionBasedAuthorization.create("customers:read").match(user));
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testCheckWithoutLoadingAuthorizations() {
+    MongoAuthorization provider = MongoAuthorization.create("id", getMongoClient(), new MongoAuthorizationOptions()
+      .setCheckCache(new CacheOptions()));
+    Credentials authInfo = new UsernamePasswordCredentials("tim", "sausages");
+    getAuthenticationProvider().authenticate(authInfo)
+      .flatMap(user -> Future.all(Arrays.asList(
+          provider.check(user, RoleBasedAuthorization.create("developer")),
+          provider.check(user, RoleBasedAuthorization.create("manager")),
+          provider.check(user, PermissionBasedAuthorization.create("commit_code")),
+          provider.check(user, PermissionBasedAuthorization.create("commit_code").setResource("repo")),
+          provider.check(user, OrAuthorization.create()
+            .addAuthorization(PermissionBasedAuthorization.create("deploy"))
+            .addAuthorization(PermissionBasedAuthorization.create("merge_pr"))),
+          provider.check(user, NotAuthorization.create(RoleBasedAuthorization.create("superadmin")))))
+        // answered from the cache, the role removed behind it is still granted
+        .flatMap(results -> getMongoClient().updateCollection(authorizationOptions.getCollectionName(),
+            new JsonObject().put(authorizationOptions.getUsernameField(), "tim"),
+            new JsonObject().put("$pull", new JsonObject().put(authorizationOptions.getRoleField(), "developer")))
+          .flatMap(res -> provider.check(user, RoleBasedAuthorization.create("developer")))
+          .map(cached -> {
+            assertTrue(cached);
+            return results;
+          }))
+        .map(results -> {
+          // the authorizations of the user are not loaded
+          assertTrue(user.authorizations().isEmpty());
+          return results;
+        }))
+      .onComplete(onSuccess(results -> {
+        assertTrue(results.resultAt(0));
+        assertFalse(results.resultAt(1));
+        assertTrue(results.resultAt(2));
+        assertFalse(results.resultAt(3));
+        assertTrue(results.resultAt(4));
+        assertFalse(results.resultAt(5));
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testCheckWithRoleHierarchyClearedOnChange() {
+    String rolesCollection = createCollectionName(RoleHierarchyOptions.DEFAULT_COLLECTION_NAME);
+    MongoAuthorization provider = MongoAuthorization.create(vertx, "id", getMongoClient(), getConfig(), new MongoAuthorizationOptions()
+      .setCheckCache(new CacheOptions())
+      .setRoleHierarchy(new RoleHierarchyOptions().setCollectionName(rolesCollection)));
+    Credentials authInfo = new UsernamePasswordCredentials("tim", "sausages");
+    getMongoClient().save(rolesCollection, new JsonObject().put("name", "developer").put("permissions", Arrays.asList("review_code")))
+      .flatMap(v -> getAuthenticationProvider().authenticate(authInfo))
+      .flatMap(user -> provider.check(user, PermissionBasedAuthorization.create("deploy")).map(granted -> {
+        assertFalse(granted);
+        return user;
+      }))
+      .onComplete(onSuccess(user -> {
+        // the cached denial is dropped when the role grants the permission
+        getMongoClient().updateCollection(rolesCollection, new JsonObject().put("name", "developer"),
+          new JsonObject().put("$push", new JsonObject().put("permissions", "deploy"))).onComplete(onSuccess(res -> {
+          vertx.setPeriodic(50, timerId -> provider.check(user, PermissionBasedAuthorization.create("deploy")).onComplete(onSuccess(granted -> {
+            if (granted && vertx.cancelTimer(timerId)) {
+              provider.close().onComplete(onSuccess(closed -> testComplete()));
+            }
+          })));
+        }));
+      }));
+    await();
+  }
+
+  @Test
+  public void testAuthoriseWithPagedAuthorizations() {
+    List<String> permissions = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      permissions.add("permission" + i);
+    }
+    MongoAuthorization provider = MongoAuthorization.create("id", getMongoClient(), new MongoAuthorizationOptions()
+      .setPageSize(100));
+    User user = User.fromName("paged");
+    insertAuth("paged", Arrays.asList("clerk"), permissions)
+      .flatMap(id -> provider.getAuthorizations(user))
+      .flatMap(v -> {
+        // only the first slice is loaded
+        assertTrue(RoleBasedAuthorization.create("clerk").match(user));
+        assertTrue(PermissionBasedAuthorization.create("permission99").match(user));
+        assertFalse(PermissionBasedAuthorization.create("permission150").match(user));
+        return provider.check(user, PermissionBasedAuthorization.create("permission150"));
+      })
+      .flatMap(granted -> {
+        assertTrue(granted);
+        // loaded up to the slice holding the granted permission
+        assertTrue(PermissionBasedAuthorization.create("permission150").match(user));
+        assertFalse(PermissionBasedAuthorization.create("permission249").match(user));
+        return provider.check(user, PermissionBasedAuthorization.create("permission250"));
+      })
+      .onComplete(onSuccess(granted -> {
+        assertFalse(granted);
+        assertFalse(PermissionBasedAuthorization.create("permission249").match(user));
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testAuthoriseCaseInsensitive() throws Exception {
+    List<String> permissions = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      permissions.add("permission" + i);
+    }
+    awaitFuture(insertAuth("casey", Arrays.asList("clerk"), permissions));
+    // without the collation, the mixed-case username matches nothing
+    MongoAuthorization sensitive = MongoAuthorization.create("id", getMongoClient(), new MongoAuthorizationOptions()
+      .setPageSize(100));
+    User user = User.fromName("CASEY");
+    awaitFuture(sensitive.getAuthorizations(user));
+    assertFalse(RoleBasedAuthorization.create("clerk").match(user));
+    assertFalse(awaitFuture(sensitive.check(user, PermissionBasedAuthorization.create("permission150"))));
+    MongoUserWrites writes = MongoUserWrites.create();
+    MongoAuthorizationOptions options = new MongoAuthorizationOptions()
+      .setPageSize(100)
+      .setCheckCache(new CacheOptions())
+      .setCaseInsensitive(true);
+    MongoAuthorization provider = MongoAuthorization.create(vertx, "id", getMongoClient(), getConfig(), options, writes);
+    // the paged aggregate carries the collation
+    user = User.fromName("CASEY");
+    awaitFuture(provider.getAuthorizations(user));
+    assertTrue(RoleBasedAuthorization.create("clerk").match(user));
+    assertTrue(PermissionBasedAuthorization.create("permission99").match(user));
+    assertFalse(PermissionBasedAuthorization.create("permission150").match(user));
+    // and so does the exists aggregate
+    assertTrue(awaitFuture(provider.check(User.fromName("Casey"), PermissionBasedAuthorization.create("permission150"))));
+    assertFalse(awaitFuture(provider.check(User.fromName("Casey"), PermissionBasedAuthorization.create("permission250"))));
+    // only the username is matched case insensitively, not the roles and permissions
+    assertTrue(awaitFuture(provider.check(User.fromName("Casey"), RoleBasedAuthorization.create("clerk"))));
+    assertFalse(awaitFuture(provider.check(User.fromName("Casey"), RoleBasedAuthorization.create("CLERK"))));
+    assertFalse(awaitFuture(provider.check(User.fromName("Casey"), PermissionBasedAuthorization.create("PERMISSION150"))));
+    // the cached checks of every case of the username are evicted by a write of the lowercase username
+    MongoUserUtil util = MongoUserUtil.create(vertx, getMongoClient(), new MongoAuthenticationOptions(), options, writes);
+    awaitFuture(util.revokePermission("casey", "permission150"));
+    assertFalse(awaitFuture(provider.check(User.fromName("CASEY"), PermissionBasedAuthorization.create("permission150"))));
+  }
+
+  @Test
+  public void testCheckCaseInsensitiveUsernameOnly() throws Exception {
+    awaitFuture(insertAuth("root", Arrays.asList("admin"), Arrays.asList("orders:read")));
+    MongoAuthorization provider = MongoAuthorization.create("id", getMongoClient(), new MongoAuthorizationOptions()
+      .setCaseInsensitive(true));
+    User user = User.fromName("ROOT");
+    assertTrue(awaitFuture(provider.check(user, RoleBasedAuthorization.create("admin"))));
+    assertTrue(awaitFuture(provider.check(user, PermissionBasedAuthorization.create("orders:read"))));
+    // the grants are compared exactly, like the loaded authorizations
+    assertFalse(awaitFuture(provider.check(user, RoleBasedAuthorization.create("ADMIN"))));
+    assertFalse(awaitFuture(provider.check(user, PermissionBasedAuthorization.create("ORDERS:READ"))));
+    awaitFuture(provider.getAuthorizations(user));
+    assertTrue(RoleBasedAuthorization.create("admin").match(user));
+    assertFalse(RoleBasedAuthorization.create("ADMIN").match(user));
+  }
+
+  @Test
+  public void testWildcardPermissionsMatchLikeFlatSet() throws Exception {
+    List<String> permissions = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      permissions.add("service" + i + (i % 2 == 0 ? ":*" : ":read"));
+    }
+    MongoAuthorization provider = MongoAuthorization.create("id", getMongoClient(), new MongoAuthorizationOptions()
+      .setWildcardPermissions(true));
+    User trie = User.fromName("wildcards");
+    awaitFuture(insertAuth("wildcards", Collections.emptyList(), permissions)
+      .flatMap(id -> provider.getAuthorizations(trie)));
+    Set<Authorization> grants = new HashSet<>();
+    for (String permission : permissions) {
+      grants.add(WildcardPermissionBasedAuthorization.create(permission));
+    }
+    User flat = User.fromName("wildcards");
+    flat.authorizations().put("id", grants);
+    for (int i = 0; i < 600; i++) {
+      PermissionBasedAuthorization check = PermissionBasedAuthorization.create("service" + i + ":write");
+      assertEquals(check.match(flat), check.match(trie));
+    }
+  }
+
   /*
    * ################################################## preparation methods
    * ##################################################
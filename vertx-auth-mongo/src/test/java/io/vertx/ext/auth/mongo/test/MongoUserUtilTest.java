@@ -16,6 +16,10 @@
 
 package io.vertx.ext.auth.mongo.test;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.auth.authorization.Authorization;
@@ -26,10 +30,13 @@ import io.vertx.ext.mongo.MongoClient;
 import org.junit.Test;
 
 import javax.swing.*;
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MongoUserUtilTest extends MongoBaseTest {
 
@@ -83,4 +90,272 @@ public class MongoUserUtilTest extends MongoBaseTest {
       });
     await();
   }
+
+  @Test
+  public void createUserAndReadFromSecondaryTest() throws Throwable {
+    MongoClient mongoClient = this.getMongoClient();
+    MongoAuthenticationOptions authnOptions = new MongoAuthenticationOptions()
+      .setReadPreference("secondaryPreferred")
+      .setReadConcernLevel("local");
+    MongoAuthorizationOptions authzOptions = new MongoAuthorizationOptions()
+      .setReadPreference("secondaryPreferred");
+    // the reads go to a database the writes never reach, like a secondary lagging behind forever
+    JsonObject laggingConfig = getConfig().put("db_name", "ryw_lagging");
+    MongoUserWrites writes = MongoUserWrites.create();
+    MongoAuthentication authnProvider = MongoAuthentication.create(vertx, mongoClient, laggingConfig, authnOptions, writes);
+    MongoAuthorization authzProvider = MongoAuthorization.create(vertx, "abc", mongoClient, laggingConfig, authzOptions, writes);
+    MongoAuthentication unaware = MongoAuthentication.create(vertx, mongoClient, laggingConfig, authnOptions);
+    MongoUserUtil userUtil = MongoUserUtil.create(vertx, mongoClient, authnOptions, authzOptions, writes);
+    Credentials credentials = new UsernamePasswordCredentials("ryw", "secret");
+    awaitFuture(userUtil.createUser("ryw", "secret"));
+    awaitFuture(userUtil.createUserRolesAndPermissions("ryw", Arrays.asList("a"), Arrays.asList("c")));
+    // only served by the primary
+    User user = awaitFuture(authnProvider.authenticate(credentials));
+    awaitFuture(authzProvider.getAuthorizations(user));
+    assertTrue(RoleBasedAuthorization.create("a").match(user));
+    assertTrue(PermissionBasedAuthorization.create("c").match(user));
+    // a provider not sharing the writes reads from the lagging database
+    assertTrue(failed(unaware.authenticate(credentials)));
+    awaitFuture(authnProvider.close()
+      .flatMap(v -> authzProvider.close())
+      .flatMap(v -> unaware.close()));
+  }
+
+  @Test
+  public void createUsersInBulkLaneTest() throws Throwable {
+    MongoClient mongoClient = this.getMongoClient();
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setInteractiveLane(new PriorityLaneOptions().setHashConcurrency(2))
+      .setBulkLane(new PriorityLaneOptions().setQueryConcurrency(1).setHashConcurrency(1));
+    MongoAuthentication authnProvider = MongoAuthentication.create(vertx, mongoClient, getConfig(), options);
+    MongoUserUtil userUtil = MongoUserUtil.create(vertx, mongoClient, options, new MongoAuthorizationOptions());
+    Future.all(userUtil.createUser("bulk1", "pw1"), userUtil.createUser("bulk2", "pw2"), userUtil.createUser("bulk3", "pw3"))
+      .flatMap(ids -> Future.all(
+        authnProvider.authenticate(new UsernamePasswordCredentials("bulk1", "pw1")),
+        authnProvider.authenticate(new UsernamePasswordCredentials("bulk2", "pw2")),
+        authnProvider.authenticate(new UsernamePasswordCredentials("bulk3", "pw3"))))
+      .flatMap(users -> userUtil.close().flatMap(v -> authnProvider.close()))
+      .onComplete(onSuccess(v -> testComplete()));
+    await();
+  }
+
+  @Test
+  public void interactiveLookupAheadOfBulkLaneTest() throws Throwable {
+    MongoClient mongoClient = this.getMongoClient();
+    MongoAuthenticationOptions authnOptions = new MongoAuthenticationOptions()
+      .setBulkLane(new PriorityLaneOptions().setQueryConcurrency(1));
+    MongoAuthorizationOptions authzOptions = new MongoAuthorizationOptions()
+      .setInteractiveLane(new PriorityLaneOptions().setQueryConcurrency(1));
+    MongoAuthorization authzProvider = MongoAuthorization.create(vertx, "abc", mongoClient, getConfig(), authzOptions);
+    MongoUserUtil userUtil = MongoUserUtil.create(vertx, mongoClient, authnOptions, authzOptions);
+    awaitFuture(userUtil.createUserRolesAndPermissions("lane", Arrays.asList("a"), Arrays.asList("c")));
+    // the bulk lane runs one query at a time, the grants queue up behind each other
+    int grants = 50;
+    AtomicInteger granted = new AtomicInteger();
+    List<Future<Void>> bulk = new ArrayList<>();
+    for (int i = 0; i < grants; i++) {
+      bulk.add(userUtil.grantRole("lane", "r" + i).andThen(ar -> granted.incrementAndGet()));
+    }
+    User user = User.fromName("lane");
+    int grantedBefore = awaitFuture(authzProvider.getAuthorizations(user).map(v -> granted.get()));
+    assertTrue("the interactive lookup waited for the bulk lane", grantedBefore < grants);
+    assertTrue(RoleBasedAuthorization.create("a").match(user));
+    awaitFuture(Future.all(bulk));
+    assertEquals(grants, granted.get());
+    awaitFuture(authzProvider.close().flatMap(v -> userUtil.close()));
+  }
+
+  @Test
+  public void createUserAndReadFromMirrorTest() throws Throwable {
+    createUserAndReadFromMirror(new MirrorOptions().setBatchSize(10));
+  }
+
+  @Test
+  public void createUserAndReadFromCompactMirrorTest() throws Throwable {
+    createUserAndReadFromMirror(new MirrorOptions().setCompact(true));
+  }
+
+  private void createUserAndReadFromMirror(MirrorOptions mirrorOptions) throws Throwable {
+    MongoClient mongoClient = this.getMongoClient();
+    MongoAuthenticationOptions authnOptions = new MongoAuthenticationOptions()
+      .setReadYourWritesWindow(0)
+      .setMirror(mirrorOptions);
+    MongoAuthorizationOptions authzOptions = new MongoAuthorizationOptions()
+      .setReadYourWritesWindow(0)
+      .setMirror(mirrorOptions);
+    MongoUserWrites writes = MongoUserWrites.create();
+    MongoUserUtil userUtil = MongoUserUtil.create(vertx, mongoClient, authnOptions, authzOptions, writes);
+    awaitFuture(userUtil.createUser("mirror1", "secret"));
+    MongoAuthentication authnProvider = MongoAuthentication.create(vertx, mongoClient, getConfig(), authnOptions, writes);
+    MongoAuthorization authzProvider = MongoAuthorization.create(vertx, "abc", mongoClient, getConfig(), authzOptions, writes);
+    awaitFuture(Future.all(authnProvider.ready(), authzProvider.ready()));
+    awaitFuture(authnProvider.authenticate(new UsernamePasswordCredentials("mirror1", "secret")));
+    // written after the load, only visible once the change stream delivered it
+    awaitFuture(userUtil.createUser("mirror2", "secret")
+      .flatMap(id -> userUtil.createUserRolesAndPermissions("mirror2", Arrays.asList("a"), Arrays.asList("c"))));
+    vertx.setPeriodic(50, timerId -> authnProvider.authenticate(new UsernamePasswordCredentials("mirror2", "secret"))
+      .flatMap(user -> authzProvider.getAuthorizations(user).map(v -> user))
+      .onSuccess(user -> {
+        if (RoleBasedAuthorization.create("a").match(user) && vertx.cancelTimer(timerId)) {
+          assertTrue(PermissionBasedAuthorization.create("c").match(user));
+          authnProvider.close()
+            .flatMap(v -> authzProvider.close())
+            .onComplete(onSuccess(v -> testComplete()));
+        }
+      }));
+    await();
+  }
+
+  @Test
+  public void readFromMirrorSnapshotTest() throws Throwable {
+    File snapshot = File.createTempFile("mirror", ".snapshot");
+    assertTrue(snapshot.delete());
+    MongoClient mongoClient = this.getMongoClient();
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setReadYourWritesWindow(0)
+      .setMirror(new MirrorOptions().setCompact(true).setSnapshotPath(snapshot.getAbsolutePath()));
+    MongoUserUtil userUtil = MongoUserUtil.create(mongoClient, options, new MongoAuthorizationOptions());
+    awaitFuture(userUtil.createUser("snapshot1", "secret"));
+    MongoAuthentication first = MongoAuthentication.create(vertx, mongoClient, getConfig(), options);
+    awaitFuture(first.ready());
+    // observed through the change stream, so the snapshot records a resume token
+    awaitFuture(userUtil.createUser("snapshot2", "secret"));
+    awaitFuture(authenticateEventually(first, "snapshot2", "secret"));
+    awaitFuture(first.close());
+    assertTrue(snapshot.exists());
+    // written while no mirror runs, caught up from the resume token
+    awaitFuture(userUtil.createUser("snapshot3", "secret"));
+    MongoAuthentication second = MongoAuthentication.create(vertx, mongoClient, getConfig(), options);
+    awaitFuture(second.ready());
+    awaitFuture(second.authenticate(new UsernamePasswordCredentials("snapshot1", "secret")));
+    awaitFuture(authenticateEventually(second, "snapshot3", "secret"));
+    awaitFuture(second.close());
+    assertTrue(snapshot.delete());
+  }
+
+  @Test
+  public void updatePasswordDisableAndDeleteTest() throws Throwable {
+    MongoClient mongoClient = this.getMongoClient();
+    MongoAuthenticationOptions authnOptions = new MongoAuthenticationOptions()
+      .setCache(new CacheOptions());
+    MongoUserWrites writes = MongoUserWrites.create();
+    MongoAuthentication authnProvider = MongoAuthentication.create(vertx, mongoClient, getConfig(), authnOptions, writes);
+    MongoUserUtil userUtil = MongoUserUtil.create(vertx, mongoClient, authnOptions, new MongoAuthorizationOptions(), writes);
+    awaitFuture(userUtil.createUser("rotate", "old"));
+    awaitFuture(userUtil.createUserRolesAndPermissions("rotate", Arrays.asList("a"), Arrays.asList("c")));
+    awaitFuture(authnProvider.authenticate(new UsernamePasswordCredentials("rotate", "old")));
+    // the cached user is evicted by the updates
+    awaitFuture(userUtil.updatePassword("rotate", "new"));
+    assertTrue(failed(authnProvider.authenticate(new UsernamePasswordCredentials("rotate", "old"))));
+    awaitFuture(authnProvider.authenticate(new UsernamePasswordCredentials("rotate", "new")));
+    awaitFuture(userUtil.disableUser("rotate"));
+    assertTrue(failed(authnProvider.authenticate(new UsernamePasswordCredentials("rotate", "new"))));
+    awaitFuture(userUtil.enableUser("rotate"));
+    awaitFuture(authnProvider.authenticate(new UsernamePasswordCredentials("rotate", "new")));
+    awaitFuture(userUtil.deleteUser("rotate"));
+    assertTrue(failed(authnProvider.authenticate(new UsernamePasswordCredentials("rotate", "new"))));
+    assertEquals(0L, (long) awaitFuture(mongoClient.count(authnOptions.getCollectionName(), new JsonObject().put("username", "rotate"))));
+    assertTrue(failed(userUtil.updatePassword("missing", "new")));
+    awaitFuture(userUtil.close());
+  }
+
+  private boolean failed(Future<?> future) throws Exception {
+    return awaitFuture(future.transform(ar -> Future.succeededFuture(ar.failed())));
+  }
+
+  @Test
+  public void grantAndRevokeTest() throws Throwable {
+    MongoClient mongoClient = this.getMongoClient();
+    MongoAuthorizationOptions authzOptions = new MongoAuthorizationOptions()
+      .setCache(new CacheOptions());
+    MongoUserWrites writes = MongoUserWrites.create();
+    MongoAuthorization authzProvider = MongoAuthorization.create(vertx, "abc", mongoClient, getConfig(), authzOptions, writes);
+    MongoUserUtil userUtil = MongoUserUtil.create(vertx, mongoClient, new MongoAuthenticationOptions(), authzOptions, writes);
+    awaitFuture(userUtil.createUserRolesAndPermissions("grant1", Arrays.asList("a"), Arrays.asList("c")));
+    User user = User.fromName("grant1");
+    awaitFuture(authzProvider.getAuthorizations(user));
+    assertFalse(RoleBasedAuthorization.create("b").match(user));
+    // the cached user is evicted by the updates
+    awaitFuture(userUtil.grantRole("grant1", "b"));
+    awaitFuture(userUtil.grantRole("grant1", "b"));
+    awaitFuture(userUtil.revokePermission("grant1", "c"));
+    awaitFuture(userUtil.grantPermission("grant1", "d"));
+    user = User.fromName("grant1");
+    awaitFuture(authzProvider.getAuthorizations(user));
+    assertTrue(RoleBasedAuthorization.create("a").match(user));
+    assertTrue(RoleBasedAuthorization.create("b").match(user));
+    assertFalse(PermissionBasedAuthorization.create("c").match(user));
+    assertTrue(PermissionBasedAuthorization.create("d").match(user));
+    // a grant creates the missing document
+    awaitFuture(userUtil.grantRole("grant2", "a"));
+    assertEquals(2L, (long) awaitFuture(userUtil.grantRoleToUsers(Arrays.asList("grant1", "grant2", "missing"), "e")));
+    assertEquals(2L, (long) awaitFuture(userUtil.revokeRoleFromUsers(Arrays.asList("grant1", "grant2"), "a")));
+    user = User.fromName("grant2");
+    awaitFuture(authzProvider.getAuthorizations(user));
+    assertTrue(RoleBasedAuthorization.create("e").match(user));
+    assertFalse(RoleBasedAuthorization.create("a").match(user));
+    awaitFuture(userUtil.revokeRole("grant2", "e"));
+    user = User.fromName("grant2");
+    awaitFuture(authzProvider.getAuthorizations(user));
+    assertFalse(RoleBasedAuthorization.create("e").match(user));
+  }
+
+  @Test
+  public void testWritesCaseInsensitive() throws Exception {
+    MongoClient mongoClient = getMongoClient();
+    MongoAuthenticationOptions authnOptions = new MongoAuthenticationOptions()
+      .setDisabledField("disabled")
+      .setCaseInsensitive(true);
+    MongoAuthorizationOptions authzOptions = new MongoAuthorizationOptions()
+      .setCaseInsensitive(true);
+    MongoUserUtil userUtil = MongoUserUtil.create(vertx, mongoClient, authnOptions, authzOptions, MongoUserWrites.create());
+    awaitFuture(userUtil.createIndexes());
+    awaitFuture(userUtil.createUser("casey", "secret"));
+    // the grant updates the document of the user instead of upserting another one
+    awaitFuture(userUtil.grantRole("Casey", "admin"));
+    List<JsonObject> documents = awaitFuture(mongoClient.find(authzOptions.getCollectionName(), new JsonObject()));
+    assertEquals(1, documents.size());
+    assertEquals("casey", documents.get(0).getString("username"));
+    // the roles are still compared case sensitively
+    awaitFuture(userUtil.revokeRole("CASEY", "ADMIN"));
+    User user = User.fromName("casey");
+    awaitFuture(MongoAuthorization.create("id", mongoClient, authzOptions).getAuthorizations(user));
+    assertTrue(RoleBasedAuthorization.create("admin").match(user));
+    awaitFuture(userUtil.disableUser("CASEY"));
+    MongoAuthentication authnProvider = MongoAuthentication.create(mongoClient, authnOptions);
+    assertTrue(failed(authnProvider.authenticate(new UsernamePasswordCredentials("casey", "secret"))));
+    awaitFuture(userUtil.enableUser("Casey"));
+    awaitFuture(userUtil.updatePassword("CaSeY", "changed"));
+    assertNotNull(awaitFuture(authnProvider.authenticate(new UsernamePasswordCredentials("casey", "changed"))));
+  }
+
+  @Test
+  public void testForeignWritesRejected() {
+    MongoUserWrites foreign = new MongoUserWrites() {
+    };
+    try {
+      MongoUserUtil.create(vertx, getMongoClient(), new MongoAuthenticationOptions(), new MongoAuthorizationOptions(), foreign);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      MongoAuthentication.create(vertx, getMongoClient(), getConfig(), new MongoAuthenticationOptions(), foreign);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  /**
+   * Retries an authentication until the mirror of the provider has received the user.
+   */
+  private Future<User> authenticateEventually(MongoAuthentication provider, String username, String password) {
+    Promise<User> promise = Promise.promise();
+    vertx.setPeriodic(50, timerId -> provider.authenticate(new UsernamePasswordCredentials(username, password))
+      .onSuccess(user -> {
+        if (vertx.cancelTimer(timerId)) {
+          promise.complete(user);
+        }
+      }));
+    return promise.future();
+  }
 }